@@ -12,13 +12,16 @@ import mugasofer.aerb.screen.SpellSlotsScreen;
 import mugasofer.aerb.screen.TattooApplicationScreen;
 import mugasofer.aerb.screen.VirtuesScreen;
 import mugasofer.aerb.skill.ClientSkillCache;
+import mugasofer.aerb.skill.XpCurve;
 import mugasofer.aerb.tattoo.ClientTattooCache;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
 import net.fabricmc.fabric.api.client.item.v1.ItemTooltipCallback;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.fabric.api.client.rendering.v1.EntityRendererRegistry;
 import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
 import net.fabricmc.fabric.api.client.screen.v1.Screens;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.ingame.HandledScreens;
 import net.minecraft.client.gui.screen.ingame.InventoryScreen;
 import net.minecraft.client.gui.widget.ButtonWidget;
@@ -28,6 +31,7 @@ import mugasofer.aerb.render.LesserUmbralUndeadRenderer;
 import mugasofer.aerb.render.UndeadEntityRenderer;
 import net.fabricmc.fabric.api.client.rendering.v1.EntityModelLayerRegistry;
 import net.minecraft.client.render.entity.model.EntityModelLayer;
+import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
 import net.minecraft.text.Text;
@@ -78,16 +82,40 @@ public class AerbClient implements ClientModInitializer {
 			}
 		});
 
-		// Register client-side handler for skill sync
-		ClientPlayNetworking.registerGlobalReceiver(ModNetworking.SyncSkillsPayload.ID, (payload, context) -> {
-			ClientSkillCache.update(
-				payload.bloodMagic(), payload.boneMagic(), payload.oneHanded(), payload.parry(),
-				payload.horticulture(), payload.art(), payload.skinMagic(),
-				payload.bloodMagicXp(), payload.boneMagicXp(), payload.oneHandedXp(), payload.parryXp(),
-				payload.horticultureXp(), payload.artXp(), payload.skinMagicXp()
-			);
-			// Also update the parry skill cache for animation timing
-			ParrySkillCache.setParryLevel(payload.parry());
+		// Register client-side handler for player state (skills, tattoos); only changed sections are present
+		ClientPlayNetworking.registerGlobalReceiver(ModNetworking.PlayerStatePayload.ID, (payload, context) -> {
+			if (payload.skills() != null) {
+				if (ClientSkillCache.apply(payload.skills())) {
+					// Also update the parry skill cache for animation timing
+					ParrySkillCache.setParryLevel(ClientSkillCache.getParry());
+				} else if (ClientSkillCache.requestResync()) {
+					// Missed an update; ask for a fresh snapshot
+					context.responseSender().sendPacket(new ModNetworking.RequestResyncPayload(ModNetworking.SECTION_SKILLS));
+				}
+			}
+			if (payload.tattoos() != null) {
+				long worldTime = context.client().world != null ? context.client().world.getTime() : 0;
+				if (!ClientTattooCache.apply(payload.tattoos().withCooldownsFrom(worldTime))
+						&& ClientTattooCache.requestResync()) {
+					context.responseSender().sendPacket(new ModNetworking.RequestResyncPayload(ModNetworking.SECTION_TATTOOS));
+				}
+			}
+		});
+
+		// Register client-side handler for tattoos of players in view
+		ClientPlayNetworking.registerGlobalReceiver(ModNetworking.OtherTattoosPayload.ID, (payload, context) -> {
+			long worldTime = context.client().world != null ? context.client().world.getTime() : 0;
+			if (!ClientTattooCache.applyOther(payload.playerId(), payload.tattoos().withCooldownsFrom(worldTime))
+					&& ClientTattooCache.requestOtherResync(payload.playerId())) {
+				context.responseSender().sendPacket(new ModNetworking.RequestOtherTattoosPayload(payload.playerId()));
+			}
+		});
+
+		// The server stops sending a player's tattoos once they leave view, so drop them too
+		ClientEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+			if (entity instanceof PlayerEntity player && entity != MinecraftClient.getInstance().player) {
+				ClientTattooCache.forgetOther(player.getUuid());
+			}
 		});
 
 		// Register client-side handler for setting selected hotbar slot (Prophetic Blade)
@@ -109,9 +137,9 @@ public class AerbClient implements ClientModInitializer {
 			}
 		});
 
-		// Register client-side handler for tattoo sync
-		ClientPlayNetworking.registerGlobalReceiver(ModNetworking.SyncTattoosPayload.ID, (payload, context) -> {
-			ClientTattooCache.update(payload.tattoos());
+		// Register client-side handler for XP curve sync
+		ClientPlayNetworking.registerGlobalReceiver(ModNetworking.SyncXpCurvePayload.ID, (payload, context) -> {
+			ClientSkillCache.setXpCurve(new XpCurve(payload.xpPerLevel()));
 		});
 
 		// Add navigation tabs to inventory screen (left side to match other screens)
@@ -81,13 +81,12 @@ public class TattooTextureManager {
         MinecraftClient client = MinecraftClient.getInstance();
         UUID playerId = entry.getProfile().id();
 
-        // Only apply tattoos to the local player (we only sync local player's tattoos for now)
-        if (client.player == null || !client.player.getUuid().equals(playerId)) {
+        if (client.player == null) {
             return original;
         }
 
-        // Get all tattoo instances from client cache
-        List<TattooInstance> tattoos = ClientTattooCache.getAllTattoos();
+        // Get all tattoo instances from client cache (the local player, or a player in view)
+        List<TattooInstance> tattoos = ClientTattooCache.getTattoos(playerId);
         if (tattoos.isEmpty()) {
             // No tattoos - return original and clear any cached version
             skinCache.remove(playerId);
@@ -2,13 +2,14 @@ package mugasofer.aerb.screen;
 
 import mugasofer.aerb.network.ModNetworking;
 import mugasofer.aerb.skill.ClientSkillCache;
+import mugasofer.aerb.skill.XpHelper;
+import mugasofer.aerb.stat.StatCalculator;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.screen.ingame.InventoryScreen;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.gui.widget.TextWidget;
-import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.text.Text;
 
@@ -17,10 +18,6 @@ import java.util.List;
 import java.util.function.Supplier;
 
 public class CharacterSheetScreen extends Screen {
-    private static final int BASE_POW = 2;
-    private static final int BASE_SPD = 2;
-    private static final int BASE_END = 2;
-
     // Panel size to match vanilla inventory
     private static final int PANEL_WIDTH = 176;
     private static final int PANEL_HEIGHT = 166;
@@ -41,6 +38,9 @@ public class CharacterSheetScreen extends Screen {
     // Content entries - each provides text dynamically
     private final List<ContentEntry> contentEntries = new ArrayList<>();
 
+    // Skill names the skill rows were built from; rebuilt when the server's table changes
+    private List<String> skillNames = List.of();
+
     // TextWidgets for visible content slots (updated dynamically based on scroll)
     private final TextWidget[] slotWidgets = new TextWidget[VISIBLE_LINES];
 
@@ -77,13 +77,13 @@ public class CharacterSheetScreen extends Screen {
         contentEntries.add(new ContentEntry(
             () -> Text.literal("PHYSICAL").withColor(0xFFAA00), 0));
         contentEntries.add(new ContentEntry(
-            () -> formatStat("PHY", getBasePhy(), calculatePHY()), 10));
+            () -> formatStat("PHY", StatCalculator.BASE_PHY, StatCalculator.calculatePHY(player)), 10));
         contentEntries.add(new ContentEntry(
-            () -> formatStat("POW", BASE_POW, calculatePOW()), 20));
+            () -> formatStat("POW", StatCalculator.BASE_POW, StatCalculator.calculatePOW(player)), 20));
         contentEntries.add(new ContentEntry(
-            () -> formatStat("SPD", BASE_SPD, calculateSPD()), 20));
+            () -> formatStat("SPD", StatCalculator.BASE_SPD, StatCalculator.calculateSPD(player)), 20));
         contentEntries.add(new ContentEntry(
-            () -> formatStat("END", BASE_END, calculateEND()), 20));
+            () -> formatStat("END", StatCalculator.BASE_END, StatCalculator.calculateEND(player)), 20));
 
         // Spacer
         contentEntries.add(new ContentEntry(() -> Text.empty(), 0));
@@ -92,27 +92,17 @@ public class CharacterSheetScreen extends Screen {
         contentEntries.add(new ContentEntry(
             () -> Text.literal("SKILLS").withColor(0xFFAA00), 0));
 
-        // Add all skills
-        addSkillEntry("Blood Magic", ClientSkillCache::getBloodMagic, ClientSkillCache::getBloodMagicXp);
-        addSkillEntry("Bone Magic", ClientSkillCache::getBoneMagic, ClientSkillCache::getBoneMagicXp);
-        addSkillEntry("One-Handed", ClientSkillCache::getOneHanded, ClientSkillCache::getOneHandedXp);
-        addSkillEntry("Parry", ClientSkillCache::getParry, ClientSkillCache::getParryXp);
-        addSkillEntry("Horticulture", ClientSkillCache::getHorticulture, ClientSkillCache::getHorticultureXp);
-        addSkillEntry("Art", ClientSkillCache::getArt, ClientSkillCache::getArtXp);
-        addSkillEntry("Skin Magic", ClientSkillCache::getSkinMagic, ClientSkillCache::getSkinMagicXp);
+        // Add every skill the server has sent, so new skills show up without changes here
+        skillNames = List.copyOf(ClientSkillCache.getSkillNames());
+        for (String skill : skillNames) {
+            addSkillEntry(skill);
+        }
     }
 
-    private void addSkillEntry(String name, Supplier<Integer> levelGetter, Supplier<Integer> xpGetter) {
+    private void addSkillEntry(String skill) {
+        String name = XpHelper.formatSkillName(skill);
         contentEntries.add(new ContentEntry(
-            () -> formatSkill(name, levelGetter.get(), xpGetter.get()), 10));
-    }
-
-    private int getBasePhy() {
-        return Math.min(Math.min(BASE_POW, BASE_SPD), BASE_END) + 1;
-    }
-
-    private int calculatePHY() {
-        return Math.min(Math.min(calculatePOW(), calculateSPD()), calculateEND()) + 1;
+            () -> formatSkill(name, ClientSkillCache.getSkillLevel(skill), ClientSkillCache.getSkillXp(skill)), 10));
     }
 
     @Override
@@ -195,6 +185,12 @@ public class CharacterSheetScreen extends Screen {
 
     @Override
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
+        // A full snapshot arrived with a different skill table since the rows were built
+        if (!skillNames.equals(ClientSkillCache.getSkillNames())) {
+            buildContentList();
+            clearAndInit();
+        }
+
         // Semi-transparent dark overlay (like vanilla screens)
         context.fill(0, 0, this.width, this.height, 0xC0101010);
 
@@ -277,55 +273,12 @@ public class CharacterSheetScreen extends Screen {
             return Text.literal(name + ": Locked").withColor(0x555555);
         } else {
             // Unlocked - show level with XP progress
-            int xpNeeded = getXpForNextLevel(level);
+            int xpNeeded = ClientSkillCache.getXpCurve().getXpForNextLevel(level);
             return Text.literal(name + ": " + level).withColor(0xAAAAAA)
                 .append(Text.literal(" (" + xp + "/" + xpNeeded + " XP)").withColor(0x777777));
         }
     }
 
-    /**
-     * Calculate XP needed for next level (mirrors server-side XpConfig formula).
-     * Formula: (nextLevel + 1)^2
-     * This means: 0->1 needs 4 XP, 1->2 needs 9 XP, 2->3 needs 16 XP, etc.
-     */
-    private int getXpForNextLevel(int currentLevel) {
-        int nextLevel = currentLevel + 1;
-        return (nextLevel + 1) * (nextLevel + 1);
-    }
-
-    private int calculatePOW() {
-        int pow = BASE_POW;
-        if (player.hasStatusEffect(StatusEffects.STRENGTH)) {
-            pow += player.getStatusEffect(StatusEffects.STRENGTH).getAmplifier() + 1;
-        }
-        if (player.hasStatusEffect(StatusEffects.JUMP_BOOST)) {
-            pow += player.getStatusEffect(StatusEffects.JUMP_BOOST).getAmplifier() + 1;
-        }
-        return pow;
-    }
-
-    private int calculateSPD() {
-        int spd = BASE_SPD;
-        if (player.hasStatusEffect(StatusEffects.SPEED)) {
-            spd += player.getStatusEffect(StatusEffects.SPEED).getAmplifier() + 1;
-        }
-        if (player.hasStatusEffect(StatusEffects.HASTE)) {
-            spd += player.getStatusEffect(StatusEffects.HASTE).getAmplifier() + 1;
-        }
-        return spd;
-    }
-
-    private int calculateEND() {
-        int end = BASE_END;
-        if (player.hasStatusEffect(StatusEffects.REGENERATION)) {
-            end += player.getStatusEffect(StatusEffects.REGENERATION).getAmplifier() + 1;
-        }
-        if (player.hasStatusEffect(StatusEffects.RESISTANCE)) {
-            end += player.getStatusEffect(StatusEffects.RESISTANCE).getAmplifier() + 1;
-        }
-        return end;
-    }
-
     @Override
     public boolean shouldPause() {
         return false;
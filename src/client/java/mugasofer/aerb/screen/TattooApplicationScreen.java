@@ -7,6 +7,7 @@ import mugasofer.aerb.network.ModNetworking;
 import mugasofer.aerb.skill.ClientSkillCache;
 import mugasofer.aerb.tattoo.ClientTattooCache;
 import mugasofer.aerb.tattoo.TattooInstance;
+import mugasofer.aerb.tattoo.TattooTypes;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
@@ -513,12 +514,8 @@ public class TattooApplicationScreen extends Screen {
     }
 
     private int[] getTattooSizeForId(String tattooId) {
-        for (DesignEntry entry : availableDesigns) {
-            if (entry.item.getTattooId().equals(tattooId)) {
-                return new int[] { entry.item.getGridWidth(), entry.item.getGridHeight() };
-            }
-        }
-        return new int[] { 2, 2 };
+        // Sizes come from the tattoo type, so tattoos whose design isn't in the inventory still get theirs
+        return new int[] { TattooTypes.gridWidth(tattooId), TattooTypes.gridHeight(tattooId) };
     }
 
     @Override
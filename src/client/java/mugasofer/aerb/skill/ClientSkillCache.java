@@ -1,117 +1,119 @@
 package mugasofer.aerb.skill;
 
+import mugasofer.aerb.network.ModNetworking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Client-side cache for player skills, synced from server.
+ * Skills are keyed by name; the server's ordinal -> name table arrives with each full snapshot.
  */
 public class ClientSkillCache {
-    // Skill levels (-1 = not synced yet)
-    private static int bloodMagic = -1;
-    private static int boneMagic = -1;
-    private static int oneHanded = -1;
-    private static int parry = -1;
-    private static int horticulture = -1;
-    private static int art = -1;
-    private static int skinMagic = -1;
-
-    // Skill XP
-    private static int bloodMagicXp = 0;
-    private static int boneMagicXp = 0;
-    private static int oneHandedXp = 0;
-    private static int parryXp = 0;
-    private static int horticultureXp = 0;
-    private static int artXp = 0;
-    private static int skinMagicXp = 0;
-
-    public static int getBloodMagic() {
-        return bloodMagic;
-    }
+    // Skill levels (missing = locked or not synced yet) and XP
+    private static final Map<String, Integer> levels = new HashMap<>();
+    private static final Map<String, Integer> xp = new HashMap<>();
 
-    public static int getBoneMagic() {
-        return boneMagic;
-    }
+    // Server skill ordinals -> names, from the last full snapshot
+    private static final List<String> names = new ArrayList<>();
 
-    public static int getOneHanded() {
-        return oneHanded;
-    }
+    // Sequence number of the last applied skills section, or -1 before the first snapshot
+    private static int sequence = -1;
 
-    public static int getParry() {
-        return parry;
-    }
+    // A full snapshot has been requested and hasn't arrived yet
+    private static boolean resyncPending;
 
-    public static int getBloodMagicXp() {
-        return bloodMagicXp;
-    }
+    // XP-per-level table from the server (default formula until synced)
+    private static XpCurve xpCurve = XpCurve.fromExponent(2.0);
 
-    public static int getBoneMagicXp() {
-        return boneMagicXp;
+    public static XpCurve getXpCurve() {
+        return xpCurve;
     }
 
-    public static int getOneHandedXp() {
-        return oneHandedXp;
+    public static void setXpCurve(XpCurve curve) {
+        xpCurve = curve;
     }
 
-    public static int getParryXp() {
-        return parryXp;
+    /**
+     * Get a skill's level, or -1 if locked or not synced yet.
+     */
+    public static int getSkillLevel(String skillName) {
+        return levels.getOrDefault(skillName, PlayerSkills.LOCKED);
     }
 
-    public static int getHorticulture() {
-        return horticulture;
+    public static int getSkillXp(String skillName) {
+        return xp.getOrDefault(skillName, 0);
     }
 
-    public static int getArt() {
-        return art;
+    /**
+     * Names of every skill the server knows, in its ordinal order, from the last full snapshot.
+     */
+    public static List<String> getSkillNames() {
+        return Collections.unmodifiableList(names);
     }
 
-    public static int getSkinMagic() {
-        return skinMagic;
-    }
-
-    public static int getHorticultureXp() {
-        return horticultureXp;
-    }
-
-    public static int getArtXp() {
-        return artXp;
-    }
-
-    public static int getSkinMagicXp() {
-        return skinMagicXp;
+    public static int getParry() {
+        return getSkillLevel(PlayerSkills.PARRY);
     }
 
-    public static void update(int bloodMagic, int boneMagic, int oneHanded, int parry,
-                              int horticulture, int art, int skinMagic,
-                              int bloodMagicXp, int boneMagicXp, int oneHandedXp, int parryXp,
-                              int horticultureXp, int artXp, int skinMagicXp) {
-        ClientSkillCache.bloodMagic = bloodMagic;
-        ClientSkillCache.boneMagic = boneMagic;
-        ClientSkillCache.oneHanded = oneHanded;
-        ClientSkillCache.parry = parry;
-        ClientSkillCache.horticulture = horticulture;
-        ClientSkillCache.art = art;
-        ClientSkillCache.skinMagic = skinMagic;
-        ClientSkillCache.bloodMagicXp = bloodMagicXp;
-        ClientSkillCache.boneMagicXp = boneMagicXp;
-        ClientSkillCache.oneHandedXp = oneHandedXp;
-        ClientSkillCache.parryXp = parryXp;
-        ClientSkillCache.horticultureXp = horticultureXp;
-        ClientSkillCache.artXp = artXp;
-        ClientSkillCache.skinMagicXp = skinMagicXp;
+    public static int getSkinMagic() {
+        return getSkillLevel(PlayerSkills.SKIN_MAGIC);
+    }
+
+    /**
+     * Apply a skills section from the server.
+     * Returns false if a delta arrived out of sequence, in which case the cache is
+     * left untouched and the caller should ask the server for a full snapshot.
+     */
+    public static boolean apply(ModNetworking.SkillsSection section) {
+        if (section.full()) {
+            resyncPending = false;
+            levels.clear();
+            xp.clear();
+            names.clear();
+            names.addAll(section.names());
+        } else if (sequence < 0 || section.sequence() != sequence + 1) {
+            return false;
+        }
+        sequence = section.sequence();
+
+        for (int i = 0; i < section.ordinals().length; i++) {
+            int ordinal = section.ordinals()[i];
+            if (ordinal < 0 || ordinal >= names.size()) {
+                continue; // The server sends a snapshot before using a new ordinal
+            }
+            String name = names.get(ordinal);
+            if (section.levels()[i] == PlayerSkills.LOCKED) {
+                levels.remove(name);
+            } else {
+                levels.put(name, section.levels()[i]);
+            }
+            xp.put(name, section.xp()[i]);
+        }
+        return true;
+    }
+
+    /**
+     * Note that a full snapshot is about to be requested.
+     * Returns false if one already is on its way, so deltas that keep arriving
+     * before it don't each trigger another request.
+     */
+    public static boolean requestResync() {
+        if (resyncPending) {
+            return false;
+        }
+        resyncPending = true;
+        return true;
     }
 
     public static void reset() {
-        bloodMagic = -1;
-        boneMagic = -1;
-        oneHanded = -1;
-        parry = -1;
-        horticulture = -1;
-        art = -1;
-        skinMagic = -1;
-        bloodMagicXp = 0;
-        boneMagicXp = 0;
-        oneHandedXp = 0;
-        parryXp = 0;
-        horticultureXp = 0;
-        artXp = 0;
-        skinMagicXp = 0;
+        levels.clear();
+        xp.clear();
+        names.clear();
+        sequence = -1;
+        resyncPending = false;
     }
 }
@@ -1,29 +1,158 @@
 package mugasofer.aerb.tattoo;
 
+import mugasofer.aerb.network.ModNetworking;
 import mugasofer.aerb.render.TattooTextureManager;
 import net.minecraft.client.MinecraftClient;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 /**
- * Client-side cache of the local player's tattoos.
+ * Client-side cache of the local player's tattoos, plus those of nearby players
+ * the server is sending us while we track them.
  * Updated via network sync from server.
  */
 public class ClientTattooCache {
     private static final List<TattooInstance> tattoos = new ArrayList<>();
 
+    // Server version of the cached list, or -1 before the first snapshot
+    private static int version = -1;
+
+    // A full snapshot of our own tattoos has been requested and hasn't arrived yet
+    private static boolean resyncPending;
+
+    // Tattoos of other players in view, by player UUID; dropped when they leave view
+    private static final Map<UUID, OtherPlayerTattoos> others = new HashMap<>();
+
+    // Other players whose full snapshot has been requested and hasn't arrived yet
+    private static final Set<UUID> otherResyncsPending = new HashSet<>();
+
+    private static class OtherPlayerTattoos {
+        int version;
+        List<TattooInstance> tattoos = List.of();
+    }
+
     /**
-     * Update the cache with data from server.
-     * Also invalidates the texture cache to regenerate tattooed skin.
+     * Apply a tattoos section from the server: a full snapshot replaces the cache, a delta patches it.
+     * Returns false if a delta doesn't apply to the cached version, in which case the cache is
+     * left untouched and the caller should ask the server for a full snapshot.
      */
-    public static void update(List<TattooInstance> newTattoos) {
+    public static boolean apply(ModNetworking.TattoosSection section) {
+        if (section.full()) {
+            resyncPending = false;
+            tattoos.clear();
+            tattoos.addAll(section.tattoos());
+            version = section.version();
+            invalidateSkin();
+            return true;
+        }
+
+        if (version < 0 || section.version() != version) {
+            return false;
+        }
+        List<TattooInstance> patched = new ArrayList<>(tattoos);
+        boolean visual = false;
+        for (TattooChange change : section.changes()) {
+            if (!change.applyTo(patched)) {
+                return false;
+            }
+            visual |= change.isVisual();
+        }
         tattoos.clear();
-        tattoos.addAll(newTattoos);
+        tattoos.addAll(patched);
+        version += section.changes().size();
+
+        // Cooldowns don't show on the skin, so only layout changes need it recomposited
+        if (visual) {
+            invalidateSkin();
+        }
+        return true;
+    }
+
+    /**
+     * Apply a tattoos section for another player. Returns false if a delta doesn't apply
+     * to the cached version; the caller should ask the server for a full snapshot.
+     */
+    public static boolean applyOther(UUID playerId, ModNetworking.TattoosSection section) {
+        OtherPlayerTattoos cached = others.get(playerId);
+        if (section.full()) {
+            otherResyncsPending.remove(playerId);
+            cached = new OtherPlayerTattoos();
+            cached.tattoos = List.copyOf(section.tattoos());
+            cached.version = section.version();
+            others.put(playerId, cached);
+            TattooTextureManager.invalidateCache(playerId);
+            return true;
+        }
+
+        if (cached == null || section.version() != cached.version) {
+            return false;
+        }
+        List<TattooInstance> patched = new ArrayList<>(cached.tattoos);
+        boolean visual = false;
+        for (TattooChange change : section.changes()) {
+            if (!change.applyTo(patched)) {
+                return false;
+            }
+            visual |= change.isVisual();
+        }
+        cached.tattoos = List.copyOf(patched);
+        cached.version += section.changes().size();
+        if (visual) {
+            TattooTextureManager.invalidateCache(playerId);
+        }
+        return true;
+    }
+
+    /**
+     * Note that a full snapshot of our own tattoos is about to be requested.
+     * Returns false if one already is on its way, so deltas that keep arriving
+     * before it don't each trigger another request.
+     */
+    public static boolean requestResync() {
+        if (resyncPending) {
+            return false;
+        }
+        resyncPending = true;
+        return true;
+    }
+
+    /**
+     * Like {@link #requestResync()}, for another player's tattoos.
+     */
+    public static boolean requestOtherResync(UUID playerId) {
+        return otherResyncsPending.add(playerId);
+    }
+
+    /**
+     * Forget another player's tattoos (they left view).
+     */
+    public static void forgetOther(UUID playerId) {
+        otherResyncsPending.remove(playerId);
+        if (others.remove(playerId) != null) {
+            TattooTextureManager.invalidateCache(playerId);
+        }
+    }
+
+    /**
+     * Get all tattoo instances of a player: the local player or one in view.
+     */
+    public static List<TattooInstance> getTattoos(UUID playerId) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.player != null && client.player.getUuid().equals(playerId)) {
+            return getAllTattoos();
+        }
+        OtherPlayerTattoos cached = others.get(playerId);
+        return cached != null ? cached.tattoos : List.of();
+    }
 
-        // Invalidate texture cache for the local player so their tattooed skin regenerates
+    // Invalidate texture cache for the local player so their tattooed skin regenerates
+    private static void invalidateSkin() {
         MinecraftClient client = MinecraftClient.getInstance();
         if (client.player != null) {
             TattooTextureManager.invalidateCache(client.player.getUuid());
@@ -69,5 +198,9 @@ public class ClientTattooCache {
      */
     public static void clear() {
         tattoos.clear();
+        version = -1;
+        resyncPending = false;
+        others.clear();
+        otherResyncsPending.clear();
     }
 }
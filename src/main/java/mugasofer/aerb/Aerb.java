@@ -1,19 +1,30 @@
 package mugasofer.aerb;
 
+import mugasofer.aerb.combat.CombatJournal;
+import mugasofer.aerb.combat.ParryHandler;
 import mugasofer.aerb.command.ModCommands;
+import mugasofer.aerb.config.CombatJournalConfig;
 import mugasofer.aerb.config.DescriptionConfig;
 import mugasofer.aerb.config.HypertensionConfig;
+import mugasofer.aerb.config.NetworkConfig;
+import mugasofer.aerb.config.PlayerDataConfig;
+import mugasofer.aerb.config.SkillStoreConfig;
 import mugasofer.aerb.config.XpConfig;
+import mugasofer.aerb.data.PlayerDataMigrator;
 import mugasofer.aerb.entity.LesserUmbralUndeadEntity;
 import mugasofer.aerb.entity.ModEntities;
 import mugasofer.aerb.event.UmbralFormationHandler;
 import mugasofer.aerb.item.ModItems;
+import mugasofer.aerb.leaderboard.SkillLeaderboards;
 import mugasofer.aerb.sound.ModSounds;
 import mugasofer.aerb.item.SpellItem;
 import mugasofer.aerb.item.VirtueItem;
 import mugasofer.aerb.network.ModNetworking;
 import mugasofer.aerb.screen.ModScreenHandlers;
 import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SharedSkillStore;
+import mugasofer.aerb.skill.UnlockRules;
+import mugasofer.aerb.skill.XpHelper;
 import mugasofer.aerb.spell.SpellInventory;
 import mugasofer.aerb.tattoo.FallRuneHandler;
 import mugasofer.aerb.tattoo.PlayerTattoos;
@@ -55,6 +66,10 @@ public class Aerb implements ModInitializer {
 		HypertensionConfig.load();
 		DescriptionConfig.load();
 		XpConfig.load();
+		CombatJournalConfig.load();
+		SkillStoreConfig.load();
+		PlayerDataConfig.load();
+		NetworkConfig.load();
 		ModSounds.init();
 		ModEntities.initialize();
 		FabricDefaultAttributeRegistry.register(ModEntities.UNDEAD, ZombieEntity.createZombieAttributes());
@@ -67,15 +82,22 @@ public class Aerb implements ModInitializer {
 		PlayerSkills.init();
 		PlayerTattoos.init();
 		FallRuneHandler.init();
+		ParryHandler.init();
+		XpHelper.init();
+		UnlockRules.init();
+		SharedSkillStore.init();
+		PlayerDataMigrator.init();
+		SkillLeaderboards.init();
+		CombatJournal.init();
 		ModScreenHandlers.init();
 		ModNetworking.init();
 		ModCommands.init();
 
-		// Sync skills and tattoos to client when player joins
+		// Sync skills and tattoos to client when player joins (sent as one bundle at the end of the tick)
 		ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
 			ServerPlayerEntity player = handler.getPlayer();
-			ModNetworking.syncSkillsToClient(player);
-			ModNetworking.syncTattoosToClient(player);
+			ModNetworking.syncXpCurveToClient(player);
+			ModNetworking.markDirty(player, ModNetworking.SECTION_ALL);
 		});
 
 		// Preserve spell/virtue inventories and skills on death/respawn
@@ -0,0 +1,71 @@
+package mugasofer.aerb.combat;
+
+/**
+ * Types of event recorded by the combat journal.
+ * Each type names the fixed-layout fields it uses, so the writer thread can turn
+ * a journal slot back into a JSON object without any per-event allocation on the
+ * game thread.
+ */
+public enum CombatEventType {
+    PARRY_ROLL("parry_roll", null,
+        new String[]{"player_roll", "player_bonus", "spd", "parry_level", "enemy_roll", "enemy_modifier", "success"},
+        new String[]{"damage"}),
+    RIPOSTE("riposte", "attacker",
+        new String[]{},
+        new String[]{}),
+    SHED_BODY("shed_body", null,
+        new String[]{"x", "y", "z", "corpses_remaining"},
+        new String[]{}),
+    FORMATION_START("formation_start", null,
+        new String[]{"x", "y", "z", "members", "watchers"},
+        new String[]{}),
+    FORMATION_COMPLETE("formation_complete", null,
+        new String[]{"x", "y", "z", "corpses"},
+        new String[]{}),
+    FORMATION_CANCELLED("formation_cancelled", "reason",
+        new String[]{"x", "y", "z", "absorbed"},
+        new String[]{}),
+    UMBRAL_SPAWNED("umbral_spawned", null,
+        new String[]{"x", "y", "z"},
+        new String[]{}),
+    FALL_RUNE("fall_rune", null,
+        new String[]{"x", "y", "z"},
+        new String[]{"velocity"}),
+    HYPERTENSION_SCALED("hypertension_scaled", "damage_type",
+        new String[]{},
+        new String[]{"damage", "multiplier"});
+
+    public static final int MAX_INTS = 8;
+    public static final int MAX_DOUBLES = 2;
+
+    private final String id;
+    private final String tagField;
+    private final String[] intFields;
+    private final String[] doubleFields;
+
+    CombatEventType(String id, String tagField, String[] intFields, String[] doubleFields) {
+        this.id = id;
+        this.tagField = tagField;
+        this.intFields = intFields;
+        this.doubleFields = doubleFields;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * JSON field name for the event's tag value, or null if the type has no tag.
+     */
+    public String getTagField() {
+        return tagField;
+    }
+
+    public String[] getIntFields() {
+        return intFields;
+    }
+
+    public String[] getDoubleFields() {
+        return doubleFields;
+    }
+}
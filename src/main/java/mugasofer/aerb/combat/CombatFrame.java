@@ -0,0 +1,118 @@
+package mugasofer.aerb.combat;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-player, per-tick combat state.
+ * When several hits land in the same tick (skeleton volleys, zombie swarms), each one
+ * still gets its own parry roll, but they share a single Prophetic Blade switch-and-swing,
+ * a single parry sound, and one aggregated action-bar message (e.g. "Parried x3!")
+ * sent at the end of the tick.
+ */
+public class CombatFrame {
+    private static final Map<UUID, CombatFrame> frames = new HashMap<>();
+
+    private ServerPlayerEntity player;
+    private int tick = -1;
+    private boolean swung;
+    private boolean soundPlayed;
+    private int parries;
+    private int ripostes;
+
+    private CombatFrame(ServerPlayerEntity player) {
+        this.player = player;
+    }
+
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            for (CombatFrame frame : frames.values()) {
+                frame.flushMessage();
+            }
+        });
+    }
+
+    /**
+     * Get the player's combat frame for the current tick.
+     * Frames from earlier ticks are reset before being returned.
+     */
+    public static CombatFrame forPlayer(ServerPlayerEntity player) {
+        CombatFrame frame = frames.computeIfAbsent(player.getUuid(), id -> new CombatFrame(player));
+        // Respawning creates a new player entity with the same UUID
+        frame.player = player;
+
+        int currentTick = ((ServerWorld) player.getEntityWorld()).getServer().getTicks();
+        if (frame.tick != currentTick) {
+            frame.tick = currentTick;
+            frame.swung = false;
+            frame.soundPlayed = false;
+        }
+        return frame;
+    }
+
+    /**
+     * Whether the Prophetic Blade switch-and-swing has already happened this tick.
+     */
+    public boolean hasSwung() {
+        return swung;
+    }
+
+    public void markSwung() {
+        swung = true;
+    }
+
+    /**
+     * Claim this tick's parry sound. Returns false if a sound has already played.
+     */
+    public boolean tryClaimSound() {
+        if (soundPlayed) {
+            return false;
+        }
+        soundPlayed = true;
+        return true;
+    }
+
+    /**
+     * Record a successful parry for this tick's action-bar message.
+     */
+    public void recordParry(boolean riposted) {
+        parries++;
+        if (riposted) {
+            ripostes++;
+        }
+    }
+
+    private void flushMessage() {
+        if (parries == 0) {
+            return;
+        }
+
+        String message;
+        if (parries == 1) {
+            message = ripostes > 0 ? "Parried and riposted!" : "Parried!";
+        } else if (ripostes == 0) {
+            message = "Parried ×" + parries + "!";
+        } else if (ripostes == parries) {
+            message = "Parried and riposted ×" + parries + "!";
+        } else {
+            message = "Parried ×" + parries + ", riposted ×" + ripostes + "!";
+        }
+        player.sendMessage(Text.literal(message), true);
+
+        parries = 0;
+        ripostes = 0;
+    }
+
+    /**
+     * Clean up state for a player (called on disconnect).
+     */
+    public static void removePlayer(UUID playerId) {
+        frames.remove(playerId);
+    }
+}
@@ -0,0 +1,491 @@
+package mugasofer.aerb.combat;
+
+import mugasofer.aerb.Aerb;
+import mugasofer.aerb.config.CombatJournalConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Structured journal of combat events (parry rolls, ripostes, shed bodies,
+ * Umbral formations, Fall Runes, Hypertension scaling).
+ *
+ * Events are written into a preallocated lock-free ring buffer on the game thread
+ * and drained by a background thread into rotating JSONL files, so recording an
+ * event costs a few field writes instead of a formatted INFO log line.
+ * If the buffer is full the event is dropped rather than blocking the game.
+ */
+public class CombatJournal {
+    private static volatile RingBuffer buffer;
+    private static WriterThread writer;
+
+    public static void init() {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> start());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> stop());
+    }
+
+    private static synchronized void start() {
+        CombatJournalConfig config = CombatJournalConfig.get();
+        if (!config.enabled || writer != null) {
+            return;
+        }
+
+        Path directory = FabricLoader.getInstance().getGameDir().resolve(config.directory);
+        buffer = new RingBuffer(config.bufferCapacity);
+        writer = new WriterThread(buffer, directory, config);
+        writer.start();
+        Aerb.LOGGER.info("Combat journal writing to " + directory);
+    }
+
+    private static synchronized void stop() {
+        if (writer == null) {
+            return;
+        }
+        // Stop accepting events, then let the writer drain what's left
+        buffer = null;
+        writer.shutdown();
+        writer = null;
+    }
+
+    // ============ Event recording ============
+
+    /**
+     * Record a parry roll.
+     */
+    public static void parryRoll(Entity player, int playerRoll, int playerBonus, int spd, int parryLevel,
+                                 int enemyRoll, int enemyModifier, boolean success, float damage) {
+        Slot slot = claim(CombatEventType.PARRY_ROLL);
+        if (slot == null) return;
+
+        slot.tick = player.getEntityWorld().getTime();
+        slot.subject = player.getUuid();
+        slot.ints[0] = playerRoll;
+        slot.ints[1] = playerBonus;
+        slot.ints[2] = spd;
+        slot.ints[3] = parryLevel;
+        slot.ints[4] = enemyRoll;
+        slot.ints[5] = enemyModifier;
+        slot.ints[6] = success ? 1 : 0;
+        slot.doubles[0] = damage;
+        publish(slot);
+    }
+
+    /**
+     * Record a Riposter counterattack.
+     */
+    public static void riposte(Entity player, Entity attacker) {
+        Slot slot = claim(CombatEventType.RIPOSTE);
+        if (slot == null) return;
+
+        slot.tick = player.getEntityWorld().getTime();
+        slot.subject = player.getUuid();
+        // Registry ids are shared instances, so storing one doesn't allocate
+        slot.tag = EntityType.getId(attacker.getType());
+        publish(slot);
+    }
+
+    /**
+     * Record a Lesser Umbral Undead shedding a body.
+     */
+    public static void shedBody(Entity umbral, int corpsesRemaining) {
+        Slot slot = claim(CombatEventType.SHED_BODY);
+        if (slot == null) return;
+
+        slot.tick = umbral.getEntityWorld().getTime();
+        slot.subject = umbral.getUuid();
+        slot.ints[0] = (int) Math.floor(umbral.getX());
+        slot.ints[1] = (int) Math.floor(umbral.getY());
+        slot.ints[2] = (int) Math.floor(umbral.getZ());
+        slot.ints[3] = corpsesRemaining;
+        publish(slot);
+    }
+
+    /**
+     * Record the start of an Umbral formation.
+     */
+    public static void formationStarted(World world, Vec3d centroid, int members, int watchers) {
+        Slot slot = claim(CombatEventType.FORMATION_START);
+        if (slot == null) return;
+
+        slot.tick = world.getTime();
+        slot.ints[0] = (int) Math.floor(centroid.x);
+        slot.ints[1] = (int) Math.floor(centroid.y);
+        slot.ints[2] = (int) Math.floor(centroid.z);
+        slot.ints[3] = members;
+        slot.ints[4] = watchers;
+        publish(slot);
+    }
+
+    /**
+     * Record a completed Umbral formation.
+     */
+    public static void formationCompleted(World world, Vec3d centroid, int corpses) {
+        Slot slot = claim(CombatEventType.FORMATION_COMPLETE);
+        if (slot == null) return;
+
+        slot.tick = world.getTime();
+        slot.ints[0] = (int) Math.floor(centroid.x);
+        slot.ints[1] = (int) Math.floor(centroid.y);
+        slot.ints[2] = (int) Math.floor(centroid.z);
+        slot.ints[3] = corpses;
+        publish(slot);
+    }
+
+    /**
+     * Record an Umbral formation breaking up before it finished.
+     * The reason is a short constant string, so storing it doesn't allocate.
+     */
+    public static void formationCancelled(World world, Vec3d centroid, int absorbed, String reason) {
+        Slot slot = claim(CombatEventType.FORMATION_CANCELLED);
+        if (slot == null) return;
+
+        slot.tick = world.getTime();
+        slot.tag = reason;
+        slot.ints[0] = (int) Math.floor(centroid.x);
+        slot.ints[1] = (int) Math.floor(centroid.y);
+        slot.ints[2] = (int) Math.floor(centroid.z);
+        slot.ints[3] = absorbed;
+        publish(slot);
+    }
+
+    /**
+     * Record a growing Umbral spawning at a formation.
+     */
+    public static void umbralSpawned(Entity umbral) {
+        Slot slot = claim(CombatEventType.UMBRAL_SPAWNED);
+        if (slot == null) return;
+
+        slot.tick = umbral.getEntityWorld().getTime();
+        slot.subject = umbral.getUuid();
+        slot.ints[0] = (int) Math.floor(umbral.getX());
+        slot.ints[1] = (int) Math.floor(umbral.getY());
+        slot.ints[2] = (int) Math.floor(umbral.getZ());
+        publish(slot);
+    }
+
+    /**
+     * Record a Fall Rune breaking a player's fall.
+     */
+    public static void fallRune(Entity player, double velocity) {
+        Slot slot = claim(CombatEventType.FALL_RUNE);
+        if (slot == null) return;
+
+        slot.tick = player.getEntityWorld().getTime();
+        slot.subject = player.getUuid();
+        slot.ints[0] = (int) Math.floor(player.getX());
+        slot.ints[1] = (int) Math.floor(player.getY());
+        slot.ints[2] = (int) Math.floor(player.getZ());
+        slot.doubles[0] = velocity;
+        publish(slot);
+    }
+
+    /**
+     * Record Hypertension scaling incoming damage.
+     */
+    public static void hypertensionScaled(Entity player, String damageTypeId, float damage, double multiplier) {
+        Slot slot = claim(CombatEventType.HYPERTENSION_SCALED);
+        if (slot == null) return;
+
+        slot.tick = player.getEntityWorld().getTime();
+        slot.subject = player.getUuid();
+        slot.tag = damageTypeId;
+        slot.doubles[0] = damage;
+        slot.doubles[1] = multiplier;
+        publish(slot);
+    }
+
+    /**
+     * Claim a slot for a new event, applying sampling.
+     * Returns null if the journal is off, the event was sampled out, or the buffer is full.
+     */
+    private static Slot claim(CombatEventType type) {
+        RingBuffer ring = buffer;
+        if (ring == null) {
+            return null;
+        }
+
+        double sampleRate = CombatJournalConfig.get().sampleRate;
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+
+        Slot slot = ring.claim();
+        if (slot == null) {
+            return null;
+        }
+        slot.type = type;
+        slot.time = System.currentTimeMillis();
+        slot.subject = null;
+        slot.tag = null;
+        return slot;
+    }
+
+    private static void publish(Slot slot) {
+        // Volatile write: everything written to the slot above becomes visible to the writer
+        slot.published = slot.sequence;
+    }
+
+    // ============ Ring buffer ============
+
+    /**
+     * A fixed-layout event record. Slots are allocated once and reused.
+     */
+    private static class Slot {
+        volatile long published = -1;
+        long sequence;
+
+        CombatEventType type;
+        long time;
+        long tick;
+        UUID subject;
+        Object tag;
+        final int[] ints = new int[CombatEventType.MAX_INTS];
+        final double[] doubles = new double[CombatEventType.MAX_DOUBLES];
+    }
+
+    /**
+     * Multi-producer, single-consumer ring buffer of preallocated slots.
+     * Producers claim a sequence number with CAS and publish by writing it back
+     * into the slot; the consumer reads slots in sequence order.
+     */
+    private static class RingBuffer {
+        final Slot[] slots;
+        final int mask;
+        final AtomicLong head = new AtomicLong();
+        final AtomicLong tail = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+
+        RingBuffer(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(16, requestedCapacity) - 1) << 1;
+            slots = new Slot[capacity];
+            for (int i = 0; i < capacity; i++) {
+                slots[i] = new Slot();
+            }
+            mask = capacity - 1;
+        }
+
+        Slot claim() {
+            while (true) {
+                long sequence = head.get();
+                if (sequence - tail.get() >= slots.length) {
+                    dropped.incrementAndGet();
+                    return null;
+                }
+                if (head.compareAndSet(sequence, sequence + 1)) {
+                    Slot slot = slots[(int) (sequence & mask)];
+                    slot.sequence = sequence;
+                    return slot;
+                }
+            }
+        }
+
+        /**
+         * Get the next published slot, or null if the next event isn't ready yet.
+         * The caller must call {@link #release()} once it has read the slot.
+         */
+        Slot peek() {
+            long sequence = tail.get();
+            Slot slot = slots[(int) (sequence & mask)];
+            return slot.published == sequence ? slot : null;
+        }
+
+        void release() {
+            tail.lazySet(tail.get() + 1);
+        }
+    }
+
+    // ============ Writer ============
+
+    /**
+     * Background thread that drains the ring buffer into rotating JSONL files.
+     */
+    private static class WriterThread extends Thread {
+        private final RingBuffer ring;
+        private final Path directory;
+        private final long maxFileBytes;
+        private final int maxFiles;
+        private final long idleNanos;
+        private final StringBuilder line = new StringBuilder(256);
+
+        private volatile boolean running = true;
+        private BufferedWriter out;
+        private long fileBytes;
+        private long reportedDrops;
+        private long lastRotationMillis;
+        private int rotationsThisMilli;
+
+        WriterThread(RingBuffer ring, Path directory, CombatJournalConfig config) {
+            super("AERB Combat Journal");
+            setDaemon(true);
+            this.ring = ring;
+            this.directory = directory;
+            this.maxFileBytes = config.maxFileBytes;
+            this.maxFiles = Math.max(1, config.maxFiles);
+            this.idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.flushIntervalMs));
+        }
+
+        void shutdown() {
+            running = false;
+            LockSupport.unpark(this);
+            try {
+                join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Files.createDirectories(directory);
+                while (running) {
+                    if (drain() == 0) {
+                        if (out != null) {
+                            out.flush();
+                        }
+                        reportDrops();
+                        LockSupport.parkNanos(this, idleNanos);
+                    }
+                }
+                drain();
+                reportDrops();
+            } catch (IOException e) {
+                Aerb.LOGGER.error("Combat journal writer failed", e);
+            } finally {
+                closeFile();
+            }
+        }
+
+        private int drain() throws IOException {
+            int count = 0;
+            Slot slot;
+            while ((slot = ring.peek()) != null) {
+                line.setLength(0);
+                appendJson(slot, line);
+                ring.release();
+                writeLine(line);
+                count++;
+            }
+            return count;
+        }
+
+        private void writeLine(StringBuilder json) throws IOException {
+            if (out == null || fileBytes >= maxFileBytes) {
+                rotate();
+            }
+            json.append('\n');
+            out.append(json);
+            // Close enough for rotation purposes; event lines are ASCII apart from tags
+            fileBytes += json.length();
+        }
+
+        private void rotate() throws IOException {
+            closeFile();
+            // Numbered within the millisecond so quick rotations don't reuse a name; padded so names sort in order
+            long millis = System.currentTimeMillis();
+            rotationsThisMilli = millis == lastRotationMillis ? rotationsThisMilli + 1 : 0;
+            lastRotationMillis = millis;
+            Path file = directory.resolve(String.format("combat-%d-%03d.jsonl", millis, rotationsThisMilli));
+            out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            fileBytes = 0;
+            pruneOldFiles();
+        }
+
+        private void pruneOldFiles() throws IOException {
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith("combat-") && name.endsWith(".jsonl");
+                    })
+                    .sorted()
+                    .toList();
+            }
+            for (int i = 0; i < files.size() - maxFiles; i++) {
+                Files.deleteIfExists(files.get(i));
+            }
+        }
+
+        private void closeFile() {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                Aerb.LOGGER.error("Failed to close combat journal file", e);
+            }
+            out = null;
+        }
+
+        private void reportDrops() {
+            long dropped = ring.dropped.get();
+            if (dropped != reportedDrops) {
+                Aerb.LOGGER.warn("Combat journal buffer full, dropped {} events", dropped - reportedDrops);
+                reportedDrops = dropped;
+            }
+        }
+    }
+
+    /**
+     * Append a slot as a single-line JSON object.
+     */
+    private static void appendJson(Slot slot, StringBuilder sb) {
+        CombatEventType type = slot.type;
+        sb.append("{\"time\":").append(slot.time);
+        sb.append(",\"tick\":").append(slot.tick);
+        sb.append(",\"type\":\"").append(type.getId()).append('"');
+        if (slot.subject != null) {
+            sb.append(",\"subject\":\"").append(slot.subject).append('"');
+        }
+        if (type.getTagField() != null && slot.tag != null) {
+            sb.append(",\"").append(type.getTagField()).append("\":\"");
+            appendEscaped(String.valueOf(slot.tag), sb);
+            sb.append('"');
+        }
+        String[] intFields = type.getIntFields();
+        for (int i = 0; i < intFields.length; i++) {
+            sb.append(",\"").append(intFields[i]).append("\":").append(slot.ints[i]);
+        }
+        String[] doubleFields = type.getDoubleFields();
+        for (int i = 0; i < doubleFields.length; i++) {
+            sb.append(",\"").append(doubleFields[i]).append("\":").append(slot.doubles[i]);
+        }
+        sb.append('}');
+    }
+
+    private static void appendEscaped(String value, StringBuilder sb) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package mugasofer.aerb.combat;
+
+import com.google.gson.Gson;
+import mugasofer.aerb.Aerb;
+import mugasofer.aerb.item.ModItems;
+import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SkillRegistry;
+import mugasofer.aerb.stat.StatCalculator;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.entity.projectile.ProjectileEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Records every hit on a player, with the inputs the combat rules saw and a per-roll
+ * seed, so the session can be re-run offline by CombatReplayer and produce the exact
+ * same parries. Recording is off by default and toggled with /combatreplay.
+ * All methods except the file write run on the server thread.
+ */
+public class CombatRecorder {
+    private static final Gson GSON = new Gson();
+
+    // Stop collecting past this many events so a forgotten recording can't eat the heap
+    private static final int MAX_EVENTS = 200_000;
+
+    private static List<DamageEvent> events;
+    private static int dropped;
+
+    // Reused for seeded rolls; only touched on the server thread
+    private static final Random seededRandom = new Random();
+
+    // State for the hit currently going through ServerPlayerEntity.damage
+    private static DamageEvent current;
+    private static float hypertensionRawAmount;
+    private static double hypertensionMultiplier = 1.0;
+
+    public static boolean isRecording() {
+        return events != null;
+    }
+
+    /**
+     * Start a new recording. Returns false if one is already running.
+     */
+    public static boolean start() {
+        if (events != null) {
+            return false;
+        }
+        events = new ArrayList<>();
+        dropped = 0;
+        return true;
+    }
+
+    /**
+     * Stop recording and write the events to a new file in the background.
+     * Returns the file path, or null if nothing was being recorded.
+     */
+    public static Path stop() {
+        if (events == null) {
+            return null;
+        }
+        List<DamageEvent> recorded = events;
+        events = null;
+        current = null;
+        if (dropped > 0) {
+            Aerb.LOGGER.warn("Combat recording hit its limit; dropped " + dropped + " events");
+        }
+
+        Path file = getReplayDirectory().resolve("combat-" + System.currentTimeMillis() + ".jsonl");
+        Thread writer = new Thread(() -> write(file, recorded), "Aerb Combat Recorder");
+        writer.setDaemon(true);
+        writer.start();
+        return file;
+    }
+
+    public static Path getReplayDirectory() {
+        return FabricLoader.getInstance().getGameDir().resolve("aerb_replays");
+    }
+
+    private static void write(Path file, List<DamageEvent> recorded) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                for (DamageEvent event : recorded) {
+                    out.write(GSON.toJson(event));
+                    out.newLine();
+                }
+            }
+            Aerb.LOGGER.info("Wrote " + recorded.size() + " combat events to " + file);
+        } catch (IOException e) {
+            Aerb.LOGGER.error("Failed to write combat recording " + file, e);
+        }
+    }
+
+    /**
+     * Called by the Hypertension mixin before it re-enters damage() with the scaled amount,
+     * so the recorded event keeps the raw amount and the multiplier that was applied.
+     */
+    public static void noteHypertension(float rawAmount, double multiplier) {
+        hypertensionRawAmount = rawAmount;
+        hypertensionMultiplier = multiplier;
+    }
+
+    public static void clearHypertension() {
+        hypertensionMultiplier = 1.0;
+    }
+
+    /**
+     * Capture the inputs for a hit before any parry logic runs.
+     */
+    public static void beginEvent(ServerPlayerEntity player, DamageSource source, float amount) {
+        if (events.size() >= MAX_EVENTS) {
+            dropped++;
+            current = null;
+            return;
+        }
+
+        DamageEvent event = new DamageEvent();
+        event.damageType = CombatRules.getDamageTypeId(source);
+        event.projectile = source.getSource() instanceof ProjectileEntity;
+
+        Entity origin = ParryHandler.getAttackOrigin(source);
+        if (origin != null) {
+            event.hasOrigin = true;
+            event.offsetX = origin.getX() - player.getX();
+            event.offsetZ = origin.getZ() - player.getZ();
+        }
+        Vec3d facing = player.getRotationVec(1.0f);
+        event.facingX = facing.x;
+        event.facingZ = facing.z;
+
+        event.health = player.getHealth();
+        event.maxHealth = player.getMaxHealth();
+        event.hypertension = ParryHandler.hasVirtue(player, ModItems.HYPERTENSION);
+        if (hypertensionMultiplier != 1.0) {
+            // Inside Hypertension's re-entry into damage(): amount is already scaled
+            event.amount = hypertensionRawAmount;
+            event.hypertensionMultiplier = hypertensionMultiplier;
+        } else {
+            // Checked before Hypertension scaled the hit, if it is going to
+            event.amount = amount;
+            event.hypertensionMultiplier = CombatRules.hypertensionMultiplier(
+                event.hypertension, event.health, event.maxHealth, event.damageType);
+        }
+
+        PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
+        event.spd = StatCalculator.calculateSPD(player);
+        event.parryLevel = Math.max(0, skills.getSkillLevel(SkillRegistry.PARRY));
+        event.holdingParryable = ParryHandler.isParryableWeapon(player.getMainHandStack());
+        event.hotbarParryable = ParryHandler.hasParryableWeaponInHotbar(player);
+        event.inAttackSwing = ParryHandler.isInAttackSwing(player);
+        event.propheticBlade = ParryHandler.hasPropheticBlade(player);
+        event.prescientBlade = ParryHandler.hasPrescientBlade(player);
+
+        current = event;
+    }
+
+    /**
+     * Get the RNG for a parry roll. While recording, draws a fresh seed from the
+     * live RNG and returns a generator seeded with it, noting the seed on the
+     * current event. Otherwise returns the live RNG unchanged.
+     */
+    public static Random rollRandom(Random live) {
+        if (current == null) {
+            return live;
+        }
+        long seed = live.nextLong();
+        current.seed = seed;
+        seededRandom.setSeed(seed);
+        return seededRandom;
+    }
+
+    /**
+     * Record the outcome of the current hit.
+     */
+    public static void finishEvent(boolean parried) {
+        if (current == null) {
+            return;
+        }
+        current.parried = parried;
+        events.add(current);
+        current = null;
+    }
+}
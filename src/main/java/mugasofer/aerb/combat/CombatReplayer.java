@@ -0,0 +1,97 @@
+package mugasofer.aerb.combat;
+
+import com.google.gson.Gson;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Re-runs a combat recording through CombatRules with no world attached.
+ * Each parry roll is re-seeded from the recording, so a replay of unchanged rules
+ * reproduces every outcome exactly; any mismatch means the rules have changed.
+ * Running many iterations gives a throughput figure for the rules themselves.
+ */
+public class CombatReplayer {
+    private static final Gson GSON = new Gson();
+
+    /**
+     * Load a recording written by CombatRecorder.
+     */
+    public static List<DamageEvent> load(Path file) throws IOException {
+        List<DamageEvent> events = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    events.add(GSON.fromJson(line, DamageEvent.class));
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Replay the events the given number of times.
+     * Mismatches are counted on the first pass only.
+     */
+    public static Report replay(List<DamageEvent> events, int iterations) {
+        Random random = new Random();
+        int mismatches = 0;
+        int parries = 0;
+        long checksum = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (DamageEvent event : events) {
+                double multiplier = CombatRules.hypertensionMultiplier(
+                    event.hypertension, event.health, event.maxHealth, event.damageType);
+                boolean parried = replayParry(event, random);
+
+                if (i == 0) {
+                    if (parried != event.parried || multiplier != event.hypertensionMultiplier) {
+                        mismatches++;
+                    }
+                    if (parried) {
+                        parries++;
+                    }
+                }
+                // Keep the JIT from discarding the work
+                checksum += parried ? 1 : 0;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new Report(events.size(), iterations, parries, mismatches, elapsed, checksum);
+    }
+
+    private static boolean replayParry(DamageEvent event, Random random) {
+        boolean frontal = event.hasOrigin
+            && CombatRules.isFrontal(event.facingX, event.facingZ, event.offsetX, event.offsetZ);
+        boolean attempt = CombatRules.shouldAttemptParry(event.propheticBlade, event.holdingParryable,
+            event.hotbarParryable, event.inAttackSwing, CombatRules.isParryableDamage(event.damageType), frontal);
+        if (!attempt) {
+            return false;
+        }
+
+        random.setSeed(event.seed);
+        int modifier = CombatRules.getAttackModifier(event.projectile, event.prescientBlade);
+        return CombatRules.rollParry(random, event.spd, event.parryLevel, modifier).success();
+    }
+
+    /**
+     * Result of a replay run.
+     */
+    public record Report(int events, int iterations, int parries, int mismatches, long elapsedNanos, long checksum) {
+        public double eventsPerSecond() {
+            if (elapsedNanos == 0) {
+                return 0;
+            }
+            return (double) events * iterations * 1_000_000_000L / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package mugasofer.aerb.combat;
+
+import mugasofer.aerb.config.HypertensionConfig;
+import net.minecraft.entity.damage.DamageSource;
+
+import java.util.Random;
+
+/**
+ * Pure combat rules shared by the live damage pipeline and the offline combat replayer.
+ * Nothing here touches the world, so recorded damage events can be re-run through
+ * exactly the same logic without a server.
+ */
+public class CombatRules {
+    // Frontal attack angle (degrees from facing direction)
+    public static final double FRONTAL_ANGLE_DEGREES = 90.0;
+
+    // Dice roll modifiers
+    public static final int ARROW_MODIFIER = 25;
+
+    /**
+     * Get the damage type identifier string from a DamageSource.
+     */
+    public static String getDamageTypeId(DamageSource source) {
+        var typeKey = source.getTypeRegistryEntry().getKey();
+        if (typeKey.isPresent()) {
+            return typeKey.get().getValue().toString();
+        }
+        return "minecraft:generic";
+    }
+
+    /**
+     * Check if a damage type can be parried.
+     * Parryable: melee attacks, projectiles
+     * Not parryable: environmental, magic, etc.
+     */
+    public static boolean isParryableDamage(String damageTypeId) {
+        // Parryable damage types (melee and projectiles)
+        if (damageTypeId.contains("player_attack") ||
+            damageTypeId.contains("mob_attack") ||
+            damageTypeId.contains("arrow") ||
+            damageTypeId.contains("trident")) {
+            return true;
+        }
+
+        // Non-parryable damage types (environmental, magic, etc.)
+        if (damageTypeId.contains("fall") ||
+            damageTypeId.contains("drown") ||
+            damageTypeId.contains("fire") ||
+            damageTypeId.contains("lava") ||
+            damageTypeId.contains("magic") ||
+            damageTypeId.contains("wither") ||
+            damageTypeId.contains("starve") ||
+            damageTypeId.contains("void") ||
+            damageTypeId.contains("generic") ||
+            damageTypeId.contains("explosion") ||
+            damageTypeId.contains("cactus") ||
+            damageTypeId.contains("cramming")) {
+            return false;
+        }
+
+        // Default to parryable for unknown attack types (mobs, etc.)
+        return true;
+    }
+
+    /**
+     * Check if an attack offset is in front of the player.
+     * Returns true if the horizontal angle between the facing direction and
+     * the direction to the attacker is within FRONTAL_ANGLE_DEGREES.
+     */
+    public static boolean isFrontal(double facingX, double facingZ, double offsetX, double offsetZ) {
+        double facingLength = Math.sqrt(facingX * facingX + facingZ * facingZ);
+        double offsetLength = Math.sqrt(offsetX * offsetX + offsetZ * offsetZ);
+
+        // Matches Vec3d.normalize(), which turns near-zero vectors into zero vectors
+        double dot = 0;
+        if (facingLength >= 1.0E-5 && offsetLength >= 1.0E-5) {
+            dot = (facingX * offsetX + facingZ * offsetZ) / (facingLength * offsetLength);
+        }
+        double angle = Math.toDegrees(Math.acos(Math.max(-1, Math.min(1, dot))));
+
+        return angle <= FRONTAL_ANGLE_DEGREES;
+    }
+
+    /**
+     * Decide whether an incoming hit triggers a parry attempt.
+     * Prophetic Blade: always parrying when in hotbar, parry from any direction.
+     */
+    public static boolean shouldAttemptParry(boolean propheticBlade, boolean holdingParryable, boolean hotbarParryable,
+                                             boolean inAttackSwing, boolean parryableDamage, boolean frontal) {
+        if (propheticBlade) {
+            return hotbarParryable && parryableDamage;
+        }
+        return holdingParryable && inAttackSwing && parryableDamage && frontal;
+    }
+
+    /**
+     * Get the enemy's roll modifier.
+     * Arrows and other projectiles get +25 (or +12 with Prescient Blade).
+     */
+    public static int getAttackModifier(boolean projectile, boolean prescientBlade) {
+        if (projectile) {
+            if (prescientBlade) {
+                return ARROW_MODIFIER / 2; // Half penalty with Prescient Blade
+            }
+            return ARROW_MODIFIER;
+        }
+        // Default: no modifier
+        return 0;
+    }
+
+    /**
+     * Roll a parry: 1d100 + (SPD x Parry) vs 1d100 + modifier. Player wins ties.
+     * Draws exactly two values from the RNG, player first.
+     */
+    public static ParryRoll rollParry(Random random, int spd, int parryLevel, int enemyModifier) {
+        int playerRoll = random.nextInt(100) + 1;
+        int playerBonus = spd * parryLevel;
+        int enemyRoll = random.nextInt(100) + 1;
+        boolean success = playerRoll + playerBonus >= enemyRoll + enemyModifier;
+        return new ParryRoll(playerRoll, playerBonus, enemyRoll, enemyModifier, success);
+    }
+
+    /**
+     * Get the Hypertension damage multiplier for a hit.
+     * Only applies above 50% HP (you have the "extra blood" to lose).
+     */
+    public static double hypertensionMultiplier(boolean hasHypertension, float health, float maxHealth, String damageTypeId) {
+        if (!hasHypertension) {
+            return 1.0;
+        }
+        if (health / maxHealth <= 0.5f) {
+            return 1.0;
+        }
+        return HypertensionConfig.get().getMultiplier(damageTypeId);
+    }
+
+    /**
+     * Result of a parry dice roll.
+     */
+    public record ParryRoll(int playerRoll, int playerBonus, int enemyRoll, int enemyModifier, boolean success) {
+        public int playerTotal() {
+            return playerRoll + playerBonus;
+        }
+
+        public int enemyTotal() {
+            return enemyRoll + enemyModifier;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package mugasofer.aerb.combat;
+
+/**
+ * One recorded hit on a player: every input the parry and Hypertension rules read,
+ * plus the outcome the live server produced. Serialized one-per-line as JSON.
+ */
+public class DamageEvent {
+    // The hit
+    public String damageType;
+    public boolean projectile;
+    public boolean hasOrigin;
+    public double offsetX;
+    public double offsetZ;
+    public double facingX;
+    public double facingZ;
+    public float amount;
+    public float health;
+    public float maxHealth;
+
+    // The player
+    public int spd;
+    public int parryLevel;
+    public boolean holdingParryable;
+    public boolean hotbarParryable;
+    public boolean inAttackSwing;
+    public boolean propheticBlade;
+    public boolean prescientBlade;
+    public boolean hypertension;
+
+    // The outcome
+    public long seed;
+    public double hypertensionMultiplier = 1.0;
+    public boolean parried;
+}
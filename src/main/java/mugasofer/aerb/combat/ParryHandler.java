@@ -5,9 +5,12 @@ import mugasofer.aerb.config.XpConfig;
 import mugasofer.aerb.item.ModItems;
 import mugasofer.aerb.network.ModNetworking;
 import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SharedSkillStore;
+import mugasofer.aerb.skill.SkillRegistry;
 import mugasofer.aerb.skill.XpHelper;
 import mugasofer.aerb.stat.StatCalculator;
 import mugasofer.aerb.virtue.VirtueInventory;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.projectile.ProjectileEntity;
@@ -36,17 +39,20 @@ public class ParryHandler {
     // Minecraft sword attack cooldown is ~0.625 seconds (12.5 ticks)
     private static final long ATTACK_SWING_DURATION_MS = 500;
 
-    // Frontal attack angle (degrees from facing direction)
-    private static final double FRONTAL_ANGLE_DEGREES = 90.0;
-
-    // Dice roll modifiers
-    private static final int ARROW_MODIFIER = 25;
-
     // Track last attack time per player
     private static final Map<UUID, AttackState> attackStates = new HashMap<>();
 
     private static final Random random = new Random();
 
+    public static void init() {
+        CombatFrame.init();
+
+        // Drop per-player combat state when players leave
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            removePlayer(handler.getPlayer().getUuid());
+        });
+    }
+
     /**
      * Record a player's attack swing.
      * Called when player attacks with a sword or axe.
@@ -82,6 +88,19 @@ public class ParryHandler {
         return false;
     }
 
+    /**
+     * Check if player has any parryable weapon in their hotbar.
+     * The DPS ranking only picks which one to switch to.
+     */
+    public static boolean hasParryableWeaponInHotbar(ServerPlayerEntity player) {
+        for (int i = 0; i < 9; i++) {
+            if (isParryableWeapon(player.getInventory().getStack(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Check if player is currently in their attack swing animation.
      */
@@ -103,32 +122,29 @@ public class ParryHandler {
      * the direction to the attacker is within FRONTAL_ANGLE_DEGREES.
      */
     public static boolean isFrontalAttack(ServerPlayerEntity player, DamageSource source) {
-        Entity attacker = source.getAttacker();
+        Entity attacker = getAttackOrigin(source);
         if (attacker == null) {
-            // For projectiles, use the projectile's position
-            Entity sourceEntity = source.getSource();
-            if (sourceEntity != null) {
-                attacker = sourceEntity;
-            } else {
-                return false; // Can't determine direction
-            }
+            return false; // Can't determine direction
         }
 
-        // Get player's facing direction (horizontal only)
+        // Compare player's facing direction with direction to attacker (horizontal only)
         Vec3d playerFacing = player.getRotationVec(1.0f);
-        Vec3d horizontalFacing = new Vec3d(playerFacing.x, 0, playerFacing.z).normalize();
-
-        // Get direction from player to attacker
-        Vec3d playerPos = new Vec3d(player.getX(), player.getY(), player.getZ());
-        Vec3d attackerPos = new Vec3d(attacker.getX(), attacker.getY(), attacker.getZ());
-        Vec3d toAttacker = attackerPos.subtract(playerPos);
-        Vec3d horizontalToAttacker = new Vec3d(toAttacker.x, 0, toAttacker.z).normalize();
-
-        // Calculate angle between facing and attacker direction
-        double dot = horizontalFacing.dotProduct(horizontalToAttacker);
-        double angle = Math.toDegrees(Math.acos(Math.max(-1, Math.min(1, dot))));
+        return CombatRules.isFrontal(playerFacing.x, playerFacing.z,
+            attacker.getX() - player.getX(), attacker.getZ() - player.getZ());
+    }
 
-        return angle <= FRONTAL_ANGLE_DEGREES;
+    /**
+     * Get the entity an attack comes from, for direction checks.
+     * For projectiles with no attacker, uses the projectile itself.
+     * Returns null if the direction can't be determined.
+     */
+    public static Entity getAttackOrigin(DamageSource source) {
+        Entity attacker = source.getAttacker();
+        if (attacker == null) {
+            // For projectiles, use the projectile's position
+            attacker = source.getSource();
+        }
+        return attacker;
     }
 
     /**
@@ -139,37 +155,29 @@ public class ParryHandler {
     public static ParryResult attemptParry(ServerPlayerEntity player, DamageSource source, float damage) {
         // Get player's stats and skills
         PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
-        int parryLevel = Math.max(0, skills.getSkillLevel(PlayerSkills.PARRY));
+        int parryLevel = Math.max(0, skills.getSkillLevel(SkillRegistry.PARRY));
         int spd = StatCalculator.calculateSPD(player);
 
         // Unlock parry skill on first attempt
         boolean skillUnlocked = false;
-        if (!skills.isUnlocked(PlayerSkills.PARRY)) {
-            skills.setSkillLevel(PlayerSkills.PARRY, 0);
+        if (!skills.isUnlocked(SkillRegistry.PARRY)) {
+            skills.setSkillLevel(SkillRegistry.PARRY, 0);
             player.sendMessage(Text.literal("Skill unlocked: Parry!"), false);
-            ModNetworking.syncSkillsToClient(player);
+            ModNetworking.markDirty(player, ModNetworking.SECTION_SKILLS);
+            SharedSkillStore.markDirty(player);
             skillUnlocked = true;
             parryLevel = 0;
         }
 
         // Calculate dice rolls
-        // Player: 1d100 + (SPD x Parry)
-        int playerRoll = random.nextInt(100) + 1;
-        int playerBonus = spd * parryLevel;
-        int playerTotal = playerRoll + playerBonus;
-
-        // Enemy: 1d100 + modifier
-        int enemyRoll = random.nextInt(100) + 1;
-        int enemyModifier = getAttackModifier(player, source);
-        int enemyTotal = enemyRoll + enemyModifier;
+        // Player: 1d100 + (SPD x Parry) vs Enemy: 1d100 + modifier (player wins ties)
+        // While recording, each roll gets its own seed so the replayer can reproduce it
+        CombatRules.ParryRoll roll = CombatRules.rollParry(
+            CombatRecorder.rollRandom(random), spd, parryLevel, getAttackModifier(player, source));
+        boolean success = roll.success();
 
-        // Determine success (player wins ties)
-        boolean success = playerTotal >= enemyTotal;
-
-        Aerb.LOGGER.info("Parry attempt: Player rolled {} + {} (SPD {} x Parry {}) = {} vs Enemy {} + {} = {} -> {}",
-            playerRoll, playerBonus, spd, parryLevel, playerTotal,
-            enemyRoll, enemyModifier, enemyTotal,
-            success ? "SUCCESS" : "FAIL");
+        CombatJournal.parryRoll(player, roll.playerRoll(), roll.playerBonus(), spd, parryLevel,
+            roll.enemyRoll(), roll.enemyModifier(), success, damage);
 
         if (success) {
             onParrySuccess(player, damage, source);
@@ -177,7 +185,7 @@ public class ParryHandler {
             onParryFail(player);
         }
 
-        return new ParryResult(success, skillUnlocked, playerTotal, enemyTotal);
+        return new ParryResult(success, skillUnlocked, roll.playerTotal(), roll.enemyTotal());
     }
 
     /**
@@ -185,21 +193,22 @@ public class ParryHandler {
      * Prescient Blade virtue halves projectile modifier.
      */
     private static int getAttackModifier(ServerPlayerEntity player, DamageSource source) {
-        // Arrows and other projectiles get +25 (or +12 with Prescient Blade)
-        if (source.getSource() instanceof ProjectileEntity) {
-            if (hasVirtue(player, ModItems.PRESCIENT_BLADE)) {
-                return ARROW_MODIFIER / 2; // Half penalty with Prescient Blade
-            }
-            return ARROW_MODIFIER;
-        }
-        // Default: no modifier
-        return 0;
+        // Only look up Prescient Blade when it matters
+        boolean projectile = source.getSource() instanceof ProjectileEntity;
+        return CombatRules.getAttackModifier(projectile, projectile && hasPrescientBlade(player));
+    }
+
+    /**
+     * Check if player has Prescient Blade in their virtue inventory (halves projectile modifier).
+     */
+    public static boolean hasPrescientBlade(ServerPlayerEntity player) {
+        return hasVirtue(player, ModItems.PRESCIENT_BLADE);
     }
 
     /**
      * Check if a player has a specific virtue in their virtue inventory.
      */
-    private static boolean hasVirtue(ServerPlayerEntity player, net.minecraft.item.Item virtue) {
+    public static boolean hasVirtue(ServerPlayerEntity player, net.minecraft.item.Item virtue) {
         VirtueInventory virtueInv = player.getAttachedOrCreate(VirtueInventory.ATTACHMENT);
         for (int i = 0; i < virtueInv.size(); i++) {
             if (virtueInv.getStack(i).isOf(virtue)) {
@@ -246,27 +255,17 @@ public class ParryHandler {
     /**
      * Find the best weapon slot in the player's hotbar.
      * Returns -1 if no parryable weapon found.
+     * Cached per player and only recomputed when the hotbar changes.
      */
     public static int findBestWeaponSlot(ServerPlayerEntity player) {
-        int bestSlot = -1;
-        double bestDamage = 0;
-
-        for (int i = 0; i < 9; i++) {
-            ItemStack stack = player.getInventory().getStack(i);
-            if (isParryableWeapon(stack)) {
-                double damage = getWeaponDamage(stack);
-                if (damage > bestDamage) {
-                    bestDamage = damage;
-                    bestSlot = i;
-                }
-            }
-        }
-        return bestSlot;
+        return WeaponDpsCache.getBestWeaponSlot(player);
     }
 
     /**
      * Switch player to best weapon, swing it, and update server state.
      * Called BEFORE parry attempt when Prophetic Blade is active.
+     * Hits landing in the same tick share one switch-and-swing, so at most one
+     * slot packet and one swing animation are sent per tick.
      * Returns true if a weapon was found and switched to.
      */
     public static boolean switchToBestWeaponAndSwing(ServerPlayerEntity player) {
@@ -275,7 +274,14 @@ public class ParryHandler {
             return false;
         }
 
+        CombatFrame frame = CombatFrame.forPlayer(player);
         int currentSlot = player.getInventory().getSelectedSlot();
+        if (frame.hasSwung() && bestSlot == currentSlot) {
+            // Already switched and swung for an earlier hit this tick
+            return true;
+        }
+        frame.markSwung();
+
         if (bestSlot != currentSlot) {
             // Update server-side slot immediately so durability damage applies to correct weapon
             player.getInventory().setSelectedSlot(bestSlot);
@@ -290,35 +296,6 @@ public class ParryHandler {
         return true;
     }
 
-    /**
-     * Get the DPS (damage per second) of a weapon.
-     * This accounts for both damage and attack speed.
-     */
-    private static double getWeaponDamage(ItemStack stack) {
-        // Get attribute modifiers from component
-        var modifiers = stack.getOrDefault(
-            net.minecraft.component.DataComponentTypes.ATTRIBUTE_MODIFIERS,
-            net.minecraft.component.type.AttributeModifiersComponent.DEFAULT
-        );
-
-        double damage = 1.0;
-        double attackSpeedModifier = 0.0;
-
-        for (var entry : modifiers.modifiers()) {
-            String translationKey = entry.attribute().value().getTranslationKey();
-            if (translationKey.contains("attack_damage")) {
-                damage = entry.modifier().value();
-            } else if (translationKey.contains("attack_speed")) {
-                attackSpeedModifier = entry.modifier().value();
-            }
-        }
-
-        // Base attack speed is 4.0, weapons apply negative modifiers
-        // DPS = damage * attacks_per_second
-        double attackSpeed = 4.0 + attackSpeedModifier;
-        return damage * attackSpeed;
-    }
-
     // Minimum damage threshold for weapon durability loss (like shields)
     private static final int PARRY_DAMAGE_THRESHOLD = 3;
 
@@ -328,16 +305,20 @@ public class ParryHandler {
      * If Riposter is active with a one-handed weapon, performs an immediate counterattack.
      */
     private static void onParrySuccess(ServerPlayerEntity player, float attackDamage, DamageSource source) {
-        // Play parry success sound (random metallic blade clash)
-        net.minecraft.sound.SoundEvent[] parrySounds = {
-            SoundEvents.ENTITY_ZOMBIE_ATTACK_IRON_DOOR,
-            SoundEvents.ENTITY_IRON_GOLEM_STEP,
-            SoundEvents.BLOCK_ANVIL_LAND
-        };
-        net.minecraft.sound.SoundEvent parrySound = parrySounds[random.nextInt(parrySounds.length)];
-        float pitch = 1.1f + random.nextFloat() * 0.4f; // 1.1 to 1.5
-        player.getEntityWorld().playSound(null, player.getX(), player.getY(), player.getZ(),
-            parrySound, SoundCategory.PLAYERS, 0.6f, pitch);
+        CombatFrame frame = CombatFrame.forPlayer(player);
+
+        // Play parry success sound (random metallic blade clash), once per tick
+        if (frame.tryClaimSound()) {
+            net.minecraft.sound.SoundEvent[] parrySounds = {
+                SoundEvents.ENTITY_ZOMBIE_ATTACK_IRON_DOOR,
+                SoundEvents.ENTITY_IRON_GOLEM_STEP,
+                SoundEvents.BLOCK_ANVIL_LAND
+            };
+            net.minecraft.sound.SoundEvent parrySound = parrySounds[random.nextInt(parrySounds.length)];
+            float pitch = 1.1f + random.nextFloat() * 0.4f; // 1.1 to 1.5
+            player.getEntityWorld().playSound(null, player.getX(), player.getY(), player.getZ(),
+                parrySound, SoundCategory.PLAYERS, 0.6f, pitch);
+        }
 
         // Damage the weapon (durability = attack damage, with threshold of 3)
         ItemStack weapon = player.getMainHandStack();
@@ -359,20 +340,15 @@ public class ParryHandler {
                 player.attack(attacker);
                 player.swingHand(net.minecraft.util.Hand.MAIN_HAND, true);
                 riposted = true;
-                Aerb.LOGGER.info("Riposter: {} counterattacked {}",
-                    player.getName().getString(), attacker.getName().getString());
+                CombatJournal.riposte(player, attacker);
             }
         }
 
         // Award Parry XP
-        XpHelper.awardXp(player, PlayerSkills.PARRY, XpConfig.get().xpPerParry);
+        XpHelper.queueXp(player, SkillRegistry.PARRY, XpConfig.get().xpPerParry);
 
-        // Send success message
-        if (riposted) {
-            player.sendMessage(Text.literal("Parried and riposted!"), true);
-        } else {
-            player.sendMessage(Text.literal("Parried!"), true);
-        }
+        // Queue success message (aggregated and sent at end of tick)
+        frame.recordParry(riposted);
     }
 
     /**
@@ -381,7 +357,7 @@ public class ParryHandler {
      */
     private static void onParryFail(ServerPlayerEntity player) {
         // Award Parry XP even on failure
-        XpHelper.awardXp(player, PlayerSkills.PARRY, XpConfig.get().xpPerParry);
+        XpHelper.queueXp(player, SkillRegistry.PARRY, XpConfig.get().xpPerParry);
 
         Aerb.LOGGER.debug("Parry failed for {}", player.getName().getString());
     }
@@ -391,6 +367,8 @@ public class ParryHandler {
      */
     public static void removePlayer(UUID playerId) {
         attackStates.remove(playerId);
+        WeaponDpsCache.removePlayer(playerId);
+        CombatFrame.removePlayer(playerId);
     }
 
     /**
@@ -0,0 +1,153 @@
+package mugasofer.aerb.combat;
+
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.AttributeModifiersComponent;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Caches weapon DPS and each player's best hotbar weapon for Prophetic Blade.
+ * Prophetic Blade looks up the best weapon on every incoming hit, so arrow volleys
+ * would otherwise re-read every weapon's attribute modifiers many times per second.
+ *
+ * DPS is cached per item + attribute modifier component instance. Unmodified stacks
+ * share their item's default component, so the cache stays small.
+ * The best slot is only recomputed when the hotbar contents change.
+ */
+public class WeaponDpsCache {
+    private static final int HOTBAR_SIZE = 9;
+
+    // Upper bound on cached DPS entries (custom weapons each get their own component instance)
+    private static final int MAX_CACHED_WEAPONS = 256;
+
+    private static final Map<WeaponKey, Double> dpsCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<WeaponKey, Double> eldest) {
+            return size() > MAX_CACHED_WEAPONS;
+        }
+    };
+
+    // Best weapon slot per player, along with the hotbar it was computed from
+    private static final Map<UUID, HotbarRanking> rankings = new HashMap<>();
+
+    /**
+     * Get the best parryable weapon slot in the player's hotbar.
+     * Returns -1 if no parryable weapon found.
+     */
+    public static int getBestWeaponSlot(ServerPlayerEntity player) {
+        PlayerInventory inventory = player.getInventory();
+        HotbarRanking ranking = rankings.computeIfAbsent(player.getUuid(), id -> new HotbarRanking());
+        if (!ranking.matches(inventory)) {
+            ranking.recompute(inventory);
+        }
+        return ranking.bestSlot;
+    }
+
+    /**
+     * Get the DPS (damage per second) of a weapon.
+     * This accounts for both damage and attack speed.
+     */
+    public static double getWeaponDps(ItemStack stack) {
+        AttributeModifiersComponent modifiers = stack.getOrDefault(
+            DataComponentTypes.ATTRIBUTE_MODIFIERS,
+            AttributeModifiersComponent.DEFAULT
+        );
+
+        WeaponKey key = new WeaponKey(stack.getItem(), modifiers);
+        Double dps = dpsCache.get(key);
+        if (dps == null) {
+            dps = computeWeaponDps(modifiers);
+            dpsCache.put(key, dps);
+        }
+        return dps;
+    }
+
+    private static double computeWeaponDps(AttributeModifiersComponent modifiers) {
+        double damage = 1.0;
+        double attackSpeedModifier = 0.0;
+
+        for (var entry : modifiers.modifiers()) {
+            String translationKey = entry.attribute().value().getTranslationKey();
+            if (translationKey.contains("attack_damage")) {
+                damage = entry.modifier().value();
+            } else if (translationKey.contains("attack_speed")) {
+                attackSpeedModifier = entry.modifier().value();
+            }
+        }
+
+        // Base attack speed is 4.0, weapons apply negative modifiers
+        // DPS = damage * attacks_per_second
+        double attackSpeed = 4.0 + attackSpeedModifier;
+        return damage * attackSpeed;
+    }
+
+    /**
+     * Clean up state for a player (called on disconnect).
+     */
+    public static void removePlayer(UUID playerId) {
+        rankings.remove(playerId);
+    }
+
+    /**
+     * Cache key that compares the modifier component by identity rather than by value,
+     * so lookups never walk the modifier list.
+     */
+    private record WeaponKey(Item item, AttributeModifiersComponent modifiers) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WeaponKey other && item == other.item && modifiers == other.modifiers;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(item) + System.identityHashCode(modifiers);
+        }
+    }
+
+    /**
+     * A player's best hotbar slot and the hotbar stacks it was computed from.
+     * Slots are compared by stack identity; emptiness is tracked too because
+     * a weapon that breaks is decremented in place rather than replaced.
+     */
+    private static class HotbarRanking {
+        final ItemStack[] stacks = new ItemStack[HOTBAR_SIZE];
+        final boolean[] empty = new boolean[HOTBAR_SIZE];
+        int bestSlot = -1;
+
+        boolean matches(PlayerInventory inventory) {
+            for (int i = 0; i < HOTBAR_SIZE; i++) {
+                ItemStack stack = inventory.getStack(i);
+                if (stack != stacks[i] || stack.isEmpty() != empty[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void recompute(PlayerInventory inventory) {
+            bestSlot = -1;
+            double bestDamage = 0;
+
+            for (int i = 0; i < HOTBAR_SIZE; i++) {
+                ItemStack stack = inventory.getStack(i);
+                stacks[i] = stack;
+                empty[i] = stack.isEmpty();
+
+                if (ParryHandler.isParryableWeapon(stack)) {
+                    double damage = getWeaponDps(stack);
+                    if (damage > bestDamage) {
+                        bestDamage = damage;
+                        bestSlot = i;
+                    }
+                }
+            }
+        }
+    }
+}
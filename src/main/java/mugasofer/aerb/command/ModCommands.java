@@ -2,32 +2,58 @@ package mugasofer.aerb.command;
 
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import mugasofer.aerb.Aerb;
+import mugasofer.aerb.combat.CombatRecorder;
+import mugasofer.aerb.combat.CombatReplayer;
+import mugasofer.aerb.data.PlayerDataMigrator;
+import mugasofer.aerb.data.PlayerDataTool;
 import mugasofer.aerb.entity.LesserUmbralUndeadEntity;
 import mugasofer.aerb.entity.ModEntities;
 import mugasofer.aerb.entity.UndeadEntity;
 import mugasofer.aerb.item.ModItems;
 import mugasofer.aerb.item.VirtueItem;
+import mugasofer.aerb.leaderboard.SkillLeaderboards;
 import mugasofer.aerb.network.ModNetworking;
+import mugasofer.aerb.network.NetworkMetrics;
+import mugasofer.aerb.config.XpConfig;
 import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SharedSkillStore;
+import mugasofer.aerb.skill.SkillRegistry;
+import mugasofer.aerb.skill.UnlockRules;
+import mugasofer.aerb.skill.XpCurve;
+import mugasofer.aerb.skill.XpHelper;
 import mugasofer.aerb.spell.SpellInventory;
+import mugasofer.aerb.tattoo.FallRuneHandler;
 import mugasofer.aerb.tattoo.PlayerTattoos;
 import mugasofer.aerb.tattoo.TattooInstance;
 import mugasofer.aerb.virtue.VirtueInventory;
 import net.minecraft.entity.SpawnReason;
 import net.minecraft.server.world.ServerWorld;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.command.argument.EntityArgumentType;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.command.permission.Permission;
 import net.minecraft.command.permission.PermissionLevel;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
+import net.minecraft.util.WorldSavePath;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 public class ModCommands {
     // Map of spell names to items for commands
@@ -39,6 +65,19 @@ public class ModCommands {
         PlayerTattoos.FALL_RUNE,
         PlayerTattoos.ICY_DEVIL
     );
+    // Suggestions for skill name arguments
+    private static final SuggestionProvider<ServerCommandSource> SKILL_SUGGESTIONS = (context, builder) -> {
+        builder.suggest(PlayerSkills.BLOOD_MAGIC);
+        builder.suggest(PlayerSkills.BONE_MAGIC);
+        builder.suggest(PlayerSkills.ONE_HANDED);
+        builder.suggest(PlayerSkills.PARRY);
+        builder.suggest(PlayerSkills.HORTICULTURE);
+        builder.suggest(PlayerSkills.ART);
+        builder.suggest(PlayerSkills.SKIN_MAGIC);
+        return builder.buildFuture();
+    };
+    // Only one bulk player-data job at a time; each one reads every player file
+    private static final AtomicBoolean playerDataJobRunning = new AtomicBoolean();
 
     static {
         SPELLS.put("aardes_touch", ModItems.AARDES_TOUCH);
@@ -63,16 +102,7 @@ public class ModCommands {
                 .requires(source -> source.getPermissions().hasPermission(new Permission.Level(PermissionLevel.GAMEMASTERS)))
                 // Self version: /setskill <skill> <level>
                 .then(CommandManager.argument("skill", StringArgumentType.word())
-                    .suggests((context, builder) -> {
-                        builder.suggest(PlayerSkills.BLOOD_MAGIC);
-                        builder.suggest(PlayerSkills.BONE_MAGIC);
-                        builder.suggest(PlayerSkills.ONE_HANDED);
-                        builder.suggest(PlayerSkills.PARRY);
-                        builder.suggest(PlayerSkills.HORTICULTURE);
-                        builder.suggest(PlayerSkills.ART);
-                        builder.suggest(PlayerSkills.SKIN_MAGIC);
-                        return builder.buildFuture();
-                    })
+                    .suggests(SKILL_SUGGESTIONS)
                     .then(CommandManager.argument("level", IntegerArgumentType.integer(-1, 300))
                         .executes(context -> {
                             ServerCommandSource source = context.getSource();
@@ -86,16 +116,7 @@ public class ModCommands {
                 // Target version: /setskill <player> <skill> <level>
                 .then(CommandManager.argument("player", EntityArgumentType.player())
                     .then(CommandManager.argument("skill2", StringArgumentType.word())
-                        .suggests((context, builder) -> {
-                            builder.suggest(PlayerSkills.BLOOD_MAGIC);
-                            builder.suggest(PlayerSkills.BONE_MAGIC);
-                            builder.suggest(PlayerSkills.ONE_HANDED);
-                            builder.suggest(PlayerSkills.PARRY);
-                            builder.suggest(PlayerSkills.HORTICULTURE);
-                            builder.suggest(PlayerSkills.ART);
-                            builder.suggest(PlayerSkills.SKIN_MAGIC);
-                            return builder.buildFuture();
-                        })
+                        .suggests(SKILL_SUGGESTIONS)
                         .then(CommandManager.argument("level2", IntegerArgumentType.integer(-1, 300))
                             .executes(context -> {
                                 ServerCommandSource source = context.getSource();
@@ -113,16 +134,7 @@ public class ModCommands {
             dispatcher.register(CommandManager.literal("getskill")
                 .requires(source -> source.getPermissions().hasPermission(new Permission.Level(PermissionLevel.GAMEMASTERS)))
                 .then(CommandManager.argument("skill", StringArgumentType.word())
-                    .suggests((context, builder) -> {
-                        builder.suggest(PlayerSkills.BLOOD_MAGIC);
-                        builder.suggest(PlayerSkills.BONE_MAGIC);
-                        builder.suggest(PlayerSkills.ONE_HANDED);
-                        builder.suggest(PlayerSkills.PARRY);
-                        builder.suggest(PlayerSkills.HORTICULTURE);
-                        builder.suggest(PlayerSkills.ART);
-                        builder.suggest(PlayerSkills.SKIN_MAGIC);
-                        return builder.buildFuture();
-                    })
+                    .suggests(SKILL_SUGGESTIONS)
                     .executes(context -> {
                         ServerCommandSource source = context.getSource();
                         ServerPlayerEntity player = source.getPlayerOrThrow();
@@ -131,7 +143,15 @@ public class ModCommands {
                         PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
                         int level = skills.getSkillLevel(skill);
 
-                        source.sendFeedback(() -> Text.literal(skill + " is at level " + level), false);
+                        if (level < 0) {
+                            source.sendFeedback(() -> Text.literal(skill + " is locked"), false);
+                            return level;
+                        }
+                        XpCurve curve = XpConfig.get().getCurve();
+                        int xp = skills.getSkillXp(skill);
+                        long totalXp = curve.getTotalXpForLevel(level) + xp;
+                        source.sendFeedback(() -> Text.literal(skill + " is at level " + level
+                            + " (" + xp + "/" + curve.getXpForNextLevel(level) + " XP, " + totalXp + " total)"), false);
                         return level;
                     })
                 )
@@ -294,6 +314,92 @@ public class ModCommands {
                 )
             );
 
+            // /leaderboard <skill> [count] - show the top players for a skill and your rank
+            dispatcher.register(CommandManager.literal("leaderboard")
+                .then(CommandManager.argument("skill", StringArgumentType.word())
+                    .suggests(SKILL_SUGGESTIONS)
+                    .executes(context -> showLeaderboard(context.getSource(),
+                        StringArgumentType.getString(context, "skill"), 10))
+                    .then(CommandManager.argument("count", IntegerArgumentType.integer(1, 100))
+                        .executes(context -> showLeaderboard(context.getSource(),
+                            StringArgumentType.getString(context, "skill"),
+                            IntegerArgumentType.getInteger(context, "count")))
+                    )
+                )
+            );
+
+            // /combatreplay record|stop - record hits on players for offline replay
+            // /combatreplay run <file> [iterations] - replay a recording against the current combat rules
+            dispatcher.register(CommandManager.literal("combatreplay")
+                .requires(source -> source.getPermissions().hasPermission(new Permission.Level(PermissionLevel.GAMEMASTERS)))
+                .then(CommandManager.literal("record")
+                    .executes(context -> startCombatRecording(context.getSource()))
+                )
+                .then(CommandManager.literal("stop")
+                    .executes(context -> stopCombatRecording(context.getSource()))
+                )
+                .then(CommandManager.literal("run")
+                    .then(CommandManager.argument("file", StringArgumentType.string())
+                        .executes(context -> runCombatReplay(context.getSource(),
+                            StringArgumentType.getString(context, "file"), 1))
+                        .then(CommandManager.argument("iterations", IntegerArgumentType.integer(1, 10000))
+                            .executes(context -> runCombatReplay(context.getSource(),
+                                StringArgumentType.getString(context, "file"),
+                                IntegerArgumentType.getInteger(context, "iterations")))
+                        )
+                    )
+                )
+            );
+
+            // /aerbdata stats [skill minLevel] - aggregate AERB data across all saved players
+            // /aerbdata export - write every player's AERB data to a JSONL file
+            // /aerbdata migrate - rewrite offline players' AERB data in the current format
+            dispatcher.register(CommandManager.literal("aerbdata")
+                .requires(source -> source.getPermissions().hasPermission(new Permission.Level(PermissionLevel.GAMEMASTERS)))
+                .then(CommandManager.literal("stats")
+                    .executes(context -> runPlayerDataStats(context.getSource(), null, 0))
+                    .then(CommandManager.argument("skill", StringArgumentType.word())
+                        .suggests(SKILL_SUGGESTIONS)
+                        .then(CommandManager.argument("minLevel", IntegerArgumentType.integer(0))
+                            .executes(context -> runPlayerDataStats(context.getSource(),
+                                StringArgumentType.getString(context, "skill"),
+                                IntegerArgumentType.getInteger(context, "minLevel")))
+                        )
+                    )
+                )
+                .then(CommandManager.literal("export")
+                    .executes(context -> runPlayerDataExport(context.getSource()))
+                )
+                .then(CommandManager.literal("migrate")
+                    .requires(source -> source.getPermissions().hasPermission(new Permission.Level(PermissionLevel.ADMINS)))
+                    .executes(context -> runPlayerDataMigration(context.getSource()))
+                )
+            );
+
+            // /aerbnet stats - AERB payload traffic by type
+            // /aerbnet top - players sending the most AERB packets
+            // /aerbnet reset - clear the traffic counters
+            dispatcher.register(CommandManager.literal("aerbnet")
+                .requires(source -> source.getPermissions().hasPermission(new Permission.Level(PermissionLevel.GAMEMASTERS)))
+                .then(CommandManager.literal("stats")
+                    .executes(context -> showNetworkStats(context.getSource()))
+                )
+                .then(CommandManager.literal("top")
+                    .executes(context -> showTopSenders(context.getSource(), 5))
+                    .then(CommandManager.argument("count", IntegerArgumentType.integer(1, 50))
+                        .executes(context -> showTopSenders(context.getSource(),
+                            IntegerArgumentType.getInteger(context, "count")))
+                    )
+                )
+                .then(CommandManager.literal("reset")
+                    .executes(context -> {
+                        NetworkMetrics.reset();
+                        context.getSource().sendFeedback(() -> Text.literal("Network counters reset"), true);
+                        return 1;
+                    })
+                )
+            );
+
             // /givetattoo <tattoo> [gridX gridY] - give yourself a tattoo
             // /givetattoo <player> <tattoo> [gridX gridY] - give a player a tattoo
             dispatcher.register(CommandManager.literal("givetattoo")
@@ -404,6 +510,194 @@ public class ModCommands {
         });
     }
 
+    private static int showLeaderboard(ServerCommandSource source, String skill, int count) {
+        SkillLeaderboards leaderboards = SkillLeaderboards.get();
+        if (leaderboards == null) {
+            source.sendError(Text.literal("Leaderboards are not available"));
+            return 0;
+        }
+
+        String skillName = XpHelper.formatSkillName(skill);
+        int total = leaderboards.getPlayerCount(skill);
+        if (total == 0) {
+            source.sendFeedback(() -> Text.literal("Nobody has " + skillName + " yet"), false);
+            return 0;
+        }
+
+        source.sendFeedback(() -> Text.literal(skillName + " leaderboard (" + total + " players"
+            + (leaderboards.isBuilt() ? "" : ", still indexing") + "):"), false);
+        for (SkillLeaderboards.Ranking ranking : leaderboards.getTop(skill, count)) {
+            source.sendFeedback(() -> Text.literal("#" + ranking.rank() + " " + displayName(source, ranking)
+                + " - lvl " + ranking.level() + " (" + ranking.xp() + " XP)"), false);
+        }
+
+        ServerPlayerEntity player = source.getPlayer();
+        if (player != null) {
+            SkillLeaderboards.Ranking own = leaderboards.getRank(skill, player.getUuid());
+            if (own != null && own.rank() > count) {
+                source.sendFeedback(() -> Text.literal("You: #" + own.rank() + " - lvl " + own.level()
+                    + " (" + own.xp() + " XP)"), false);
+            }
+        }
+        return total;
+    }
+
+    private static String displayName(ServerCommandSource source, SkillLeaderboards.Ranking ranking) {
+        if (!ranking.name().isEmpty()) {
+            return ranking.name();
+        }
+        ServerPlayerEntity online = source.getServer().getPlayerManager().getPlayer(ranking.id());
+        return online != null ? online.getName().getString() : ranking.id().toString();
+    }
+
+    private static int startCombatRecording(ServerCommandSource source) {
+        if (!CombatRecorder.start()) {
+            source.sendError(Text.literal("Already recording combat"));
+            return 0;
+        }
+        source.sendFeedback(() -> Text.literal("Recording combat"), true);
+        return 1;
+    }
+
+    private static int stopCombatRecording(ServerCommandSource source) {
+        Path file = CombatRecorder.stop();
+        if (file == null) {
+            source.sendError(Text.literal("Not recording combat"));
+            return 0;
+        }
+        source.sendFeedback(() -> Text.literal("Saving combat recording to " + file.getFileName()), true);
+        return 1;
+    }
+
+    /**
+     * Replay a combat recording off the server thread and report the result.
+     * Relative file names are resolved against the replay directory.
+     */
+    private static int runCombatReplay(ServerCommandSource source, String fileName, int iterations) {
+        Path directory = CombatRecorder.getReplayDirectory();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            source.sendError(Text.literal("No such recording: " + fileName));
+            return 0;
+        }
+
+        source.sendFeedback(() -> Text.literal("Replaying " + fileName + "..."), false);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return CombatReplayer.replay(CombatReplayer.load(file), iterations);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenCompleteAsync((report, error) -> {
+            if (error != null) {
+                Aerb.LOGGER.error("Combat replay of " + file + " failed", error);
+                source.sendError(Text.literal("Replay failed: " + error.getMessage()));
+                return;
+            }
+            source.sendFeedback(() -> Text.literal(String.format(
+                "Replayed %d events x%d: %d parried, %d mismatches, %.0f events/sec",
+                report.events(), report.iterations(), report.parries(), report.mismatches(),
+                report.eventsPerSecond())), false);
+        }, source.getServer());
+        return 1;
+    }
+
+    /**
+     * Start a player-data job unless one is already running.
+     * Jobs read every player file, so they run on their own pool and report back on the server thread.
+     */
+    private static <T> int runPlayerDataJob(ServerCommandSource source, String description,
+                                            PlayerDataJob<T> job, Consumer<T> report) {
+        if (!playerDataJobRunning.compareAndSet(false, true)) {
+            source.sendError(Text.literal("A player data job is already running"));
+            return 0;
+        }
+
+        source.sendFeedback(() -> Text.literal(description + "..."), false);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return job.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenCompleteAsync((result, error) -> {
+            playerDataJobRunning.set(false);
+            if (error != null) {
+                Aerb.LOGGER.error("Player data job failed", error);
+                source.sendError(Text.literal("Failed: " + error.getMessage()));
+                return;
+            }
+            report.accept(result);
+        }, source.getServer());
+        return 1;
+    }
+
+    private interface PlayerDataJob<T> {
+        T run() throws IOException;
+    }
+
+    private static int runPlayerDataStats(ServerCommandSource source, String skill, int minLevel) {
+        Path playerData = source.getServer().getSavePath(WorldSavePath.PLAYERDATA);
+        return runPlayerDataJob(source, "Scanning player data",
+            () -> PlayerDataTool.stats(playerData, PlayerDataTool.defaultThreads(), skill, minLevel),
+            stats -> stats.describe().forEach(line -> source.sendFeedback(() -> Text.literal(line), false)));
+    }
+
+    private static int runPlayerDataExport(ServerCommandSource source) {
+        Path playerData = source.getServer().getSavePath(WorldSavePath.PLAYERDATA);
+        Path output = FabricLoader.getInstance().getGameDir().resolve("aerb_exports")
+            .resolve("players-" + System.currentTimeMillis() + ".jsonl");
+        return runPlayerDataJob(source, "Exporting player data",
+            () -> PlayerDataTool.export(playerData, output, PlayerDataTool.defaultThreads()),
+            result -> source.sendFeedback(() -> Text.literal(String.format("Exported %d players (%d unreadable) to %s",
+                result.files() - result.failed(), result.failed(), output.getFileName())), false));
+    }
+
+    private static int runPlayerDataMigration(ServerCommandSource source) {
+        MinecraftServer server = source.getServer();
+        Path playerData = server.getSavePath(WorldSavePath.PLAYERDATA);
+        return runPlayerDataJob(source, "Migrating player data",
+            () -> PlayerDataMigrator.migrate(server, playerData, PlayerDataTool.defaultThreads()),
+            result -> source.sendFeedback(() -> Text.literal(String.format(
+                "Migrated %d of %d player files in %.1fs (%d skipped, %d failed)",
+                result.rewritten(), result.files(), result.elapsedNanos() / 1.0e9,
+                result.skipped(), result.failed())), true));
+    }
+
+    private static int showNetworkStats(ServerCommandSource source) {
+        NetworkMetrics.Snapshot snapshot = NetworkMetrics.snapshot(0);
+        source.sendFeedback(() -> Text.literal("AERB payloads (sent / received):"), false);
+        for (NetworkMetrics.PayloadTotals totals : snapshot.payloads()) {
+            source.sendFeedback(() -> Text.literal(String.format("%s: %d msgs, %s / %d msgs, %s",
+                totals.payload(), totals.sentMessages(), formatBytes(totals.sentBytes()),
+                totals.receivedMessages(), formatBytes(totals.receivedBytes()))), false);
+        }
+        return snapshot.payloads().size();
+    }
+
+    private static int showTopSenders(ServerCommandSource source, int count) {
+        NetworkMetrics.Snapshot snapshot = NetworkMetrics.snapshot(count);
+        for (NetworkMetrics.Window window : NetworkMetrics.Window.values()) {
+            List<NetworkMetrics.TopSender> senders = snapshot.topSenders().get(window);
+            source.sendFeedback(() -> Text.literal("Top senders, last " + window.seconds + "s:"
+                + (senders.isEmpty() ? " none" : "")), false);
+            for (NetworkMetrics.TopSender sender : senders) {
+                source.sendFeedback(() -> Text.literal("  " + sender.name() + " - " + sender.messages() + " msgs"), false);
+            }
+        }
+        return 1;
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KiB", bytes / 1024.0);
+        }
+        return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+    }
+
     /**
      * Spawn a horde of Undead entities in a tight cluster for testing formation.
      */
@@ -465,64 +759,48 @@ public class ModCommands {
     }
 
     private static int setSkill(ServerCommandSource source, ServerPlayerEntity target, String skill, int level) {
+        if (SkillRegistry.ordinal(skill) < 0) {
+            source.sendError(Text.literal("Unknown skill: " + skill));
+            return 0;
+        }
         PlayerSkills skills = target.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
         skills.setSkillLevel(skill, level);
         skills.setSkillXp(skill, 0); // Reset XP when level is set via command
-        ModNetworking.syncSkillsToClient(target);
+        ModNetworking.markDirty(target, ModNetworking.SECTION_SKILLS);
+        SharedSkillStore.markDirty(target);
+        SkillLeaderboards.update(target, skill);
 
-        // Check for spell and virtue unlocks
-        checkSpellUnlocks(target, skill, level);
-        checkVirtueUnlocks(target, skill, level);
+        // Grant spells and virtues for every threshold up to the new level
+        // (already-granted unlocks are skipped, so re-running this is cheap)
+        UnlockRules.grantReached(target, skill, level);
 
         source.sendFeedback(() -> Text.literal("Set " + target.getName().getString() + "'s " + skill + " to level " + level), true);
         return 1;
     }
 
-    /**
-     * Grant spells when skills reach certain thresholds.
-     */
-    public static void checkSpellUnlocks(ServerPlayerEntity player, String skill, int level) {
-        // Blood Magic unlocks
-        if (skill.equals(PlayerSkills.BLOOD_MAGIC)) {
-            if (level >= 0) grantSpellIfMissing(player, ModItems.AARDES_TOUCH, "Aarde's Touch");
-            if (level >= 2) grantSpellIfMissing(player, ModItems.CRIMSON_FIST, "Crimson Fist");
-            if (level >= 5) grantSpellIfMissing(player, ModItems.SANGUINE_SURGE, "Sanguine Surge");
-            if (level >= 25) grantSpellIfMissing(player, ModItems.CLARET_SPEAR, "Claret Spear");
-        }
-
-        // Bone Magic unlocks
-        if (skill.equals(PlayerSkills.BONE_MAGIC)) {
-            if (level >= 0) grantSpellIfMissing(player, ModItems.PHYSICAL_TAPPING, "Physical Tapping");
-            if (level >= 10) {
-                grantSpellIfMissing(player, ModItems.POWER_TAPPING, "Power Tapping");
-                grantSpellIfMissing(player, ModItems.SPEED_TAPPING, "Speed Tapping");
-                grantSpellIfMissing(player, ModItems.ENDURANCE_TAPPING, "Endurance Tapping");
-            }
-        }
-    }
-
     /**
      * Add a spell to the player's spell inventory if they don't already have it.
+     * Returns true if the player has the spell afterwards.
      */
-    private static void grantSpellIfMissing(ServerPlayerEntity player, Item spell, String spellName) {
+    public static boolean grantSpellIfMissing(ServerPlayerEntity player, Item spell, String spellName) {
         SpellInventory spellInv = player.getAttachedOrCreate(SpellInventory.ATTACHMENT);
         String spellId = net.minecraft.registry.Registries.ITEM.getId(spell).toString();
 
         // Check if player already has this spell
         for (int i = 0; i < spellInv.size(); i++) {
             if (spellInv.getStack(i).isOf(spell)) {
-                return; // Already has it
+                return true; // Already has it
             }
         }
 
         // Also check hotbar and offhand
         for (int i = 0; i < 9; i++) {
             if (player.getInventory().getStack(i).isOf(spell)) {
-                return; // Already has it in hotbar
+                return true; // Already has it in hotbar
             }
         }
         if (player.getOffHandStack().isOf(spell)) {
-            return; // Already has it in offhand
+            return true; // Already has it in offhand
         }
 
         // Find empty slot in spell inventory and add the spell
@@ -530,43 +808,24 @@ public class ModCommands {
             if (spellInv.getStack(i).isEmpty()) {
                 spellInv.setStack(i, new ItemStack(spell));
                 sendDiscoveryMessage(player, spellId, spellName);
-                return;
+                return true;
             }
         }
 
         // If spell inventory is full, try to give directly
         if (!player.giveItemStack(new ItemStack(spell))) {
             player.sendMessage(Text.literal("No room for " + spellName + "!"), false);
-        } else {
-            sendDiscoveryMessage(player, spellId, spellName);
-        }
-    }
-
-    /**
-     * Grant virtues when skills reach certain thresholds.
-     */
-    public static void checkVirtueUnlocks(ServerPlayerEntity player, String skill, int level) {
-        // Blood Magic virtue unlocks
-        if (skill.equals(PlayerSkills.BLOOD_MAGIC)) {
-            if (level >= 20) grantVirtueIfMissing(player, ModItems.HYPERTENSION, "Hypertension");
-        }
-
-        // Parry virtue unlocks
-        if (skill.equals(PlayerSkills.PARRY)) {
-            if (level >= 20) grantVirtueIfMissing(player, ModItems.PRESCIENT_BLADE, "Prescient Blade");
-            if (level >= 40) grantVirtueIfMissing(player, ModItems.PROPHETIC_BLADE, "Prophetic Blade");
-        }
-
-        // One-Handed Weapons virtue unlocks
-        if (skill.equals(PlayerSkills.ONE_HANDED)) {
-            if (level >= 40) grantVirtueIfMissing(player, ModItems.RIPOSTER, "Riposter");
+            return false;
         }
+        sendDiscoveryMessage(player, spellId, spellName);
+        return true;
     }
 
     /**
      * Add a virtue to the player's virtue inventory if they don't already have it.
+     * Returns true if the player has the virtue afterwards.
      */
-    private static void grantVirtueIfMissing(ServerPlayerEntity player, Item virtue, String virtueName) {
+    public static boolean grantVirtueIfMissing(ServerPlayerEntity player, Item virtue, String virtueName) {
         VirtueInventory virtueInv = player.getAttachedOrCreate(VirtueInventory.ATTACHMENT);
         String virtueId = net.minecraft.registry.Registries.ITEM.getId(virtue).toString();
         boolean isPassive = virtue instanceof VirtueItem v && v.isPassive();
@@ -574,7 +833,7 @@ public class ModCommands {
         // Check if player already has this virtue in virtue inventory
         for (int i = 0; i < virtueInv.size(); i++) {
             if (virtueInv.getStack(i).isOf(virtue)) {
-                return; // Already has it
+                return true; // Already has it
             }
         }
 
@@ -582,11 +841,11 @@ public class ModCommands {
         if (!isPassive) {
             for (int i = 0; i < 9; i++) {
                 if (player.getInventory().getStack(i).isOf(virtue)) {
-                    return; // Already has it in hotbar
+                    return true; // Already has it in hotbar
                 }
             }
             if (player.getOffHandStack().isOf(virtue)) {
-                return; // Already has it in offhand
+                return true; // Already has it in offhand
             }
         }
 
@@ -595,7 +854,7 @@ public class ModCommands {
             if (virtueInv.getStack(i).isEmpty()) {
                 virtueInv.setStack(i, new ItemStack(virtue));
                 sendVirtueDiscoveryMessage(player, virtueId, virtueName);
-                return;
+                return true;
             }
         }
 
@@ -603,14 +862,15 @@ public class ModCommands {
         if (isPassive) {
             // Passive virtues can only go in virtue inventory
             player.sendMessage(Text.literal("No room for " + virtueName + "!"), false);
-        } else {
-            // Non-passive virtues can overflow to hotbar/inventory
-            if (!player.giveItemStack(new ItemStack(virtue))) {
-                player.sendMessage(Text.literal("No room for " + virtueName + "!"), false);
-            } else {
-                sendVirtueDiscoveryMessage(player, virtueId, virtueName);
-            }
+            return false;
+        }
+        // Non-passive virtues can overflow to hotbar/inventory
+        if (!player.giveItemStack(new ItemStack(virtue))) {
+            player.sendMessage(Text.literal("No room for " + virtueName + "!"), false);
+            return false;
         }
+        sendVirtueDiscoveryMessage(player, virtueId, virtueName);
+        return true;
     }
 
     /**
@@ -619,6 +879,7 @@ public class ModCommands {
     public static void sendDiscoveryMessage(ServerPlayerEntity player, String spellId, String spellName) {
         PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
         if (skills.discoverSpell(spellId)) {
+            SharedSkillStore.markDirty(player);
             player.sendMessage(Text.literal("Spell discovered: " + spellName + "!"), false);
         }
     }
@@ -629,6 +890,7 @@ public class ModCommands {
     public static void sendVirtueDiscoveryMessage(ServerPlayerEntity player, String virtueId, String virtueName) {
         PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
         if (skills.discoverSpell(virtueId)) { // Reuse spell discovery tracking for virtues
+            SharedSkillStore.markDirty(player);
             player.sendMessage(Text.literal("New Virtue: " + virtueName + "!"), false);
         }
     }
@@ -685,6 +947,7 @@ public class ModCommands {
             if (spellInv.getStack(i).isOf(spell)) {
                 spellInv.setStack(i, ItemStack.EMPTY);
                 target.getAttachedOrCreate(PlayerSkills.ATTACHMENT).forgetSpell(spellId);
+                SharedSkillStore.markDirty(target);
                 source.sendFeedback(() -> Text.literal("Took " + spellName + " from " + target.getName().getString()), true);
                 return 1;
             }
@@ -695,6 +958,7 @@ public class ModCommands {
             if (target.getInventory().getStack(i).isOf(spell)) {
                 target.getInventory().setStack(i, ItemStack.EMPTY);
                 target.getAttachedOrCreate(PlayerSkills.ATTACHMENT).forgetSpell(spellId);
+                SharedSkillStore.markDirty(target);
                 source.sendFeedback(() -> Text.literal("Took " + spellName + " from " + target.getName().getString()), true);
                 return 1;
             }
@@ -704,6 +968,7 @@ public class ModCommands {
         if (target.getOffHandStack().isOf(spell)) {
             target.getInventory().setStack(40, ItemStack.EMPTY);
             target.getAttachedOrCreate(PlayerSkills.ATTACHMENT).forgetSpell(spellId);
+            SharedSkillStore.markDirty(target);
             source.sendFeedback(() -> Text.literal("Took " + spellName + " from " + target.getName().getString()), true);
             return 1;
         }
@@ -764,6 +1029,7 @@ public class ModCommands {
             if (virtueInv.getStack(i).isOf(virtue)) {
                 virtueInv.setStack(i, ItemStack.EMPTY);
                 target.getAttachedOrCreate(PlayerSkills.ATTACHMENT).forgetSpell(virtueId);
+                SharedSkillStore.markDirty(target);
                 source.sendFeedback(() -> Text.literal("Took " + virtueName + " from " + target.getName().getString()), true);
                 return 1;
             }
@@ -774,6 +1040,7 @@ public class ModCommands {
             if (target.getInventory().getStack(i).isOf(virtue)) {
                 target.getInventory().setStack(i, ItemStack.EMPTY);
                 target.getAttachedOrCreate(PlayerSkills.ATTACHMENT).forgetSpell(virtueId);
+                SharedSkillStore.markDirty(target);
                 source.sendFeedback(() -> Text.literal("Took " + virtueName + " from " + target.getName().getString()), true);
                 return 1;
             }
@@ -783,6 +1050,7 @@ public class ModCommands {
         if (target.getOffHandStack().isOf(virtue)) {
             target.getInventory().setStack(40, ItemStack.EMPTY);
             target.getAttachedOrCreate(PlayerSkills.ATTACHMENT).forgetSpell(virtueId);
+            SharedSkillStore.markDirty(target);
             source.sendFeedback(() -> Text.literal("Took " + virtueName + " from " + target.getName().getString()), true);
             return 1;
         }
@@ -802,7 +1070,9 @@ public class ModCommands {
 
         PlayerTattoos tattoos = target.getAttachedOrCreate(PlayerTattoos.ATTACHMENT);
         tattoos.addTattoo(tattooId, gridX, gridY);
-        ModNetworking.syncTattoosToClient(target);
+        ModNetworking.markDirty(target, ModNetworking.SECTION_TATTOOS);
+        SharedSkillStore.markDirty(target);
+        FallRuneHandler.updateBearer(target);
 
         source.sendFeedback(() -> Text.literal("Gave " + tattooId + " at (" + gridX + ", " + gridY + ") to " + target.getName().getString()), true);
         return 1;
@@ -842,7 +1112,9 @@ public class ModCommands {
             return 0;
         }
 
-        ModNetworking.syncTattoosToClient(target);
+        ModNetworking.markDirty(target, ModNetworking.SECTION_TATTOOS);
+        SharedSkillStore.markDirty(target);
+        FallRuneHandler.updateBearer(target);
 
         source.sendFeedback(() -> Text.literal("Removed " + tattooId + " from " + target.getName().getString()), true);
         return 1;
@@ -0,0 +1,75 @@
+package mugasofer.aerb.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import mugasofer.aerb.Aerb;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Configuration for the combat event journal.
+ * Combat events are written as JSON lines to rotating files in the journal directory.
+ */
+public class CombatJournalConfig {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Path CONFIG_PATH = FabricLoader.getInstance().getConfigDir().resolve("aerb_combat_journal.json");
+
+    private static CombatJournalConfig INSTANCE;
+
+    // Master switch - when false, events are dropped at the call site
+    public boolean enabled = true;
+
+    // Fraction of events to record (1.0 = all, 0.1 = roughly one in ten)
+    public double sampleRate = 1.0;
+
+    // Ring buffer size (rounded up to a power of two). Events are dropped, not blocked, when full.
+    public int bufferCapacity = 8192;
+
+    // Directory for journal files, relative to the game directory
+    public String directory = "logs/aerb_combat";
+
+    // Rotate to a new file after this many bytes
+    public long maxFileBytes = 8L * 1024 * 1024;
+
+    // Number of journal files to keep before deleting the oldest
+    public int maxFiles = 10;
+
+    // How long the writer thread sleeps when the buffer is empty
+    public int flushIntervalMs = 250;
+
+    public static CombatJournalConfig get() {
+        if (INSTANCE == null) {
+            load();
+        }
+        return INSTANCE;
+    }
+
+    public static void load() {
+        if (Files.exists(CONFIG_PATH)) {
+            try {
+                String json = Files.readString(CONFIG_PATH);
+                INSTANCE = GSON.fromJson(json, CombatJournalConfig.class);
+                Aerb.LOGGER.info("Loaded combat journal config from " + CONFIG_PATH);
+            } catch (Exception e) {
+                Aerb.LOGGER.error("Failed to load combat journal config, using defaults", e);
+                INSTANCE = new CombatJournalConfig();
+                save();
+            }
+        } else {
+            INSTANCE = new CombatJournalConfig();
+            save();
+            Aerb.LOGGER.info("Created default combat journal config at " + CONFIG_PATH);
+        }
+    }
+
+    public static void save() {
+        try {
+            Files.writeString(CONFIG_PATH, GSON.toJson(INSTANCE));
+        } catch (IOException e) {
+            Aerb.LOGGER.error("Failed to save combat journal config", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package mugasofer.aerb.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import mugasofer.aerb.Aerb;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for limits on packets clients send to the server.
+ * Each client-to-server payload type gets a token bucket per player: `burst` packets
+ * at once, refilled at `perSecond`. Packets over the limit are dropped.
+ */
+public class NetworkConfig {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Path CONFIG_PATH = FabricLoader.getInstance().getConfigDir().resolve("aerb_network.json");
+
+    private static NetworkConfig INSTANCE;
+
+    public static class RateLimit {
+        public double perSecond;
+        public int burst;
+
+        public RateLimit(double perSecond, int burst) {
+            this.perSecond = perSecond;
+            this.burst = burst;
+        }
+    }
+
+    // Limits by payload path (e.g. "apply_tattoo"); payloads not listed use defaultLimit
+    public Map<String, RateLimit> limits = new HashMap<>(Map.of(
+        "apply_tattoo", new RateLimit(2, 5),
+        "move_tattoo", new RateLimit(4, 10),
+        "open_spell_inventory", new RateLimit(4, 8),
+        "open_virtue_inventory", new RateLimit(4, 8),
+        "request_resync", new RateLimit(1, 4),
+        "request_other_tattoos", new RateLimit(10, 40)
+    ));
+
+    public RateLimit defaultLimit = new RateLimit(10, 20);
+
+    // Disconnect a player after this many dropped packets within a minute (0 = never kick)
+    public int kickAfterDroppedPerMinute = 200;
+
+    public static NetworkConfig get() {
+        if (INSTANCE == null) {
+            load();
+        }
+        return INSTANCE;
+    }
+
+    public RateLimit getLimit(String payloadPath) {
+        return limits.getOrDefault(payloadPath, defaultLimit);
+    }
+
+    public static void load() {
+        if (Files.exists(CONFIG_PATH)) {
+            try {
+                String json = Files.readString(CONFIG_PATH);
+                INSTANCE = GSON.fromJson(json, NetworkConfig.class);
+                Aerb.LOGGER.info("Loaded network config from " + CONFIG_PATH);
+            } catch (Exception e) {
+                Aerb.LOGGER.error("Failed to load network config, using defaults", e);
+                INSTANCE = new NetworkConfig();
+                save();
+            }
+        } else {
+            INSTANCE = new NetworkConfig();
+            save();
+            Aerb.LOGGER.info("Created default network config at " + CONFIG_PATH);
+        }
+    }
+
+    public static void save() {
+        try {
+            Files.writeString(CONFIG_PATH, GSON.toJson(INSTANCE));
+        } catch (IOException e) {
+            Aerb.LOGGER.error("Failed to save network config", e);
+        }
+    }
+}
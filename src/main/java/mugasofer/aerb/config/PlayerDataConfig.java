@@ -0,0 +1,59 @@
+package mugasofer.aerb.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import mugasofer.aerb.Aerb;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Configuration for how AERB player data is stored.
+ * Read once at startup; changing it needs a restart.
+ */
+public class PlayerDataConfig {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Path CONFIG_PATH = FabricLoader.getInstance().getConfigDir().resolve("aerb_player_data.json");
+
+    private static PlayerDataConfig INSTANCE;
+
+    // Store discovered items (for first-equip XP) as 64-bit hashes instead of strings.
+    // Smaller in memory and on disk; existing string entries are converted on load.
+    // Can't be undone: turning it off again only stops new entries being hashed.
+    public boolean hashDiscoveredItems = false;
+
+    public static PlayerDataConfig get() {
+        if (INSTANCE == null) {
+            load();
+        }
+        return INSTANCE;
+    }
+
+    public static void load() {
+        if (Files.exists(CONFIG_PATH)) {
+            try {
+                String json = Files.readString(CONFIG_PATH);
+                INSTANCE = GSON.fromJson(json, PlayerDataConfig.class);
+                Aerb.LOGGER.info("Loaded player data config from " + CONFIG_PATH);
+            } catch (Exception e) {
+                Aerb.LOGGER.error("Failed to load player data config, using defaults", e);
+                INSTANCE = new PlayerDataConfig();
+                save();
+            }
+        } else {
+            INSTANCE = new PlayerDataConfig();
+            save();
+            Aerb.LOGGER.info("Created default player data config at " + CONFIG_PATH);
+        }
+    }
+
+    public static void save() {
+        try {
+            Files.writeString(CONFIG_PATH, GSON.toJson(INSTANCE));
+        } catch (IOException e) {
+            Aerb.LOGGER.error("Failed to save player data config", e);
+        }
+    }
+}
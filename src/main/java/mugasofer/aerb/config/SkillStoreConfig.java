@@ -0,0 +1,66 @@
+package mugasofer.aerb.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import mugasofer.aerb.Aerb;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Configuration for the shared skill store.
+ * When enabled, skills, XP, discovered spells and tattoos are also kept in a store
+ * directory outside the world, which several server instances can share (e.g. on a
+ * network volume). The store copy wins over the world's player data on join; changes
+ * made since the join, or on another server since the copy was read, are merged into it.
+ */
+public class SkillStoreConfig {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Path CONFIG_PATH = FabricLoader.getInstance().getConfigDir().resolve("aerb_skill_store.json");
+
+    private static SkillStoreConfig INSTANCE;
+
+    // Off by default - player data stays in the world save only
+    public boolean enabled = false;
+
+    // Store directory; relative paths are resolved against the game directory
+    public String directory = "aerb_skill_store";
+
+    // How often online players are snapshotted and changed snapshots written
+    public int flushIntervalMs = 5000;
+
+    public static SkillStoreConfig get() {
+        if (INSTANCE == null) {
+            load();
+        }
+        return INSTANCE;
+    }
+
+    public static void load() {
+        if (Files.exists(CONFIG_PATH)) {
+            try {
+                String json = Files.readString(CONFIG_PATH);
+                INSTANCE = GSON.fromJson(json, SkillStoreConfig.class);
+                Aerb.LOGGER.info("Loaded skill store config from " + CONFIG_PATH);
+            } catch (Exception e) {
+                Aerb.LOGGER.error("Failed to load skill store config, using defaults", e);
+                INSTANCE = new SkillStoreConfig();
+                save();
+            }
+        } else {
+            INSTANCE = new SkillStoreConfig();
+            save();
+            Aerb.LOGGER.info("Created default skill store config at " + CONFIG_PATH);
+        }
+    }
+
+    public static void save() {
+        try {
+            Files.writeString(CONFIG_PATH, GSON.toJson(INSTANCE));
+        } catch (IOException e) {
+            Aerb.LOGGER.error("Failed to save skill store config", e);
+        }
+    }
+}
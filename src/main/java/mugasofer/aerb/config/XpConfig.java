@@ -3,6 +3,7 @@ package mugasofer.aerb.config;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import mugasofer.aerb.Aerb;
+import mugasofer.aerb.skill.XpCurve;
 import net.fabricmc.loader.api.FabricLoader;
 
 import java.io.IOException;
@@ -40,6 +41,9 @@ public class XpConfig {
     // Skill name mappings for book detection (case-insensitive matching)
     public Map<String, String> bookSkillKeywords = new HashMap<>();
 
+    // Level table built from levelExponent (not saved)
+    private transient XpCurve curve;
+
     public XpConfig() {
         // Initialize default book keywords
         bookSkillKeywords.put("blood magic", "blood_magic");
@@ -84,13 +88,22 @@ public class XpConfig {
         }
     }
 
+    /**
+     * Get the precomputed level table for the current exponent.
+     */
+    public XpCurve getCurve() {
+        if (curve == null) {
+            curve = XpCurve.fromExponent(levelExponent);
+        }
+        return curve;
+    }
+
     /**
      * Get XP required to reach the next level from current level.
      * Formula: (nextLevel + 1)^exponent
      * This means: 0->1 needs 4 XP, 1->2 needs 9 XP, 2->3 needs 16 XP, etc.
      */
     public int getXpForNextLevel(int currentLevel) {
-        int nextLevel = currentLevel + 1;
-        return (int) Math.pow(nextLevel + 1, levelExponent);
+        return getCurve().getXpForNextLevel(currentLevel);
     }
 }
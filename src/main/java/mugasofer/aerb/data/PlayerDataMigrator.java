@@ -0,0 +1,142 @@
+package mugasofer.aerb.data;
+
+import com.mojang.serialization.Codec;
+import mugasofer.aerb.Aerb;
+import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.tattoo.PlayerTattoos;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.NbtSizeTracker;
+import net.minecraft.server.MinecraftServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rewrites saved player files so their AERB attachments are in the current format:
+ * legacy body-position tattoos become grid tattoos, and discovered items are stored as
+ * hashes when hashDiscoveredItems is on. Each attachment is round-tripped through the
+ * mod's own codec, so this needs the mod loaded and is only reachable from /aerbdata.
+ *
+ * Files are read and re-encoded on worker threads, but each rewritten file replaces the
+ * original on the server thread, which is where player data is saved. Players who are
+ * online, or have joined since the migration started, are skipped at that point: the
+ * server owns their file and may have saved newer data than what was read.
+ */
+public class PlayerDataMigrator {
+
+    // Players who joined during the running migration (server thread only); null when none is running
+    private static Set<UUID> joinedDuringMigration;
+
+    public record Result(int files, int rewritten, int skipped, int failed, long elapsedNanos) {
+    }
+
+    public static void init() {
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            if (joinedDuringMigration != null) {
+                joinedDuringMigration.add(handler.getPlayer().getUuid());
+            }
+        });
+    }
+
+    /**
+     * Migrate every player file of the given server.
+     * Blocks the calling thread, which must not be the server thread.
+     */
+    public static Result migrate(MinecraftServer server, Path playerDataDir, int threads) throws IOException {
+        server.submit(() -> {
+            joinedDuringMigration = new HashSet<>();
+        }).join();
+        try {
+            List<Path> files = PlayerDataTool.listPlayerFiles(playerDataDir);
+            AtomicInteger rewritten = new AtomicInteger();
+            AtomicInteger skipped = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            long start = System.nanoTime();
+
+            PlayerDataTool.runParallel(threads, () -> {
+                files.parallelStream().forEach(file -> {
+                    try {
+                        switch (migrateFile(server, file)) {
+                            case REWRITTEN -> rewritten.incrementAndGet();
+                            case PLAYER_JOINED -> skipped.incrementAndGet();
+                            case UNCHANGED -> {
+                            }
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        Aerb.LOGGER.warn("Failed to migrate " + file.getFileName() + ": " + e.getMessage());
+                        failed.incrementAndGet();
+                    }
+                });
+                return null;
+            });
+
+            return new Result(files.size(), rewritten.get(), skipped.get(), failed.get(), System.nanoTime() - start);
+        } finally {
+            server.execute(() -> joinedDuringMigration = null);
+        }
+    }
+
+    private enum Outcome {UNCHANGED, REWRITTEN, PLAYER_JOINED}
+
+    private static Outcome migrateFile(MinecraftServer server, Path file) throws IOException {
+        NbtCompound player = NbtIo.readCompressed(file, NbtSizeTracker.ofUnlimitedBytes());
+        NbtCompound attachments = player.getCompoundOrEmpty(PlayerDataTool.ATTACHMENTS_KEY);
+
+        boolean changed = reencode(attachments, PlayerDataTool.SKILLS_KEY, PlayerSkills.CODEC);
+        changed |= reencode(attachments, PlayerDataTool.TATTOOS_KEY, PlayerTattoos.CODEC);
+        if (!changed) {
+            return Outcome.UNCHANGED;
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".aerbtmp");
+        NbtIo.writeCompressed(player, temp);
+        UUID playerId = PlayerDataTool.getPlayerId(file);
+        try {
+            // No save can touch the file between the check and the move on the server thread
+            boolean replaced = server.submit(() -> {
+                if (server.getPlayerManager().getPlayer(playerId) != null
+                        || joinedDuringMigration.contains(playerId)) {
+                    return false;
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            }).join();
+            return replaced ? Outcome.REWRITTEN : Outcome.PLAYER_JOINED;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Decode an attachment with its codec and store the re-encoded form if it differs.
+     */
+    private static <T> boolean reencode(NbtCompound attachments, String key, Codec<T> codec) {
+        NbtElement stored = attachments.get(key);
+        if (stored == null) {
+            return false;
+        }
+        T value = codec.parse(NbtOps.INSTANCE, stored).getOrThrow();
+        NbtElement current = codec.encodeStart(NbtOps.INSTANCE, value).getOrThrow();
+        if (current.equals(stored)) {
+            return false;
+        }
+        attachments.put(key, current);
+        return true;
+    }
+}
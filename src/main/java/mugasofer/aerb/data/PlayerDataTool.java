@@ -0,0 +1,390 @@
+package mugasofer.aerb.data;
+
+import com.google.gson.Gson;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtSizeTracker;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Bulk reader for AERB data in saved player files: skills, tattoos, spell and virtue inventories.
+ * Works on raw NBT without touching the attachment registry, so it runs both inside the
+ * server (off the main thread) and as a standalone tool:
+ *
+ * <pre>java -cp ... mugasofer.aerb.data.PlayerDataTool &lt;playerdata dir&gt; stats [skill minLevel] [--threads N]
+ * java -cp ... mugasofer.aerb.data.PlayerDataTool &lt;playerdata dir&gt; export &lt;out.jsonl&gt; [--threads N]</pre>
+ */
+public class PlayerDataTool {
+    // Attachment keys, spelled out so nothing here loads the mod's attachment types
+    public static final String ATTACHMENTS_KEY = "fabric:attachments";
+    public static final String SKILLS_KEY = "aerb:player_skills";
+    public static final String TATTOOS_KEY = "aerb:player_tattoos";
+    public static final String SPELLS_KEY = "aerb:spell_inventory";
+    public static final String VIRTUES_KEY = "aerb:virtue_inventory";
+
+    private static final Gson GSON = new Gson();
+
+    /**
+     * The AERB data of one player.
+     */
+    public record PlayerRecord(UUID id, Map<String, Integer> skills, Map<String, Integer> skillXp,
+                               List<String> discoveredSpells, int discoveredItems, List<String> tattoos,
+                               List<String> spells, List<String> virtues) {
+    }
+
+    /**
+     * Outcome of a pass over the player data directory.
+     */
+    public record ScanResult(int files, int failed, long elapsedNanos) {
+        public double filesPerSecond() {
+            return elapsedNanos == 0 ? 0 : files * 1.0e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * List the player data files in a directory, streaming the listing rather than loading it twice.
+     */
+    public static List<Path> listPlayerFiles(Path playerDataDir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(playerDataDir)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(playerDataDir, "*.dat")) {
+            for (Path file : stream) {
+                if (getPlayerId(file) != null) {
+                    files.add(file);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Get the player UUID from a player data file name, or null if it isn't one.
+     */
+    public static UUID getPlayerId(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(".dat")) {
+            return null;
+        }
+        try {
+            return UUID.fromString(name.substring(0, name.length() - ".dat".length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read the AERB data from a player data file.
+     */
+    public static PlayerRecord read(Path file) throws IOException {
+        NbtCompound player = NbtIo.readCompressed(file, NbtSizeTracker.ofUnlimitedBytes());
+        return parse(getPlayerId(file), player.getCompoundOrEmpty(ATTACHMENTS_KEY));
+    }
+
+    /**
+     * Read one attachment's raw NBT from a player data file, or null if the player has none.
+     */
+    public static NbtElement readAttachment(Path file, String key) throws IOException {
+        NbtCompound player = NbtIo.readCompressed(file, NbtSizeTracker.ofUnlimitedBytes());
+        return player.getCompoundOrEmpty(ATTACHMENTS_KEY).get(key);
+    }
+
+    private static PlayerRecord parse(UUID id, NbtCompound attachments) {
+        NbtCompound skills = attachments.getCompoundOrEmpty(SKILLS_KEY);
+        NbtList items = skills.getListOrEmpty("discovered_items");
+        int hashedItems = skills.getLongArray("discovered_item_hashes").map(hashes -> hashes.length).orElse(0);
+
+        List<String> tattoos = new ArrayList<>();
+        NbtList tattooList = attachments.getCompoundOrEmpty(TATTOOS_KEY).getListOrEmpty("tattoos");
+        for (int i = 0; i < tattooList.size(); i++) {
+            tattoos.add(tattooList.getCompoundOrEmpty(i).getString("tattoo_id", ""));
+        }
+
+        return new PlayerRecord(id,
+            readIntMap(skills.getCompoundOrEmpty("skills")),
+            readIntMap(skills.getCompoundOrEmpty("skill_xp")),
+            readStrings(skills.getListOrEmpty("discovered_spells")),
+            items.size() + hashedItems,
+            tattoos,
+            readItemIds(attachments.getCompoundOrEmpty(SPELLS_KEY)),
+            readItemIds(attachments.getCompoundOrEmpty(VIRTUES_KEY)));
+    }
+
+    private static Map<String, Integer> readIntMap(NbtCompound compound) {
+        Map<String, Integer> map = new HashMap<>();
+        for (String key : compound.keySet()) {
+            map.put(key, compound.getInt(key, 0));
+        }
+        return map;
+    }
+
+    private static List<String> readStrings(NbtList list) {
+        List<String> strings = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            strings.add(list.getString(i, ""));
+        }
+        return strings;
+    }
+
+    // Item ids of the non-empty stacks in an inventory attachment
+    private static List<String> readItemIds(NbtCompound inventory) {
+        List<String> ids = new ArrayList<>();
+        NbtList items = inventory.getListOrEmpty("items");
+        for (int i = 0; i < items.size(); i++) {
+            String id = items.getCompoundOrEmpty(i).getString("id", "");
+            if (!id.isEmpty()) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Aggregate every player's data. If skill is non-null, also counts players with that skill at minLevel or above.
+     * Blocks the calling thread; the server runs this off the main thread.
+     */
+    public static Stats stats(Path playerDataDir, int threads, String skill, int minLevel) throws IOException {
+        List<Path> files = listPlayerFiles(playerDataDir);
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.nanoTime();
+
+        Stats stats = runParallel(threads, () -> files.parallelStream()
+            .map(readOrNull(failed))
+            .filter(Objects::nonNull)
+            .collect(() -> new Stats(skill, minLevel), Stats::add, Stats::merge));
+
+        stats.result = new ScanResult(files.size(), failed.get(), System.nanoTime() - start);
+        return stats;
+    }
+
+    /**
+     * Write one JSON line per player to the output file.
+     * Blocks the calling thread; the server runs this off the main thread.
+     */
+    public static ScanResult export(Path playerDataDir, Path output, int threads) throws IOException {
+        List<Path> files = listPlayerFiles(playerDataDir);
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.nanoTime();
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            runParallel(threads, () -> {
+                files.parallelStream()
+                    .map(readOrNull(failed))
+                    .filter(Objects::nonNull)
+                    .map(GSON::toJson)
+                    .forEach(line -> {
+                        synchronized (writer) {
+                            try {
+                                writer.write(line);
+                                writer.newLine();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                    });
+                return null;
+            });
+        }
+        return new ScanResult(files.size(), failed.get(), System.nanoTime() - start);
+    }
+
+    private static Function<Path, PlayerRecord> readOrNull(AtomicInteger failed) {
+        return file -> {
+            try {
+                return read(file);
+            } catch (IOException | RuntimeException e) {
+                // Corrupt or half-written files are counted, not fatal
+                failed.incrementAndGet();
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Run a parallel stream pipeline on a dedicated pool, so scans never compete with the common pool.
+     */
+    static <T> T runParallel(int threads, Callable<T> task) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            return pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static int defaultThreads() {
+        // Leave a core for the server
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * Aggregates over all players. Built per worker and merged, so no locking while scanning.
+     */
+    public static class Stats {
+        private final String countSkill;
+        private final int countMinLevel;
+        private ScanResult result;
+
+        private int players;
+        private int matching;
+        private int tattooCount;
+        private final Map<String, SkillStats> skills = new TreeMap<>();
+        private final Map<String, Integer> tattoos = new TreeMap<>();
+        private final Map<String, Integer> spells = new TreeMap<>();
+        private final Map<String, Integer> virtues = new TreeMap<>();
+
+        private Stats(String countSkill, int countMinLevel) {
+            this.countSkill = countSkill;
+            this.countMinLevel = countMinLevel;
+        }
+
+        private void add(PlayerRecord player) {
+            players++;
+            player.skills().forEach((skill, level) -> {
+                if (level >= 0) {
+                    skills.computeIfAbsent(skill, s -> new SkillStats()).add(level);
+                }
+            });
+            if (countSkill != null && player.skills().getOrDefault(countSkill, -1) >= countMinLevel) {
+                matching++;
+            }
+            tattooCount += player.tattoos().size();
+            player.tattoos().forEach(id -> tattoos.merge(id, 1, Integer::sum));
+            player.spells().forEach(id -> spells.merge(id, 1, Integer::sum));
+            player.virtues().forEach(id -> virtues.merge(id, 1, Integer::sum));
+        }
+
+        private void merge(Stats other) {
+            players += other.players;
+            matching += other.matching;
+            tattooCount += other.tattooCount;
+            other.skills.forEach((skill, stats) -> skills.computeIfAbsent(skill, s -> new SkillStats()).merge(stats));
+            other.tattoos.forEach((id, count) -> tattoos.merge(id, count, Integer::sum));
+            other.spells.forEach((id, count) -> spells.merge(id, count, Integer::sum));
+            other.virtues.forEach((id, count) -> virtues.merge(id, count, Integer::sum));
+        }
+
+        public ScanResult result() {
+            return result;
+        }
+
+        public int players() {
+            return players;
+        }
+
+        /**
+         * Players with the requested skill at or above the requested level.
+         */
+        public int matching() {
+            return matching;
+        }
+
+        /**
+         * Human-readable summary, one line per entry.
+         */
+        public List<String> describe() {
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("%d players (%d unreadable) in %.1fs, %.0f files/sec",
+                players, result.failed(), result.elapsedNanos() / 1.0e9, result.filesPerSecond()));
+            if (countSkill != null) {
+                lines.add(matching + " players with " + countSkill + " >= " + countMinLevel);
+            }
+            skills.forEach((skill, stats) -> lines.add(String.format("%s: %d unlocked, avg lvl %.1f, max lvl %d",
+                skill, stats.unlocked, stats.unlocked == 0 ? 0 : (double) stats.totalLevels / stats.unlocked, stats.maxLevel)));
+            lines.add(tattooCount + " tattoos: " + tattoos);
+            lines.add("Spells held: " + spells);
+            lines.add("Virtues held: " + virtues);
+            return lines;
+        }
+    }
+
+    private static class SkillStats {
+        private int unlocked;
+        private long totalLevels;
+        private int maxLevel;
+
+        private void add(int level) {
+            unlocked++;
+            totalLevels += level;
+            maxLevel = Math.max(maxLevel, level);
+        }
+
+        private void merge(SkillStats other) {
+            unlocked += other.unlocked;
+            totalLevels += other.totalLevels;
+            maxLevel = Math.max(maxLevel, other.maxLevel);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> positional = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else {
+                positional.add(args[i]);
+            }
+        }
+        if (positional.size() < 2) {
+            printUsage();
+            return;
+        }
+
+        Path playerDataDir = Path.of(positional.get(0));
+        switch (positional.get(1)) {
+            case "stats" -> {
+                String skill = positional.size() >= 4 ? positional.get(2) : null;
+                int minLevel = positional.size() >= 4 ? Integer.parseInt(positional.get(3)) : 0;
+                stats(playerDataDir, threads, skill, minLevel).describe().forEach(System.out::println);
+            }
+            case "export" -> {
+                if (positional.size() < 3) {
+                    printUsage();
+                    return;
+                }
+                ScanResult result = export(playerDataDir, Path.of(positional.get(2)), threads);
+                System.out.printf("Exported %d players (%d unreadable) in %.1fs%n",
+                    result.files() - result.failed(), result.failed(), result.elapsedNanos() / 1.0e9);
+            }
+            default -> printUsage();
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: PlayerDataTool <playerdata dir> stats [skill minLevel] [--threads N]");
+        System.out.println("       PlayerDataTool <playerdata dir> export <out.jsonl> [--threads N]");
+        System.out.println("Rewriting files to the current format needs the mod loaded; use /aerbdata migrate.");
+    }
+}
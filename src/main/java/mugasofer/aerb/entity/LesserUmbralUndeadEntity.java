@@ -15,6 +15,7 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.particle.BlockStateParticleEffect;
 import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.world.ServerWorld;
+import mugasofer.aerb.combat.CombatJournal;
 import mugasofer.aerb.sound.ModSounds;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvent;
@@ -263,6 +264,7 @@ public class LesserUmbralUndeadEntity extends HostileEntity {
 
         // Reduce corpse count
         setCorpseCount(getCorpseCount() - 1);
+        CombatJournal.shedBody(this, getCorpseCount());
     }
 
     private void updateCorpseCountFromHealth() {
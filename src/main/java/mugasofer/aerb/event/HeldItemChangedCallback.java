@@ -0,0 +1,30 @@
+package mugasofer.aerb.event;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Fired on the server when the item in a player's main hand changes.
+ * Detected once per player per tick by ItemEquipMixin, so anything that reacts to
+ * held items can subscribe here instead of scanning every player every tick.
+ * Only the item type is compared; swapping between two stacks of the same item doesn't fire.
+ * A new player entity (join, respawn) fires once on its first tick, even with an empty hand.
+ */
+@FunctionalInterface
+public interface HeldItemChangedCallback {
+    Event<HeldItemChangedCallback> EVENT = EventFactory.createArrayBacked(HeldItemChangedCallback.class,
+        listeners -> (player, previous, current) -> {
+            for (HeldItemChangedCallback listener : listeners) {
+                listener.onHeldItemChanged(player, previous, current);
+            }
+        });
+
+    /**
+     * @param previous the item held before (Items.AIR for an empty hand)
+     * @param current  the stack held now, possibly empty
+     */
+    void onHeldItemChanged(ServerPlayerEntity player, Item previous, ItemStack current);
+}
@@ -1,6 +1,7 @@
 package mugasofer.aerb.event;
 
 import mugasofer.aerb.Aerb;
+import mugasofer.aerb.combat.CombatJournal;
 import mugasofer.aerb.entity.LesserUmbralUndeadEntity;
 import mugasofer.aerb.entity.ModEntities;
 import mugasofer.aerb.entity.UndeadEntity;
@@ -81,7 +82,7 @@ public class UmbralFormationHandler {
             if (formation.growingUmbral != null && (formation.growingUmbral.isRemoved() || formation.growingUmbral.isDead())) {
                 // Umbral died during formation - cancel
                 iter.remove();
-                Aerb.LOGGER.info("Umbral formation cancelled - Umbral was killed");
+                CombatJournal.formationCancelled(formation.world, formation.centroid, formation.absorbedCount, "umbral_killed");
                 continue;
             }
 
@@ -90,11 +91,11 @@ public class UmbralFormationHandler {
                 // If Umbral already spawned, let it live but stop formation
                 if (formation.growingUmbral != null) {
                     iter.remove();
-                    Aerb.LOGGER.info("Umbral formation ended early - watchers dispersed");
+                    CombatJournal.formationCancelled(formation.world, formation.centroid, formation.absorbedCount, "watchers_dispersed");
                     continue;
                 }
                 iter.remove();
-                Aerb.LOGGER.info("Umbral formation cancelled - not enough watchers");
+                CombatJournal.formationCancelled(formation.world, formation.centroid, formation.absorbedCount, "not_enough_watchers");
                 continue;
             }
 
@@ -102,7 +103,7 @@ public class UmbralFormationHandler {
             int totalAvailable = formation.absorbedCount + formation.members.size();
             if (totalAvailable < FORMATION_THRESHOLD && formation.growingUmbral == null) {
                 iter.remove();
-                Aerb.LOGGER.info("Umbral formation cancelled - not enough undead remaining");
+                CombatJournal.formationCancelled(formation.world, formation.centroid, formation.absorbedCount, "not_enough_undead");
                 continue;
             }
 
@@ -171,7 +172,7 @@ public class UmbralFormationHandler {
                                 entity.discard();
                             }
                             iter.remove();
-                            Aerb.LOGGER.info("Umbral formation complete with {} corpses", formation.absorbedCount);
+                            CombatJournal.formationCompleted(formation.world, formation.centroid, formation.absorbedCount);
                             continue;
                         }
                     } else {
@@ -228,7 +229,7 @@ public class UmbralFormationHandler {
         formation.world.spawnEntity(umbral);
         formation.growingUmbral = umbral;
 
-        Aerb.LOGGER.info("Growing Umbral spawned at ({}, {}, {})", spawnX, spawnY, spawnZ);
+        CombatJournal.umbralSpawned(umbral);
     }
 
     private static void checkFormations(ServerWorld world, long currentTime) {
@@ -342,7 +343,7 @@ public class UmbralFormationHandler {
         ChunkPos chunkPos = new ChunkPos((int)(formation.centroid.x) >> 4, (int)(formation.centroid.z) >> 4);
         formationCooldowns.put(chunkPos, currentTime);
 
-        Aerb.LOGGER.info("Umbral formation started with {} members and {} watchers",
+        CombatJournal.formationStarted(world, formation.centroid,
             formation.members.size(), formation.watchers.size());
     }
 
@@ -1,9 +1,12 @@
 package mugasofer.aerb.item;
 
 import mugasofer.aerb.config.XpConfig;
-import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.event.HeldItemChangedCallback;
+import mugasofer.aerb.skill.SkillRegistry;
 import mugasofer.aerb.skill.XpHelper;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
 import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.block.AbstractFireBlock;
@@ -29,7 +32,9 @@ import net.minecraft.world.event.GameEvent;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public class AardesTouchItem extends Item implements SpellItem {
@@ -38,6 +43,8 @@ public class AardesTouchItem extends Item implements SpellItem {
     private static final int XP_INTERVAL = 120; // Award 1 XP every 6 seconds (120 ticks) while holding
     // Track multiple light positions per player (feet and torso)
     private static final HashMap<UUID, List<BlockPos>> playerLightPositions = new HashMap<>();
+    // Players currently holding Aarde's Touch in their main hand
+    private static final Set<UUID> holders = new HashSet<>();
     private static boolean eventRegistered = false;
 
     public AardesTouchItem(Settings settings) {
@@ -62,76 +69,83 @@ public class AardesTouchItem extends Item implements SpellItem {
             cleanupPlayerLights(player);
         });
 
+        // Lights stay in the world they were placed in; drop them there and re-seed from the
+        // new entity or world, since no held-item change has to follow a respawn or world change
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) ->
+            reseedHolder(newPlayer, oldPlayer.getEntityWorld()));
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) ->
+            reseedHolder(player, origin));
+
+        // Track who is holding the Touch, so the tick only visits those players
+        HeldItemChangedCallback.EVENT.register((player, previous, current) -> {
+            if (current.getItem() instanceof AardesTouchItem) {
+                holders.add(player.getUuid());
+            } else if (holders.remove(player.getUuid())) {
+                // Stopped holding - remove any existing lights
+                cleanupPlayerLights(player);
+            }
+        });
+
         ServerTickEvents.END_SERVER_TICK.register(server -> {
-            for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
-                ItemStack mainHand = player.getMainHandStack();
-                boolean holdingTouch = mainHand.getItem() instanceof AardesTouchItem;
-                UUID playerId = player.getUuid();
+            if (holders.isEmpty()) return;
+            for (UUID playerId : holders) {
+                ServerPlayerEntity player = server.getPlayerManager().getPlayer(playerId);
+                if (player == null) continue;
                 BlockPos currentPos = player.getBlockPos();
                 ServerWorld world = (ServerWorld) player.getEntityWorld();
 
                 if (world == null) continue;
 
-                if (holdingTouch) {
-                    // === Dynamic Light ===
-                    BlockPos feetPos = currentPos;
-                    BlockPos torsoPos = currentPos.up(); // One block above feet
-                    List<BlockPos> oldPositions = playerLightPositions.get(playerId);
-
-                    // Only update if position changed or no light placed yet
-                    if (oldPositions == null || oldPositions.isEmpty() || !oldPositions.contains(feetPos)) {
-                        // Remove old light blocks
-                        if (oldPositions != null) {
-                            for (BlockPos oldPos : oldPositions) {
-                                removeLightBlock(world, oldPos);
-                            }
-                        }
-
-                        // Place new light blocks at feet and torso if spaces are air
-                        List<BlockPos> newPositions = new ArrayList<>();
-                        if (world.getBlockState(feetPos).isAir()) {
-                            world.setBlockState(feetPos,
-                                Blocks.LIGHT.getDefaultState().with(LightBlock.LEVEL_15, LIGHT_LEVEL));
-                            newPositions.add(feetPos);
-                        }
-                        if (world.getBlockState(torsoPos).isAir()) {
-                            world.setBlockState(torsoPos,
-                                Blocks.LIGHT.getDefaultState().with(LightBlock.LEVEL_15, LIGHT_LEVEL));
-                            newPositions.add(torsoPos);
-                        }
+                // === Dynamic Light ===
+                BlockPos feetPos = currentPos;
+                BlockPos torsoPos = currentPos.up(); // One block above feet
+                List<BlockPos> oldPositions = playerLightPositions.get(playerId);
 
-                        if (!newPositions.isEmpty()) {
-                            playerLightPositions.put(playerId, newPositions);
-                        } else {
-                            playerLightPositions.remove(playerId);
+                // Only update if position changed or no light placed yet
+                if (oldPositions == null || oldPositions.isEmpty() || !oldPositions.contains(feetPos)) {
+                    // Remove old light blocks
+                    if (oldPositions != null) {
+                        for (BlockPos oldPos : oldPositions) {
+                            removeLightBlock(world, oldPos);
                         }
                     }
 
-                    // === Cold/Freeze Effect ===
-                    // Set "in powder snow" for the visual frost overlay
-                    player.setInPowderSnow(true);
-
-                    // Slowly freeze the player (if they can freeze - leather armor protects)
-                    if (player.canFreeze() && server.getTicks() % FREEZE_INTERVAL == 0) {
-                        int currentFrozen = player.getFrozenTicks();
-                        int maxFrozen = player.getMinFreezeDamageTicks();
-                        player.setFrozenTicks(Math.min(maxFrozen, currentFrozen + 1));
+                    // Place new light blocks at feet and torso if spaces are air
+                    List<BlockPos> newPositions = new ArrayList<>();
+                    if (world.getBlockState(feetPos).isAir()) {
+                        world.setBlockState(feetPos,
+                            Blocks.LIGHT.getDefaultState().with(LightBlock.LEVEL_15, LIGHT_LEVEL));
+                        newPositions.add(feetPos);
                     }
-
-                    // === Blood Magic XP ===
-                    // Award 1 XP every 6 seconds while holding
-                    if (server.getTicks() % XP_INTERVAL == 0) {
-                        XpHelper.awardXp(player, PlayerSkills.BLOOD_MAGIC, XpConfig.get().xpPerSpellCast);
+                    if (world.getBlockState(torsoPos).isAir()) {
+                        world.setBlockState(torsoPos,
+                            Blocks.LIGHT.getDefaultState().with(LightBlock.LEVEL_15, LIGHT_LEVEL));
+                        newPositions.add(torsoPos);
                     }
-                } else {
-                    // Not holding - remove any existing lights
-                    List<BlockPos> oldPositions = playerLightPositions.remove(playerId);
-                    if (oldPositions != null) {
-                        for (BlockPos oldPos : oldPositions) {
-                            removeLightBlock(world, oldPos);
-                        }
+
+                    if (!newPositions.isEmpty()) {
+                        playerLightPositions.put(playerId, newPositions);
+                    } else {
+                        playerLightPositions.remove(playerId);
                     }
                 }
+
+                // === Cold/Freeze Effect ===
+                // Set "in powder snow" for the visual frost overlay
+                player.setInPowderSnow(true);
+
+                // Slowly freeze the player (if they can freeze - leather armor protects)
+                if (player.canFreeze() && server.getTicks() % FREEZE_INTERVAL == 0) {
+                    int currentFrozen = player.getFrozenTicks();
+                    int maxFrozen = player.getMinFreezeDamageTicks();
+                    player.setFrozenTicks(Math.min(maxFrozen, currentFrozen + 1));
+                }
+
+                // === Blood Magic XP ===
+                // Award 1 XP every 6 seconds while holding
+                if (server.getTicks() % XP_INTERVAL == 0) {
+                    XpHelper.queueXp(player, SkillRegistry.BLOOD_MAGIC, XpConfig.get().xpPerSpellCast);
+                }
             }
         });
     }
@@ -144,16 +158,32 @@ public class AardesTouchItem extends Item implements SpellItem {
     }
 
     private static void cleanupPlayerLights(ServerPlayerEntity player) {
-        UUID playerId = player.getUuid();
+        holders.remove(player.getUuid());
+        removeLights(player.getUuid(), player.getEntityWorld());
+    }
+
+    private static void removeLights(UUID playerId, World world) {
         List<BlockPos> oldPositions = playerLightPositions.remove(playerId);
         if (oldPositions != null) {
-            World world = player.getEntityWorld();
             for (BlockPos oldPos : oldPositions) {
                 removeLightBlock(world, oldPos);
             }
         }
     }
 
+    /**
+     * Rebuild a player's holder entry from their current main hand, removing lights
+     * left in the world they were placed in. The next tick places new ones.
+     */
+    private static void reseedHolder(ServerPlayerEntity player, World lightsWorld) {
+        removeLights(player.getUuid(), lightsWorld);
+        if (player.getMainHandStack().getItem() instanceof AardesTouchItem) {
+            holders.add(player.getUuid());
+        } else {
+            holders.remove(player.getUuid());
+        }
+    }
+
     @Override
     public ActionResult useOnBlock(ItemUsageContext context) {
         World world = context.getWorld();
@@ -1,7 +1,7 @@
 package mugasofer.aerb.item;
 
 import mugasofer.aerb.config.XpConfig;
-import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SkillRegistry;
 import mugasofer.aerb.skill.XpHelper;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
@@ -63,7 +63,7 @@ public class BloodMagicItem extends Item implements SpellItem {
 
             // Award Blood Magic XP
             if (user instanceof ServerPlayerEntity serverPlayer) {
-                XpHelper.awardXp(serverPlayer, PlayerSkills.BLOOD_MAGIC, XpConfig.get().xpPerSpellCast);
+                XpHelper.queueXp(serverPlayer, SkillRegistry.BLOOD_MAGIC, XpConfig.get().xpPerSpellCast);
             }
         }
 
@@ -92,7 +92,7 @@ public class BloodMagicItem extends Item implements SpellItem {
 
             // Award Blood Magic XP
             if (user instanceof ServerPlayerEntity serverPlayer) {
-                XpHelper.awardXp(serverPlayer, PlayerSkills.BLOOD_MAGIC, XpConfig.get().xpPerSpellCast);
+                XpHelper.queueXp(serverPlayer, SkillRegistry.BLOOD_MAGIC, XpConfig.get().xpPerSpellCast);
             }
         }
 
@@ -3,6 +3,7 @@ package mugasofer.aerb.item;
 import mugasofer.aerb.Aerb;
 import mugasofer.aerb.entity.ClaretSpearEntity;
 import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SkillRegistry;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.Item;
@@ -92,7 +93,7 @@ public class ClaretSpearItem extends Item implements SpellItem, DescribedItem {
             int bloodMagicLevel = 0;
             if (user instanceof ServerPlayerEntity serverPlayer) {
                 PlayerSkills skills = serverPlayer.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
-                bloodMagicLevel = Math.max(0, skills.getSkillLevel(PlayerSkills.BLOOD_MAGIC));
+                bloodMagicLevel = Math.max(0, skills.getSkillLevel(SkillRegistry.BLOOD_MAGIC));
             }
 
             // Create and throw the spear entity
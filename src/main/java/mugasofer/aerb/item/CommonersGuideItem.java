@@ -1,11 +1,9 @@
 package mugasofer.aerb.item;
 
+import mugasofer.aerb.event.HeldItemChangedCallback;
 import mugasofer.aerb.skill.PlayerSkills;
 import mugasofer.aerb.skill.XpHelper;
-import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.item.Item;
-import net.minecraft.item.ItemStack;
-import net.minecraft.server.network.ServerPlayerEntity;
 
 /**
  * A Commoner's Guide book that unlocks a specific skill when held.
@@ -18,26 +16,22 @@ public class CommonersGuideItem extends Item implements DescribedItem {
     public CommonersGuideItem(Settings settings, String skillToUnlock) {
         super(settings);
         this.skillToUnlock = skillToUnlock;
-        registerTickEvent();
+        registerHeldItemEvent();
     }
 
-    private void registerTickEvent() {
+    private void registerHeldItemEvent() {
         if (eventRegistered) return;
         eventRegistered = true;
 
-        ServerTickEvents.END_SERVER_TICK.register(server -> {
-            for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
-                ItemStack mainHand = player.getMainHandStack();
+        // Only runs when a player switches to a guide, not every tick for every player
+        HeldItemChangedCallback.EVENT.register((player, previous, current) -> {
+            if (current.getItem() instanceof CommonersGuideItem guide) {
+                String skill = guide.getSkillToUnlock();
+                PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
 
-                // Check if holding any Commoner's Guide
-                if (mainHand.getItem() instanceof CommonersGuideItem guide) {
-                    String skill = guide.getSkillToUnlock();
-                    PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
-
-                    // Unlock the skill if not already unlocked
-                    if (!skills.isUnlocked(skill)) {
-                        XpHelper.awardXp(player, skill, 0); // Unlock with 0 XP
-                    }
+                // Unlock the skill if not already unlocked
+                if (!skills.isUnlocked(skill)) {
+                    XpHelper.awardXp(player, skill, 0); // Unlock with 0 XP
                 }
             }
         });
@@ -166,9 +166,7 @@ public class ModItems {
                 .maxCount(1)
                 .registryKey(RegistryKey.of(RegistryKeys.ITEM, Identifier.of(Aerb.MOD_ID, "fall_rune_design"))),
             PlayerTattoos.FALL_RUNE,
-            0,  // Requires Skin Magic level 0
-            2,  // 2 grid cells wide (8 pixels)
-            2   // 2 grid cells tall (8 pixels)
+            0   // Requires Skin Magic level 0
         ));
 
     public static final Item ICY_DEVIL_DESIGN = register("icy_devil_design",
@@ -177,9 +175,7 @@ public class ModItems {
                 .maxCount(1)
                 .registryKey(RegistryKey.of(RegistryKeys.ITEM, Identifier.of(Aerb.MOD_ID, "icy_devil_design"))),
             PlayerTattoos.ICY_DEVIL,
-            5,  // Requires Skin Magic level 5
-            3,  // 3 grid cells wide (12 pixels)
-            3   // 3 grid cells tall (12 pixels)
+            5   // Requires Skin Magic level 5
         ));
 
     private static Item register(String name, Item item) {
@@ -1,7 +1,7 @@
 package mugasofer.aerb.item;
 
 import mugasofer.aerb.config.XpConfig;
-import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SkillRegistry;
 import mugasofer.aerb.skill.XpHelper;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.effect.StatusEffectInstance;
@@ -52,7 +52,7 @@ public class PhysicalTappingItem extends Item implements SpellItem {
 
             // Award Bone Magic XP
             if (user instanceof ServerPlayerEntity serverPlayer) {
-                XpHelper.awardXp(serverPlayer, PlayerSkills.BONE_MAGIC, XpConfig.get().xpPerSpellCast);
+                XpHelper.queueXp(serverPlayer, SkillRegistry.BONE_MAGIC, XpConfig.get().xpPerSpellCast);
             }
         }
 
@@ -90,7 +90,7 @@ public class PhysicalTappingItem extends Item implements SpellItem {
 
             // Award Bone Magic XP
             if (user instanceof ServerPlayerEntity serverPlayer) {
-                XpHelper.awardXp(serverPlayer, PlayerSkills.BONE_MAGIC, XpConfig.get().xpPerSpellCast);
+                XpHelper.queueXp(serverPlayer, SkillRegistry.BONE_MAGIC, XpConfig.get().xpPerSpellCast);
             }
         }
 
@@ -1,5 +1,6 @@
 package mugasofer.aerb.item;
 
+import mugasofer.aerb.tattoo.TattooTypes;
 import net.minecraft.item.Item;
 
 /**
@@ -10,15 +11,11 @@ import net.minecraft.item.Item;
 public class TattooDesignItem extends Item implements DescribedItem {
     private final String tattooId;
     private final int requiredSkinMagicLevel;
-    private final int gridWidth;
-    private final int gridHeight;
 
-    public TattooDesignItem(Settings settings, String tattooId, int requiredSkinMagicLevel, int gridWidth, int gridHeight) {
+    public TattooDesignItem(Settings settings, String tattooId, int requiredSkinMagicLevel) {
         super(settings);
         this.tattooId = tattooId;
         this.requiredSkinMagicLevel = requiredSkinMagicLevel;
-        this.gridWidth = gridWidth;
-        this.gridHeight = gridHeight;
     }
 
     /**
@@ -37,17 +34,17 @@ public class TattooDesignItem extends Item implements DescribedItem {
 
     /**
      * Get the width of this tattoo in grid cells (1-4).
-     * Each cell corresponds to 4x4 skin pixels.
+     * Each cell corresponds to 4x4 skin pixels. Sizes are registered in {@link TattooTypes}.
      */
     public int getGridWidth() {
-        return gridWidth;
+        return TattooTypes.gridWidth(tattooId);
     }
 
     /**
      * Get the height of this tattoo in grid cells (1-4).
-     * Each cell corresponds to 4x4 skin pixels.
+     * Each cell corresponds to 4x4 skin pixels. Sizes are registered in {@link TattooTypes}.
      */
     public int getGridHeight() {
-        return gridHeight;
+        return TattooTypes.gridHeight(tattooId);
     }
 }
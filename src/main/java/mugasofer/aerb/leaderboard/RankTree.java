@@ -0,0 +1,154 @@
+package mugasofer.aerb.leaderboard;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Order-statistic tree (a treap with subtree sizes) of players ranked by skill.
+ * Higher level ranks first, then higher XP; UUID breaks ties so every player
+ * has a distinct position. Insert, remove, rank and select are all O(log n).
+ */
+public class RankTree {
+    private final Random random = new Random();
+    private Node root;
+
+    private static final class Node {
+        final int level;
+        final int xp;
+        final UUID id;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(int level, int xp, UUID id, int priority) {
+            this.level = level;
+            this.xp = xp;
+            this.id = id;
+            this.priority = priority;
+        }
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void insert(int level, int xp, UUID id) {
+        Node node = new Node(level, xp, id, random.nextInt());
+        Node[] parts = split(root, level, xp, id);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    /**
+     * Remove an entry. The level and XP must be the ones it was inserted with.
+     */
+    public void remove(int level, int xp, UUID id) {
+        root = remove(root, level, xp, id);
+    }
+
+    /**
+     * Get the 0-based rank of an entry, or -1 if it isn't in the tree.
+     */
+    public int rank(int level, int xp, UUID id) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int c = compare(level, xp, id, node);
+            if (c < 0) {
+                node = node.left;
+            } else if (c > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the UUID at a 0-based rank, or null if out of range.
+     */
+    public UUID select(int rank) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank > leftSize) {
+                rank -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.id;
+            }
+        }
+        return null;
+    }
+
+    // Negative if (level, xp, id) ranks before the node
+    private static int compare(int level, int xp, UUID id, Node node) {
+        if (level != node.level) {
+            return level > node.level ? -1 : 1;
+        }
+        if (xp != node.xp) {
+            return xp > node.xp ? -1 : 1;
+        }
+        return id.compareTo(node.id);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    /**
+     * Split into entries ranking before the key and the rest.
+     */
+    private static Node[] split(Node node, int level, int xp, UUID id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(level, xp, id, node) > 0) {
+            Node[] parts = split(node.right, level, xp, id);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, level, xp, id);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    // Every entry in a ranks before every entry in b
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return update(a);
+        }
+        b.left = merge(a, b.left);
+        return update(b);
+    }
+
+    private static Node remove(Node node, int level, int xp, UUID id) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(level, xp, id, node);
+        if (c == 0) {
+            return merge(node.left, node.right);
+        }
+        if (c < 0) {
+            node.left = remove(node.left, level, xp, id);
+        } else {
+            node.right = remove(node.right, level, xp, id);
+        }
+        return update(node);
+    }
+}
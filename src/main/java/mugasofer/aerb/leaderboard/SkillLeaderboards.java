@@ -0,0 +1,298 @@
+package mugasofer.aerb.leaderboard;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import mugasofer.aerb.Aerb;
+import mugasofer.aerb.data.PlayerDataTool;
+import mugasofer.aerb.skill.PlayerSkills;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Uuids;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateType;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-wide skill rankings, including offline players, saved with the world.
+ * Each skill has an order-statistic tree keyed by (level, XP), updated whenever
+ * XpHelper or a command changes a player's skill, so top-N and rank queries are
+ * O(log n) and never read player files. If the index is missing (new world, or
+ * first run with this feature) it is rebuilt from saved player data in the background.
+ * Only accessed on the server thread.
+ */
+public class SkillLeaderboards extends PersistentState {
+    private record Entry(UUID id, String name, int level, int xp) {
+        static final Codec<Entry> CODEC = RecordCodecBuilder.create(instance ->
+            instance.group(
+                Uuids.CODEC.fieldOf("id").forGetter(Entry::id),
+                Codec.STRING.optionalFieldOf("name", "").forGetter(Entry::name),
+                Codec.INT.fieldOf("level").forGetter(Entry::level),
+                Codec.INT.fieldOf("xp").forGetter(Entry::xp)
+            ).apply(instance, Entry::new)
+        );
+    }
+
+    private static final Codec<SkillLeaderboards> CODEC = RecordCodecBuilder.create(instance ->
+        instance.group(
+            Codec.BOOL.fieldOf("built").forGetter(boards -> boards.built),
+            Codec.unboundedMap(Codec.STRING, Entry.CODEC.listOf()).fieldOf("skills").forGetter(SkillLeaderboards::getEntryLists)
+        ).apply(instance, SkillLeaderboards::new)
+    );
+
+    private static final PersistentStateType<SkillLeaderboards> TYPE = new PersistentStateType<>(
+        Aerb.MOD_ID + "_skill_leaderboards", SkillLeaderboards::new, CODEC, null);
+
+    private static SkillLeaderboards instance;
+
+    /**
+     * One skill's ranking: the tree, plus each player's current entry so it can be removed.
+     */
+    private static class Board {
+        final RankTree tree = new RankTree();
+        final Map<UUID, Entry> entries = new HashMap<>();
+
+        void put(Entry entry) {
+            Entry old = entries.put(entry.id(), entry);
+            if (old != null) {
+                tree.remove(old.level(), old.xp(), old.id());
+            }
+            tree.insert(entry.level(), entry.xp(), entry.id());
+        }
+
+        void remove(UUID id) {
+            Entry old = entries.remove(id);
+            if (old != null) {
+                tree.remove(old.level(), old.xp(), old.id());
+            }
+        }
+    }
+
+    private final Map<String, Board> boards = new HashMap<>();
+    private boolean built;
+
+    // Players updated live while a rebuild is running; their live data wins over the files
+    private Set<UUID> updatedDuringRebuild;
+
+    private SkillLeaderboards() {
+    }
+
+    private SkillLeaderboards(boolean built, Map<String, List<Entry>> skills) {
+        this.built = built;
+        skills.forEach((skill, entries) -> {
+            Board board = getBoard(skill);
+            entries.forEach(board::put);
+        });
+    }
+
+    public static void init() {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            instance = server.getOverworld().getPersistentStateManager().getOrCreate(TYPE);
+            if (!instance.built) {
+                instance.rebuild(server);
+            }
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> instance = null);
+
+        // Refresh names and levels when a player joins
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> updateAll(handler.getPlayer()));
+    }
+
+    /**
+     * The leaderboards for the running server, or null if no server is running.
+     */
+    public static SkillLeaderboards get() {
+        return instance;
+    }
+
+    /**
+     * Record a player's current level and XP for one skill.
+     */
+    public static void update(ServerPlayerEntity player, String skill) {
+        if (instance == null) {
+            return;
+        }
+        PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
+        instance.put(skill, player.getUuid(), player.getName().getString(),
+            skills.getSkillLevel(skill), skills.getSkillXp(skill));
+    }
+
+    /**
+     * Record a player's current level and XP for every skill they have.
+     */
+    public static void updateAll(ServerPlayerEntity player) {
+        if (instance == null) {
+            return;
+        }
+        PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
+        String name = player.getName().getString();
+        for (String skill : instance.boards.keySet()) {
+            if (!skills.isUnlocked(skill)) {
+                instance.put(skill, player.getUuid(), name, PlayerSkills.LOCKED, 0);
+            }
+        }
+        skills.getAllSkills().forEach((skill, level) ->
+            instance.put(skill, player.getUuid(), name, level, skills.getSkillXp(skill)));
+    }
+
+    private void put(String skill, UUID id, String name, int level, int xp) {
+        if (updatedDuringRebuild != null) {
+            updatedDuringRebuild.add(id);
+        }
+        if (level < 0) {
+            Board board = boards.get(skill);
+            if (board != null && board.entries.containsKey(id)) {
+                board.remove(id);
+                markDirty();
+            }
+            return;
+        }
+
+        Board board = getBoard(skill);
+        Entry old = board.entries.get(id);
+        if (old != null && old.level() == level && old.xp() == xp && old.name().equals(name)) {
+            return;
+        }
+        board.put(new Entry(id, name, level, xp));
+        markDirty();
+    }
+
+    private Board getBoard(String skill) {
+        return boards.computeIfAbsent(skill, s -> new Board());
+    }
+
+    // ============ Queries ============
+
+    /**
+     * A ranked player. Rank is 1-based. Name is empty if the player hasn't joined
+     * since the index was rebuilt from player files.
+     */
+    public record Ranking(int rank, UUID id, String name, int level, int xp) {}
+
+    /**
+     * Get the top players for a skill, best first.
+     */
+    public List<Ranking> getTop(String skill, int count) {
+        Board board = boards.get(skill);
+        List<Ranking> result = new ArrayList<>();
+        if (board == null) {
+            return result;
+        }
+        int limit = Math.min(count, board.tree.size());
+        for (int i = 0; i < limit; i++) {
+            Entry entry = board.entries.get(board.tree.select(i));
+            result.add(new Ranking(i + 1, entry.id(), entry.name(), entry.level(), entry.xp()));
+        }
+        return result;
+    }
+
+    /**
+     * Get a player's ranking for a skill, or null if they don't have the skill.
+     */
+    public Ranking getRank(String skill, UUID id) {
+        Board board = boards.get(skill);
+        if (board == null) {
+            return null;
+        }
+        Entry entry = board.entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        int rank = board.tree.rank(entry.level(), entry.xp(), id);
+        return new Ranking(rank + 1, id, entry.name(), entry.level(), entry.xp());
+    }
+
+    /**
+     * Number of ranked players for a skill.
+     */
+    public int getPlayerCount(String skill) {
+        Board board = boards.get(skill);
+        return board == null ? 0 : board.tree.size();
+    }
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    // ============ Rebuild ============
+
+    /**
+     * Rebuild the index from saved player data on a background thread,
+     * then merge it in on the server thread.
+     */
+    public void rebuild(MinecraftServer server) {
+        if (updatedDuringRebuild != null) {
+            return; // Already running
+        }
+        updatedDuringRebuild = new HashSet<>();
+        Aerb.LOGGER.info("Rebuilding skill leaderboards from player data");
+
+        CompletableFuture.supplyAsync(() -> {
+            Map<UUID, PlayerSkills> loaded = new ConcurrentHashMap<>();
+            try {
+                PlayerDataTool.listPlayerFiles(server.getSavePath(WorldSavePath.PLAYERDATA)).parallelStream().forEach(file -> readPlayer(file, loaded));
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return loaded;
+        }).whenCompleteAsync((loaded, error) -> {
+            Set<UUID> skip = updatedDuringRebuild;
+            updatedDuringRebuild = null;
+            if (error != null) {
+                Aerb.LOGGER.error("Failed to rebuild skill leaderboards", error);
+                return;
+            }
+
+            loaded.forEach((id, skills) -> {
+                if (skip.contains(id)) {
+                    return;
+                }
+                // Keep the name if we already know it
+                skills.getAllSkills().forEach((skill, level) -> {
+                    Entry old = getBoard(skill).entries.get(id);
+                    put(skill, id, old != null ? old.name() : "", level, skills.getSkillXp(skill));
+                });
+            });
+            built = true;
+            markDirty();
+
+            // Online players' files may be stale
+            for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+                updateAll(player);
+            }
+            Aerb.LOGGER.info("Rebuilt skill leaderboards from " + loaded.size() + " players");
+        }, server);
+    }
+
+    private static void readPlayer(Path file, Map<UUID, PlayerSkills> loaded) {
+        UUID id = PlayerDataTool.getPlayerId(file);
+        try {
+            NbtElement skills = PlayerDataTool.readAttachment(file, PlayerDataTool.SKILLS_KEY);
+            if (skills != null) {
+                PlayerSkills.CODEC.parse(NbtOps.INSTANCE, skills).result().ifPresent(parsed -> loaded.put(id, parsed));
+            }
+        } catch (Exception e) {
+            Aerb.LOGGER.warn("Skipping unreadable player data " + file + ": " + e.getMessage());
+        }
+    }
+
+    private Map<String, List<Entry>> getEntryLists() {
+        Map<String, List<Entry>> result = new HashMap<>();
+        boards.forEach((skill, board) -> result.put(skill, new ArrayList<>(board.entries.values())));
+        return result;
+    }
+}
@@ -2,7 +2,7 @@ package mugasofer.aerb.mixin;
 
 import mugasofer.aerb.combat.ParryHandler;
 import mugasofer.aerb.config.XpConfig;
-import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SkillRegistry;
 import mugasofer.aerb.skill.XpHelper;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
@@ -50,7 +50,7 @@ public class AttackSwingMixin {
 
         // Award One-Handed XP if attacking a living entity with sword/axe
         if (target instanceof LivingEntity && XpHelper.isOneHandedWeapon(weapon)) {
-            XpHelper.awardXp(player, PlayerSkills.ONE_HANDED, XpConfig.get().xpPerDamageDealt);
+            XpHelper.queueXp(player, SkillRegistry.ONE_HANDED, XpConfig.get().xpPerDamageDealt);
         }
     }
 }
@@ -2,6 +2,7 @@ package mugasofer.aerb.mixin;
 
 import mugasofer.aerb.item.ClaretSpearItem;
 import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SkillRegistry;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
@@ -36,7 +37,7 @@ public class ClaretSpearDamageMixin {
 
         // Get Blood Magic level and calculate damage
         PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
-        int bloodMagicLevel = Math.max(0, skills.getSkillLevel(PlayerSkills.BLOOD_MAGIC));
+        int bloodMagicLevel = Math.max(0, skills.getSkillLevel(SkillRegistry.BLOOD_MAGIC));
         float damage = ClaretSpearItem.getDamage(bloodMagicLevel);
 
         // Create damage source and apply damage
@@ -1,6 +1,8 @@
 package mugasofer.aerb.mixin;
 
-import mugasofer.aerb.config.HypertensionConfig;
+import mugasofer.aerb.combat.CombatJournal;
+import mugasofer.aerb.combat.CombatRecorder;
+import mugasofer.aerb.combat.CombatRules;
 import mugasofer.aerb.item.ModItems;
 import mugasofer.aerb.virtue.VirtueInventory;
 import net.minecraft.entity.damage.DamageSource;
@@ -25,21 +27,12 @@ public class HypertensionDamageMixin {
     private void modifyDamageForHypertension(ServerWorld world, DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
         ServerPlayerEntity player = (ServerPlayerEntity) (Object) this;
 
-        if (!hasHypertension(player)) {
-            return; // No modification needed
-        }
-
-        // Only apply extra damage when above 50% HP (you have the "extra blood" to lose)
-        float healthPercent = player.getHealth() / player.getMaxHealth();
-        if (healthPercent <= 0.5f) {
-            return; // Below half health, no extra damage
-        }
-
         // Get the damage type identifier
-        String damageTypeId = aerb$getHypertensionDamageTypeId(source);
+        String damageTypeId = CombatRules.getDamageTypeId(source);
 
-        // Get multiplier from config
-        double multiplier = HypertensionConfig.get().getMultiplier(damageTypeId);
+        // Only apply extra damage when above 50% HP (you have the "extra blood" to lose)
+        double multiplier = CombatRules.hypertensionMultiplier(
+            hasHypertension(player), player.getHealth(), player.getMaxHealth(), damageTypeId);
 
         if (multiplier != 1.0) {
             // Cancel this call and re-call with modified damage
@@ -52,12 +45,16 @@ public class HypertensionDamageMixin {
                 return;
             }
 
+            CombatJournal.hypertensionScaled(player, damageTypeId, amount, multiplier);
+            CombatRecorder.noteHypertension(amount, multiplier);
+
             isProcessingDamage.set(true);
             try {
                 boolean result = player.damage(world, source, modifiedDamage);
                 cir.setReturnValue(result);
             } finally {
                 isProcessingDamage.set(false);
+                CombatRecorder.clearHypertension();
             }
         }
     }
@@ -80,16 +77,4 @@ public class HypertensionDamageMixin {
 
         return false;
     }
-
-    /**
-     * Get the damage type identifier string from a DamageSource.
-     */
-    private String aerb$getHypertensionDamageTypeId(DamageSource source) {
-        // The damage type is stored in the registry key
-        var typeKey = source.getTypeRegistryEntry().getKey();
-        if (typeKey.isPresent()) {
-            return typeKey.get().getValue().toString();
-        }
-        return "minecraft:generic";
-    }
 }
@@ -1,9 +1,9 @@
 package mugasofer.aerb.mixin;
 
-import mugasofer.aerb.config.XpConfig;
-import mugasofer.aerb.skill.PlayerSkills;
-import mugasofer.aerb.skill.XpHelper;
+import mugasofer.aerb.event.HeldItemChangedCallback;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
 import net.minecraft.server.network.ServerPlayerEntity;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
@@ -12,56 +12,28 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 /**
- * Mixin to detect when a player equips a new item in their main hand.
- * Awards XP for relevant items that haven't been equipped before.
+ * Mixin to detect when a player changes the item in their main hand.
+ * This is the single main-hand change detector; reactions go through HeldItemChangedCallback.
  */
 @Mixin(ServerPlayerEntity.class)
 public class ItemEquipMixin {
 
+    // Only the item matters for change detection, so there's no need to copy the stack.
+    // Null until the first tick, so a new entity (join, respawn) always reports what it holds,
+    // even an empty hand, and listeners drop state kept for the entity it replaced.
     @Unique
-    private ItemStack lastMainHandStack = ItemStack.EMPTY;
+    private Item lastMainHandItem;
 
     @Inject(method = "tick", at = @At("HEAD"))
     private void onTick(CallbackInfo ci) {
         ServerPlayerEntity player = (ServerPlayerEntity) (Object) this;
         ItemStack currentMainHand = player.getMainHandStack();
 
-        // Check if main hand item changed
-        if (!ItemStack.areItemsEqual(currentMainHand, lastMainHandStack)) {
-            lastMainHandStack = currentMainHand.copy();
-
-            // Skip empty hands
-            if (currentMainHand.isEmpty()) {
-                return;
-            }
-
-            PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
-
-            // Unlock one-handed skill when equipping any sword or axe
-            if (XpHelper.isOneHandedWeapon(currentMainHand) && !skills.isUnlocked(PlayerSkills.ONE_HANDED)) {
-                XpHelper.awardXp(player, PlayerSkills.ONE_HANDED, 0); // Unlock with 0 XP
-            }
-
-            // Get the relevant skill for this item
-            String relevantSkill = XpHelper.getRelevantSkill(currentMainHand);
-            if (relevantSkill == null) {
-                return;
-            }
-
-            // Get the item identifier for tracking
-            String itemId = XpHelper.getItemIdentifier(currentMainHand);
-            if (itemId == null) {
-                return;
-            }
-
-            // Check if this is a new item (not discovered before)
-            if (!skills.hasDiscoveredItem(itemId)) {
-                // Mark as discovered
-                skills.discoverItem(itemId);
-
-                // Award XP
-                XpHelper.awardXp(player, relevantSkill, XpConfig.get().xpPerNewItemEquip);
-            }
+        // One comparison per tick; listeners only run when the item actually changed
+        if (lastMainHandItem == null || !currentMainHand.isOf(lastMainHandItem)) {
+            Item previous = lastMainHandItem != null ? lastMainHandItem : Items.AIR;
+            lastMainHandItem = currentMainHand.getItem();
+            HeldItemChangedCallback.EVENT.invoker().onHeldItemChanged(player, previous, currentMainHand);
         }
     }
 }
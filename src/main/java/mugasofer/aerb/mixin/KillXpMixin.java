@@ -1,7 +1,7 @@
 package mugasofer.aerb.mixin;
 
 import mugasofer.aerb.config.XpConfig;
-import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SkillRegistry;
 import mugasofer.aerb.skill.XpHelper;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
@@ -35,7 +35,7 @@ public class KillXpMixin {
 
             // Award One-Handed XP for kills with swords/axes
             if (XpHelper.isOneHandedWeapon(weapon)) {
-                XpHelper.awardXp(player, PlayerSkills.ONE_HANDED, XpConfig.get().xpPerKill);
+                XpHelper.queueXp(player, SkillRegistry.ONE_HANDED, XpConfig.get().xpPerKill);
             }
         }
     }
@@ -1,11 +1,14 @@
 package mugasofer.aerb.mixin;
 
 import mugasofer.aerb.Aerb;
+import mugasofer.aerb.combat.CombatRecorder;
+import mugasofer.aerb.combat.CombatRules;
 import mugasofer.aerb.combat.ParryHandler;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
@@ -17,41 +20,79 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
  */
 @Mixin(ServerPlayerEntity.class)
 public class ParryDamageMixin {
+    // Source of the hit being checked until its damage() call returns. Hypertension re-enters
+    // damage() with the scaled amount, which must not roll or record the same hit again.
+    @Unique
+    private DamageSource aerb$checkedSource;
 
     /**
      * Check for parry conditions when player takes damage.
      */
     @Inject(method = "damage", at = @At("HEAD"), cancellable = true)
     private void onDamage(ServerWorld world, DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
+        if (source == aerb$checkedSource) {
+            return;
+        }
+        aerb$checkedSource = source;
         ServerPlayerEntity player = (ServerPlayerEntity) (Object) this;
 
+        // Capture inputs before the parry changes anything (weapon switch, skill unlock, XP)
+        boolean recording = CombatRecorder.isRecording();
+        if (recording) {
+            CombatRecorder.beginEvent(player, source, amount);
+        }
+
+        boolean parried = aerb$tryParry(player, source, amount);
+
+        if (recording) {
+            CombatRecorder.finishEvent(parried);
+        }
+
+        if (parried) {
+            // Parry succeeded - cancel the damage
+            aerb$checkedSource = null;
+            cir.setReturnValue(false);
+        }
+        // If parry failed, damage proceeds normally
+    }
+
+    @Inject(method = "damage", at = @At("RETURN"))
+    private void onDamageReturn(ServerWorld world, DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
+        aerb$checkedSource = null;
+    }
+
+    /**
+     * Attempt a parry if conditions allow. Returns true if the hit was parried.
+     */
+    @Unique
+    private boolean aerb$tryParry(ServerPlayerEntity player, DamageSource source, float amount) {
         boolean hasPropheticBlade = ParryHandler.hasPropheticBlade(player);
 
         // Check if player is holding a parryable weapon
         // Prophetic Blade: only need a parryable weapon somewhere in hotbar
         if (!hasPropheticBlade && !ParryHandler.isParryableWeapon(player.getMainHandStack())) {
-            return;
+            return false;
         }
-        if (hasPropheticBlade && !hasParryableWeaponInHotbar(player)) {
-            return;
+        if (hasPropheticBlade && !ParryHandler.hasParryableWeaponInHotbar(player)) {
+            return false;
         }
 
         // Check if player is in attack swing
         // Prophetic Blade: always parrying when in hotbar
         if (!hasPropheticBlade && !ParryHandler.isInAttackSwing(player)) {
-            return;
+            return false;
         }
 
         // Check if damage is parryable (skip environmental damage)
-        if (!isParryableDamage(source)) {
-            return;
+        if (!CombatRules.isParryableDamage(CombatRules.getDamageTypeId(source))) {
+            return false;
         }
 
         // Check if attack is from the front
         // Prophetic Blade: parry from any direction
         if (!hasPropheticBlade && !ParryHandler.isFrontalAttack(player, source)) {
             Aerb.LOGGER.debug("Attack not frontal, no parry attempt");
-            return;
+            return false;
         }
 
         // Prophetic Blade: switch to best weapon and swing BEFORE parry
@@ -60,71 +101,6 @@ public class ParryDamageMixin {
         }
 
         // Attempt parry!
-        ParryHandler.ParryResult result = ParryHandler.attemptParry(player, source, amount);
-
-        if (result.success()) {
-            // Parry succeeded - cancel the damage
-            cir.setReturnValue(false);
-        }
-        // If parry failed, damage proceeds normally
-    }
-
-    /**
-     * Check if player has any parryable weapon in their hotbar.
-     */
-    private boolean hasParryableWeaponInHotbar(ServerPlayerEntity player) {
-        for (int i = 0; i < 9; i++) {
-            if (ParryHandler.isParryableWeapon(player.getInventory().getStack(i))) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Check if a damage type can be parried.
-     * Parryable: melee attacks, projectiles
-     * Not parryable: environmental, magic, etc.
-     */
-    private boolean isParryableDamage(DamageSource source) {
-        String damageTypeId = aerb$getParryDamageTypeId(source);
-
-        // Parryable damage types (melee and projectiles)
-        if (damageTypeId.contains("player_attack") ||
-            damageTypeId.contains("mob_attack") ||
-            damageTypeId.contains("arrow") ||
-            damageTypeId.contains("trident")) {
-            return true;
-        }
-
-        // Non-parryable damage types (environmental, magic, etc.)
-        if (damageTypeId.contains("fall") ||
-            damageTypeId.contains("drown") ||
-            damageTypeId.contains("fire") ||
-            damageTypeId.contains("lava") ||
-            damageTypeId.contains("magic") ||
-            damageTypeId.contains("wither") ||
-            damageTypeId.contains("starve") ||
-            damageTypeId.contains("void") ||
-            damageTypeId.contains("generic") ||
-            damageTypeId.contains("explosion") ||
-            damageTypeId.contains("cactus") ||
-            damageTypeId.contains("cramming")) {
-            return false;
-        }
-
-        // Default to parryable for unknown attack types (mobs, etc.)
-        return true;
-    }
-
-    /**
-     * Get the damage type identifier string from a DamageSource.
-     */
-    private String aerb$getParryDamageTypeId(DamageSource source) {
-        var typeKey = source.getTypeRegistryEntry().getKey();
-        if (typeKey.isPresent()) {
-            return typeKey.get().getValue().toString();
-        }
-        return "minecraft:generic";
+        return ParryHandler.attemptParry(player, source, amount).success();
     }
 }
@@ -0,0 +1,16 @@
+package mugasofer.aerb.mixin;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.server.network.ServerLoginNetworkHandler;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Exposes the logging-in player's profile, so the shared skill store can start
+ * loading their data before they finish joining.
+ */
+@Mixin(ServerLoginNetworkHandler.class)
+public interface ServerLoginNetworkHandlerAccessor {
+    @Accessor("profile")
+    GameProfile aerb$getProfile();
+}
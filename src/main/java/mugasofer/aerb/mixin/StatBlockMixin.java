@@ -0,0 +1,54 @@
+package mugasofer.aerb.mixin;
+
+import mugasofer.aerb.stat.StatBlock;
+import mugasofer.aerb.stat.StatBlockHolder;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Mixin to give every living entity a cached stat block.
+ * The block is invalidated whenever a status effect is added, upgraded or removed.
+ * Runs on both sides, so the client character sheet stays in sync with synced effects.
+ */
+@Mixin(LivingEntity.class)
+public abstract class StatBlockMixin implements StatBlockHolder {
+
+    @Unique
+    private StatBlock aerb$statBlock;
+
+    @Override
+    public StatBlock aerb$getStatBlock() {
+        if (aerb$statBlock == null) {
+            aerb$statBlock = new StatBlock((LivingEntity) (Object) this);
+        }
+        return aerb$statBlock;
+    }
+
+    @Inject(method = {"onStatusEffectApplied", "onStatusEffectUpgraded", "onStatusEffectsRemoved"}, at = @At("HEAD"))
+    private void onStatusEffectsChanged(CallbackInfo ci) {
+        aerb$invalidateStats();
+    }
+
+    /**
+     * The client removes effects through this method without the removal callback.
+     */
+    @Inject(method = "removeStatusEffectInternal", at = @At("RETURN"))
+    private void onStatusEffectRemovedInternal(CallbackInfoReturnable<StatusEffectInstance> cir) {
+        if (cir.getReturnValue() != null) {
+            aerb$invalidateStats();
+        }
+    }
+
+    @Unique
+    private void aerb$invalidateStats() {
+        if (aerb$statBlock != null) {
+            aerb$statBlock.invalidate();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package mugasofer.aerb.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.registry.DynamicRegistryManager;
+
+/**
+ * Part of a payload encoded once and copied as-is into every recipient's packet,
+ * for state that goes unchanged to many players (such as a player's tattoos to everyone tracking them).
+ * Encoding uses a pooled scratch buffer that is released before encode returns; what is kept
+ * is an exact-size copy, so packets that are dropped before sending leave nothing to release.
+ */
+public final class EncodedSnapshot {
+    private final byte[] bytes;
+
+    private EncodedSnapshot(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public static <T> EncodedSnapshot encode(PacketCodec<RegistryByteBuf, T> codec, T value, DynamicRegistryManager registries) {
+        ByteBuf scratch = PooledByteBufAllocator.DEFAULT.buffer();
+        try {
+            codec.encode(new RegistryByteBuf(scratch, registries), value);
+            byte[] bytes = new byte[scratch.readableBytes()];
+            scratch.readBytes(bytes);
+            return new EncodedSnapshot(bytes);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    public void writeTo(ByteBuf buf) {
+        buf.writeBytes(bytes);
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+}
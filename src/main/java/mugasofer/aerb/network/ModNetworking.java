@@ -6,36 +6,55 @@ import mugasofer.aerb.item.TattooInkItem;
 import mugasofer.aerb.item.TattooNeedleItem;
 import mugasofer.aerb.screen.SpellSlotsScreenHandler;
 import mugasofer.aerb.screen.VirtuesScreenHandler;
+import mugasofer.aerb.config.XpConfig;
 import mugasofer.aerb.skill.PlayerSkills;
+import mugasofer.aerb.skill.SharedSkillStore;
+import mugasofer.aerb.skill.SkillRegistry;
+import mugasofer.aerb.skill.XpCurve;
 import mugasofer.aerb.skill.XpHelper;
 import mugasofer.aerb.spell.SpellInventory;
+import mugasofer.aerb.tattoo.FallRuneHandler;
 import mugasofer.aerb.tattoo.PlayerTattoos;
+import mugasofer.aerb.tattoo.TattooChange;
 import mugasofer.aerb.tattoo.TattooInstance;
+import mugasofer.aerb.tattoo.TattooTypes;
 import mugasofer.aerb.virtue.VirtueInventory;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.EntityTrackingEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.item.ItemStack;
 import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.network.codec.PacketCodecs;
 import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.DynamicRegistryManager;
 import net.minecraft.screen.SimpleNamedScreenHandlerFactory;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 public class ModNetworking {
     // Packet IDs
     public static final Identifier OPEN_SPELL_INVENTORY_ID = Identifier.of(Aerb.MOD_ID, "open_spell_inventory");
     public static final Identifier OPEN_VIRTUE_INVENTORY_ID = Identifier.of(Aerb.MOD_ID, "open_virtue_inventory");
-    public static final Identifier SYNC_SKILLS_ID = Identifier.of(Aerb.MOD_ID, "sync_skills");
+    public static final Identifier PLAYER_STATE_ID = Identifier.of(Aerb.MOD_ID, "player_state");
     public static final Identifier SET_SELECTED_SLOT_ID = Identifier.of(Aerb.MOD_ID, "set_selected_slot");
-    public static final Identifier SYNC_TATTOOS_ID = Identifier.of(Aerb.MOD_ID, "sync_tattoos");
     public static final Identifier APPLY_TATTOO_ID = Identifier.of(Aerb.MOD_ID, "apply_tattoo");
     public static final Identifier MOVE_TATTOO_ID = Identifier.of(Aerb.MOD_ID, "move_tattoo");
+    public static final Identifier SYNC_XP_CURVE_ID = Identifier.of(Aerb.MOD_ID, "sync_xp_curve");
+    public static final Identifier REQUEST_RESYNC_ID = Identifier.of(Aerb.MOD_ID, "request_resync");
+    public static final Identifier OTHER_TATTOOS_ID = Identifier.of(Aerb.MOD_ID, "other_tattoos");
+    public static final Identifier REQUEST_OTHER_TATTOOS_ID = Identifier.of(Aerb.MOD_ID, "request_other_tattoos");
 
     // Custom payload for opening spell inventory (empty payload, just a signal)
     public record OpenSpellInventoryPayload() implements CustomPayload {
@@ -59,37 +78,192 @@ public class ModNetworking {
         }
     }
 
-    // Payload for syncing skills from server to client (includes levels and XP)
-    public record SyncSkillsPayload(
-        int bloodMagic, int boneMagic, int oneHanded, int parry,
-        int horticulture, int art, int skinMagic,
-        int bloodMagicXp, int boneMagicXp, int oneHandedXp, int parryXp,
-        int horticultureXp, int artXp, int skinMagicXp
-    ) implements CustomPayload {
-        public static final Id<SyncSkillsPayload> ID = new Id<>(SYNC_SKILLS_ID);
-        public static final PacketCodec<RegistryByteBuf, SyncSkillsPayload> CODEC = PacketCodec.of(
+    // Player state sections; each one is a bit in PlayerStatePayload.sections
+    public static final int SECTION_SKILLS = 1;
+    public static final int SECTION_TATTOOS = 1 << 1;
+    public static final int SECTION_ALL = SECTION_SKILLS | SECTION_TATTOOS;
+
+    // Sections marked dirty this tick, per player; flushed as one PlayerStatePayload at the end of the tick
+    private static final Map<UUID, Integer> dirtySections = new HashMap<>();
+
+    // Bundled player state (server to client). Only the sections flagged in `sections` are present.
+    public record PlayerStatePayload(int sections, SkillsSection skills, TattoosSection tattoos) implements CustomPayload {
+        public static final Id<PlayerStatePayload> ID = new Id<>(PLAYER_STATE_ID);
+        public static final PacketCodec<RegistryByteBuf, PlayerStatePayload> CODEC = PacketCodec.of(
             (value, buf) -> {
-                buf.writeInt(value.bloodMagic);
-                buf.writeInt(value.boneMagic);
-                buf.writeInt(value.oneHanded);
-                buf.writeInt(value.parry);
-                buf.writeInt(value.horticulture);
-                buf.writeInt(value.art);
-                buf.writeInt(value.skinMagic);
-                buf.writeInt(value.bloodMagicXp);
-                buf.writeInt(value.boneMagicXp);
-                buf.writeInt(value.oneHandedXp);
-                buf.writeInt(value.parryXp);
-                buf.writeInt(value.horticultureXp);
-                buf.writeInt(value.artXp);
-                buf.writeInt(value.skinMagicXp);
+                buf.writeVarInt(value.sections);
+                if ((value.sections & SECTION_SKILLS) != 0) {
+                    SkillsSection.CODEC.encode(buf, value.skills);
+                }
+                if ((value.sections & SECTION_TATTOOS) != 0) {
+                    TattoosSection.CODEC.encode(buf, value.tattoos);
+                }
             },
-            buf -> new SyncSkillsPayload(
-                buf.readInt(), buf.readInt(), buf.readInt(), buf.readInt(),
-                buf.readInt(), buf.readInt(), buf.readInt(),
-                buf.readInt(), buf.readInt(), buf.readInt(), buf.readInt(),
-                buf.readInt(), buf.readInt(), buf.readInt()
-            )
+            buf -> {
+                int sections = buf.readVarInt();
+                SkillsSection skills = (sections & SECTION_SKILLS) != 0 ? SkillsSection.CODEC.decode(buf) : null;
+                TattoosSection tattoos = (sections & SECTION_TATTOOS) != 0 ? TattoosSection.CODEC.decode(buf) : null;
+                return new PlayerStatePayload(sections, skills, tattoos);
+            }
+        );
+
+        @Override
+        public Id<? extends CustomPayload> getId() {
+            return ID;
+        }
+    }
+
+    // Player state section: skill levels and XP, as (ordinal, level, xp) triples for changed skills only.
+    // Ordinals are the server's SkillRegistry ordinals; a full snapshot also carries the ordinal -> name
+    // table, so the client needs no built-in knowledge of which skills exist.
+    // Sequence numbers let the client spot a missed delta and ask for a full snapshot.
+    public record SkillsSection(int sequence, boolean full, List<String> names,
+                                int[] ordinals, int[] levels, int[] xp) {
+        public static final PacketCodec<RegistryByteBuf, SkillsSection> CODEC = PacketCodec.of(
+            (value, buf) -> {
+                buf.writeVarInt(value.sequence);
+                buf.writeBoolean(value.full);
+                if (value.full) {
+                    buf.writeVarInt(value.names.size());
+                    for (String name : value.names) {
+                        buf.writeString(name);
+                    }
+                }
+                buf.writeVarInt(value.ordinals.length);
+                for (int i = 0; i < value.ordinals.length; i++) {
+                    buf.writeVarInt(value.ordinals[i]);
+                    buf.writeVarInt(value.levels[i] + 1); // LOCKED (-1) becomes 0
+                    buf.writeVarInt(value.xp[i]);
+                }
+            },
+            buf -> {
+                int sequence = buf.readVarInt();
+                boolean full = buf.readBoolean();
+                List<String> names = new ArrayList<>();
+                if (full) {
+                    int nameCount = buf.readVarInt();
+                    if (nameCount > MAX_SKILLS) {
+                        throw new IllegalArgumentException("Too many skills: " + nameCount);
+                    }
+                    for (int i = 0; i < nameCount; i++) {
+                        names.add(buf.readString());
+                    }
+                }
+                int count = buf.readVarInt();
+                if (count > MAX_SKILLS) {
+                    throw new IllegalArgumentException("Too many skills: " + count);
+                }
+                int[] ordinals = new int[count];
+                int[] levels = new int[count];
+                int[] xp = new int[count];
+                for (int i = 0; i < count; i++) {
+                    ordinals[i] = buf.readVarInt();
+                    levels[i] = buf.readVarInt() - 1;
+                    xp[i] = buf.readVarInt();
+                }
+                return new SkillsSection(sequence, full, names, ordinals, levels, xp);
+            }
+        );
+    }
+
+    // Sanity limit on skill counts read from the network
+    private static final int MAX_SKILLS = 1024;
+
+    /**
+     * What a player's client was last sent for the skills section, so the next sync can send only differences.
+     */
+    private static class SkillSyncState {
+        int sequence;
+        int namesSent;
+        int[] levels = new int[0];
+        int[] xp = new int[0];
+    }
+
+    // Per-player skill sync state; a missing entry means the next skills section is a full snapshot
+    private static final Map<UUID, SkillSyncState> skillSyncStates = new HashMap<>();
+
+    // Tattoo list version each player's client has; a missing entry means the next tattoos section is a full snapshot
+    private static final Map<UUID, Integer> tattooSyncVersions = new HashMap<>();
+
+    // Players tracking each player (by UUID), with the version of that player's tattoos each watcher's client has.
+    // Only watchers get someone's tattoos, so traffic scales with nearby players rather than server population.
+    private static final Map<UUID, Map<UUID, Integer>> tattooWatchers = new HashMap<>();
+
+    // Each player's last full tattoo snapshot payload, encoded, reused by watchers that start tracking them in the same tick
+    private static final Map<UUID, FullTattooSnapshot> fullTattooSnapshots = new HashMap<>();
+
+    private record FullTattooSnapshot(int version, long worldTime, OtherTattoosPayload payload) {
+    }
+
+    // Payload for asking the server for a full snapshot of some player state sections (client to server)
+    public record RequestResyncPayload(int sections) implements CustomPayload {
+        public static final Id<RequestResyncPayload> ID = new Id<>(REQUEST_RESYNC_ID);
+        public static final PacketCodec<RegistryByteBuf, RequestResyncPayload> CODEC = PacketCodec.of(
+            (value, buf) -> buf.writeVarInt(value.sections),
+            buf -> new RequestResyncPayload(buf.readVarInt())
+        );
+
+        @Override
+        public Id<? extends CustomPayload> getId() {
+            return ID;
+        }
+    }
+
+    // Another player's tattoos, sent only to players tracking them (server to client).
+    // Every watcher on the same version gets the same bytes, so the server encodes the section once
+    // and each packet copies them. The section itself is always carried too, since a local
+    // (singleplayer or LAN host) connection hands the payload over without encoding it.
+    public static final class OtherTattoosPayload implements CustomPayload {
+        public static final Id<OtherTattoosPayload> ID = new Id<>(OTHER_TATTOOS_ID);
+        public static final PacketCodec<RegistryByteBuf, OtherTattoosPayload> CODEC = PacketCodec.of(
+            (value, buf) -> {
+                buf.writeUuid(value.playerId);
+                value.encodedTattoos.writeTo(buf);
+            },
+            buf -> {
+                UUID playerId = buf.readUuid();
+                return new OtherTattoosPayload(playerId, TattoosSection.CODEC.decode(buf), null);
+            }
+        );
+
+        private final UUID playerId;
+        private final TattoosSection tattoos;
+        // Encode-side cache of tattoos; only read when the payload is written to a buffer
+        private final EncodedSnapshot encodedTattoos;
+
+        private OtherTattoosPayload(UUID playerId, TattoosSection tattoos, EncodedSnapshot encodedTattoos) {
+            this.playerId = playerId;
+            this.tattoos = tattoos;
+            this.encodedTattoos = encodedTattoos;
+        }
+
+        /**
+         * Build a payload for a section, encoding it now so every packet sending it can share the bytes.
+         */
+        public static OtherTattoosPayload encode(UUID playerId, TattoosSection tattoos, DynamicRegistryManager registries) {
+            return new OtherTattoosPayload(playerId, tattoos, EncodedSnapshot.encode(TattoosSection.CODEC, tattoos, registries));
+        }
+
+        public UUID playerId() {
+            return playerId;
+        }
+
+        public TattoosSection tattoos() {
+            return tattoos;
+        }
+
+        @Override
+        public Id<? extends CustomPayload> getId() {
+            return ID;
+        }
+    }
+
+    // Payload for asking for a full snapshot of a tracked player's tattoos (client to server)
+    public record RequestOtherTattoosPayload(UUID playerId) implements CustomPayload {
+        public static final Id<RequestOtherTattoosPayload> ID = new Id<>(REQUEST_OTHER_TATTOOS_ID);
+        public static final PacketCodec<RegistryByteBuf, RequestOtherTattoosPayload> CODEC = PacketCodec.of(
+            (value, buf) -> buf.writeUuid(value.playerId),
+            buf -> new RequestOtherTattoosPayload(buf.readUuid())
         );
 
         @Override
@@ -116,30 +290,26 @@ public class ModNetworking {
         }
     }
 
-    // Payload for syncing tattoos from server to client
-    public record SyncTattoosPayload(List<TattooInstance> tattoos) implements CustomPayload {
-        public static final Id<SyncTattoosPayload> ID = new Id<>(SYNC_TATTOOS_ID);
-        public static final PacketCodec<RegistryByteBuf, SyncTattoosPayload> CODEC = PacketCodec.of(
+    // Payload for syncing the XP-per-level table from server to client
+    public record SyncXpCurvePayload(int[] xpPerLevel) implements CustomPayload {
+        public static final Id<SyncXpCurvePayload> ID = new Id<>(SYNC_XP_CURVE_ID);
+        public static final PacketCodec<RegistryByteBuf, SyncXpCurvePayload> CODEC = PacketCodec.of(
             (value, buf) -> {
-                buf.writeInt(value.tattoos.size());
-                for (TattooInstance instance : value.tattoos) {
-                    buf.writeString(instance.tattooId());
-                    buf.writeInt(instance.gridX());
-                    buf.writeInt(instance.gridY());
-                    buf.writeLong(instance.cooldownUntil());
+                buf.writeVarInt(value.xpPerLevel.length);
+                for (int xp : value.xpPerLevel) {
+                    buf.writeVarInt(xp);
                 }
             },
             buf -> {
-                int count = buf.readInt();
-                List<TattooInstance> tattoos = new ArrayList<>();
+                int count = buf.readVarInt();
+                if (count != XpCurve.MAX_LEVEL + 1) {
+                    throw new IllegalArgumentException("Bad XP table size: " + count);
+                }
+                int[] xpPerLevel = new int[count];
                 for (int i = 0; i < count; i++) {
-                    String id = buf.readString();
-                    int gridX = buf.readInt();
-                    int gridY = buf.readInt();
-                    long cooldown = buf.readLong();
-                    tattoos.add(new TattooInstance(id, gridX, gridY, cooldown));
+                    xpPerLevel[i] = buf.readVarInt();
                 }
-                return new SyncTattoosPayload(tattoos);
+                return new SyncXpCurvePayload(xpPerLevel);
             }
         );
 
@@ -149,16 +319,185 @@ public class ModNetworking {
         }
     }
 
+    // Player state section: the player's tattoos, either as a full snapshot or as the changes since
+    // `version`, which the client must be at to apply them (otherwise it asks for a full resync).
+    // Cooldowns travel as ticks remaining rather than absolute world time, so they stay small on the wire;
+    // the sender converts with relativeTo and the receiver converts back with withCooldownsFrom.
+    public record TattoosSection(int version, boolean full, List<TattooInstance> tattoos, List<TattooChange> changes) {
+        public static final PacketCodec<RegistryByteBuf, TattoosSection> CODEC = PacketCodec.of(
+            (value, buf) -> {
+                buf.writeVarInt(value.version);
+                buf.writeBoolean(value.full);
+                if (value.full) {
+                    buf.writeVarInt(value.tattoos.size());
+                    for (TattooInstance instance : value.tattoos) {
+                        writeTattooId(buf, instance.tattooId());
+                        buf.writeByte(packGrid(instance.gridX(), instance.gridY()));
+                        buf.writeVarLong(instance.cooldownUntil());
+                    }
+                } else {
+                    buf.writeVarInt(value.changes.size());
+                    for (TattooChange change : value.changes) {
+                        buf.writeByte(change.type().ordinal());
+                        switch (change.type()) {
+                            case ADD -> {
+                                writeTattooId(buf, change.tattooId());
+                                buf.writeByte(packGrid(change.gridX(), change.gridY()));
+                                buf.writeVarLong(change.cooldownUntil());
+                            }
+                            case REMOVE -> buf.writeVarInt(change.index());
+                            case MOVE -> {
+                                buf.writeVarInt(change.index());
+                                buf.writeByte(packGrid(change.gridX(), change.gridY()));
+                            }
+                            case COOLDOWN -> {
+                                buf.writeVarInt(change.index());
+                                buf.writeVarLong(change.cooldownUntil());
+                            }
+                        }
+                    }
+                }
+            },
+            buf -> {
+                int version = buf.readVarInt();
+                boolean full = buf.readBoolean();
+                int count = buf.readVarInt();
+                if (count > MAX_TATTOOS) {
+                    throw new IllegalArgumentException("Too many tattoos: " + count);
+                }
+                List<TattooInstance> tattoos = new ArrayList<>();
+                List<TattooChange> changes = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    if (full) {
+                        String id = readTattooId(buf);
+                        int grid = buf.readUnsignedByte();
+                        long cooldown = buf.readVarLong();
+                        tattoos.add(new TattooInstance(id, gridX(grid), gridY(grid), cooldown));
+                        continue;
+                    }
+                    int type = buf.readUnsignedByte();
+                    if (type >= TattooChange.Type.values().length) {
+                        throw new IllegalArgumentException("Unknown tattoo change: " + type);
+                    }
+                    changes.add(switch (TattooChange.Type.values()[type]) {
+                        case ADD -> {
+                            String id = readTattooId(buf);
+                            int grid = buf.readUnsignedByte();
+                            yield TattooChange.add(new TattooInstance(id, gridX(grid), gridY(grid), buf.readVarLong()));
+                        }
+                        case REMOVE -> TattooChange.remove(buf.readVarInt());
+                        case MOVE -> {
+                            int index = buf.readVarInt();
+                            int grid = buf.readUnsignedByte();
+                            yield TattooChange.move(index, gridX(grid), gridY(grid));
+                        }
+                        case COOLDOWN -> TattooChange.cooldown(buf.readVarInt(), buf.readVarLong());
+                    });
+                }
+                return new TattoosSection(version, full, tattoos, changes);
+            }
+        );
+
+        /**
+         * Make this section's cooldowns relative to the sender's world time.
+         */
+        public TattoosSection relativeTo(long worldTime) {
+            List<TattooInstance> relativeTattoos = new ArrayList<>(tattoos.size());
+            for (TattooInstance instance : tattoos) {
+                relativeTattoos.add(instance.withCooldown(Math.max(0, instance.cooldownUntil() - worldTime)));
+            }
+            List<TattooChange> relativeChanges = new ArrayList<>(changes.size());
+            for (TattooChange change : changes) {
+                relativeChanges.add(change.withCooldown(Math.max(0, change.cooldownUntil() - worldTime)));
+            }
+            return new TattoosSection(version, full, relativeTattoos, relativeChanges);
+        }
+
+        /**
+         * Make this section's cooldowns absolute again, given the receiver's world time.
+         */
+        public TattoosSection withCooldownsFrom(long worldTime) {
+            List<TattooInstance> absoluteTattoos = new ArrayList<>(tattoos.size());
+            for (TattooInstance instance : tattoos) {
+                long remaining = instance.cooldownUntil();
+                absoluteTattoos.add(remaining > 0 ? instance.withCooldown(worldTime + remaining) : instance);
+            }
+            List<TattooChange> absoluteChanges = new ArrayList<>(changes.size());
+            for (TattooChange change : changes) {
+                long remaining = change.cooldownUntil();
+                absoluteChanges.add(remaining > 0 ? change.withCooldown(worldTime + remaining) : change);
+            }
+            return new TattoosSection(version, full, absoluteTattoos, absoluteChanges);
+        }
+    }
+
+    // Sanity limit on tattoo counts read from the network (one per grid cell)
+    private static final int MAX_TATTOOS = 256;
+
+    // Tattoo ids go over the wire as registry id + 1; 0 means an unregistered id follows as a string
+    private static void writeTattooId(RegistryByteBuf buf, String tattooId) {
+        int id = TattooTypes.id(tattooId);
+        buf.writeVarInt(id + 1);
+        if (id < 0) {
+            buf.writeString(tattooId);
+        }
+    }
+
+    private static String readTattooId(RegistryByteBuf buf) {
+        int id = buf.readVarInt() - 1;
+        if (id < 0) {
+            return buf.readString();
+        }
+        String tattooId = TattooTypes.name(id);
+        if (tattooId == null) {
+            throw new IllegalArgumentException("Unknown tattoo type: " + id);
+        }
+        return tattooId;
+    }
+
+    /**
+     * Read a tattoo id sent by a client. Clients can only apply registered tattoos,
+     * so the string fallback is refused here, while decoding on the network thread,
+     * instead of handing the packet to the receiver on the server thread to reject.
+     */
+    private static String readClientTattooId(RegistryByteBuf buf) {
+        int id = buf.readVarInt() - 1;
+        String tattooId = id < 0 ? null : TattooTypes.name(id);
+        if (tattooId == null) {
+            throw new IllegalArgumentException("Unknown tattoo type: " + id);
+        }
+        return tattooId;
+    }
+
+    // Grid coordinates are 0-15, so a position fits in one byte: x in the high nibble, y in the low
+    private static int packGrid(int gridX, int gridY) {
+        if (gridX < 0 || gridX > 15 || gridY < 0 || gridY > 15) {
+            throw new IllegalArgumentException("Grid position out of range: " + gridX + ", " + gridY);
+        }
+        return gridX << 4 | gridY;
+    }
+
+    private static int gridX(int packed) {
+        return packed >> 4 & 0xF;
+    }
+
+    private static int gridY(int packed) {
+        return packed & 0xF;
+    }
+
     // Payload for applying a tattoo (client to server)
     public record ApplyTattooPayload(String tattooId, int gridX, int gridY) implements CustomPayload {
         public static final Id<ApplyTattooPayload> ID = new Id<>(APPLY_TATTOO_ID);
         public static final PacketCodec<RegistryByteBuf, ApplyTattooPayload> CODEC = PacketCodec.of(
             (value, buf) -> {
-                buf.writeString(value.tattooId);
-                buf.writeInt(value.gridX);
-                buf.writeInt(value.gridY);
+                writeTattooId(buf, value.tattooId);
+                buf.writeByte(packGrid(value.gridX, value.gridY));
             },
-            buf -> new ApplyTattooPayload(buf.readString(), buf.readInt(), buf.readInt())
+            buf -> {
+                String tattooId = readClientTattooId(buf);
+                int grid = buf.readUnsignedByte();
+                return new ApplyTattooPayload(tattooId, gridX(grid), gridY(grid));
+            }
         );
 
         @Override
@@ -172,13 +511,16 @@ public class ModNetworking {
         public static final Id<MoveTattooPayload> ID = new Id<>(MOVE_TATTOO_ID);
         public static final PacketCodec<RegistryByteBuf, MoveTattooPayload> CODEC = PacketCodec.of(
             (value, buf) -> {
-                buf.writeString(value.tattooId);
-                buf.writeInt(value.oldGridX);
-                buf.writeInt(value.oldGridY);
-                buf.writeInt(value.newGridX);
-                buf.writeInt(value.newGridY);
+                writeTattooId(buf, value.tattooId);
+                buf.writeByte(packGrid(value.oldGridX, value.oldGridY));
+                buf.writeByte(packGrid(value.newGridX, value.newGridY));
             },
-            buf -> new MoveTattooPayload(buf.readString(), buf.readInt(), buf.readInt(), buf.readInt(), buf.readInt())
+            buf -> {
+                String tattooId = readClientTattooId(buf);
+                int oldGrid = buf.readUnsignedByte();
+                int newGrid = buf.readUnsignedByte();
+                return new MoveTattooPayload(tattooId, gridX(oldGrid), gridY(oldGrid), gridX(newGrid), gridY(newGrid));
+            }
         );
 
         @Override
@@ -202,92 +544,324 @@ public class ModNetworking {
     }
 
     /**
-     * Send skill data to a player's client.
+     * Mark sections of a player's state as changed. They are sent to the client
+     * at the end of the tick, bundled into one payload however many times they were marked.
      */
-    public static void syncSkillsToClient(ServerPlayerEntity player) {
-        PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
-        SyncSkillsPayload payload = new SyncSkillsPayload(
-            skills.getSkillLevel(PlayerSkills.BLOOD_MAGIC),
-            skills.getSkillLevel(PlayerSkills.BONE_MAGIC),
-            skills.getSkillLevel(PlayerSkills.ONE_HANDED),
-            skills.getSkillLevel(PlayerSkills.PARRY),
-            skills.getSkillLevel(PlayerSkills.HORTICULTURE),
-            skills.getSkillLevel(PlayerSkills.ART),
-            skills.getSkillLevel(PlayerSkills.SKIN_MAGIC),
-            skills.getSkillXp(PlayerSkills.BLOOD_MAGIC),
-            skills.getSkillXp(PlayerSkills.BONE_MAGIC),
-            skills.getSkillXp(PlayerSkills.ONE_HANDED),
-            skills.getSkillXp(PlayerSkills.PARRY),
-            skills.getSkillXp(PlayerSkills.HORTICULTURE),
-            skills.getSkillXp(PlayerSkills.ART),
-            skills.getSkillXp(PlayerSkills.SKIN_MAGIC)
-        );
-        ServerPlayNetworking.send(player, payload);
+    public static void markDirty(ServerPlayerEntity player, int sections) {
+        dirtySections.merge(player.getUuid(), sections, (a, b) -> a | b);
+    }
+
+    private static void flushDirtySections(MinecraftServer server) {
+        if (dirtySections.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<UUID, Integer> entry : dirtySections.entrySet()) {
+            // Look the player up by UUID in case they respawned since the section was marked
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(entry.getKey());
+            if (player != null) {
+                sendPlayerState(player, entry.getValue());
+                if ((entry.getValue() & SECTION_TATTOOS) != 0) {
+                    syncTattoosToWatchers(player);
+                }
+            }
+        }
+        dirtySections.clear();
     }
 
     /**
-     * Send tattoo data to a player's client.
+     * Send the given sections of a player's state to their client right away.
      */
-    public static void syncTattoosToClient(ServerPlayerEntity player) {
+    public static void sendPlayerState(ServerPlayerEntity player, int sections) {
+        // Sections with nothing new since the last sync are dropped
+        SkillsSection skills = (sections & SECTION_SKILLS) != 0 ? buildSkillsSection(player) : null;
+        if (skills == null) {
+            sections &= ~SECTION_SKILLS;
+        }
+        TattoosSection tattoos = (sections & SECTION_TATTOOS) != 0 ? buildTattoosSection(player) : null;
+        if (tattoos == null) {
+            sections &= ~SECTION_TATTOOS;
+        }
+        if (sections == 0) {
+            return;
+        }
+        ServerPlayNetworking.send(player, new PlayerStatePayload(sections, skills, tattoos));
+    }
+
+    /**
+     * Build the tattoos section for a player's own client: the changes since the version it has,
+     * or a full snapshot if it has none or is too far behind. Returns null if nothing changed.
+     */
+    private static TattoosSection buildTattoosSection(ServerPlayerEntity player) {
         PlayerTattoos tattoos = player.getAttachedOrCreate(PlayerTattoos.ATTACHMENT);
-        SyncTattoosPayload payload = new SyncTattoosPayload(tattoos.getAllTattoos());
-        ServerPlayNetworking.send(player, payload);
+        Integer sentVersion = tattooSyncVersions.put(player.getUuid(), tattoos.getVersion());
+        return buildTattoosSection(tattoos, sentVersion, player.getEntityWorld().getTime());
+    }
+
+    private static TattoosSection buildTattoosSection(PlayerTattoos tattoos, Integer sentVersion, long worldTime) {
+        TattoosSection section;
+        List<TattooChange> changes = sentVersion != null ? tattoos.getChangesSince(sentVersion) : null;
+        if (changes == null) {
+            section = new TattoosSection(tattoos.getVersion(), true, tattoos.getAllTattoos(), List.of());
+        } else if (changes.isEmpty()) {
+            return null;
+        } else {
+            section = new TattoosSection(sentVersion, false, List.of(), changes);
+        }
+        return section.relativeTo(worldTime);
+    }
+
+    /**
+     * Send a player's tattoo changes to everyone tracking them.
+     */
+    private static void syncTattoosToWatchers(ServerPlayerEntity player) {
+        Map<UUID, Integer> watchers = tattooWatchers.get(player.getUuid());
+        if (watchers == null || watchers.isEmpty()) {
+            return;
+        }
+        PlayerTattoos tattoos = player.getAttachedOrCreate(PlayerTattoos.ATTACHMENT);
+        long worldTime = player.getEntityWorld().getTime();
+        // Watchers are nearly always on the same version, so each distinct delta is encoded once
+        Map<Integer, OtherTattoosPayload> payloadByVersion = new HashMap<>();
+        for (Map.Entry<UUID, Integer> watcher : watchers.entrySet()) {
+            ServerPlayerEntity watcherPlayer = player.getEntityWorld().getServer().getPlayerManager().getPlayer(watcher.getKey());
+            if (watcherPlayer == null) {
+                continue;
+            }
+            Integer sentVersion = watcher.getValue();
+            watcher.setValue(tattoos.getVersion());
+            OtherTattoosPayload payload = payloadByVersion.computeIfAbsent(sentVersion, version -> {
+                TattoosSection section = buildTattoosSection(tattoos, version, worldTime);
+                return section != null ? encodeTattoos(player, section) : null;
+            });
+            if (payload != null) {
+                ServerPlayNetworking.send(watcherPlayer, payload);
+            }
+        }
+    }
+
+    private static OtherTattoosPayload encodeTattoos(ServerPlayerEntity player, TattoosSection section) {
+        return OtherTattoosPayload.encode(player.getUuid(), section, player.getEntityWorld().getRegistryManager());
+    }
+
+    /**
+     * Start sending a player's tattoos to a watcher, beginning with a full snapshot.
+     */
+    private static void startWatchingTattoos(ServerPlayerEntity target, ServerPlayerEntity watcher) {
+        PlayerTattoos tattoos = target.getAttachedOrCreate(PlayerTattoos.ATTACHMENT);
+        tattooWatchers.computeIfAbsent(target.getUuid(), id -> new HashMap<>()).put(watcher.getUuid(), tattoos.getVersion());
+        long worldTime = target.getEntityWorld().getTime();
+
+        // Many players often start tracking someone in the same tick (a login, a teleport),
+        // and they all get the same snapshot
+        FullTattooSnapshot cached = fullTattooSnapshots.get(target.getUuid());
+        if (cached == null || cached.version() != tattoos.getVersion() || cached.worldTime() != worldTime) {
+            TattoosSection section = buildTattoosSection(tattoos, null, worldTime);
+            cached = new FullTattooSnapshot(tattoos.getVersion(), worldTime, encodeTattoos(target, section));
+            fullTattooSnapshots.put(target.getUuid(), cached);
+        }
+        ServerPlayNetworking.send(watcher, cached.payload());
+    }
+
+    private static void stopWatchingTattoos(UUID target, UUID watcher) {
+        Map<UUID, Integer> watchers = tattooWatchers.get(target);
+        if (watchers != null) {
+            watchers.remove(watcher);
+            if (watchers.isEmpty()) {
+                tattooWatchers.remove(target);
+            }
+        }
+    }
+
+    /**
+     * Build the skills section for a player: a full snapshot if their client has none (or is
+     * missing a skill name), otherwise only the skills that changed. Returns null if nothing changed.
+     */
+    private static SkillsSection buildSkillsSection(ServerPlayerEntity player) {
+        PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
+        int skillCount = SkillRegistry.size();
+
+        SkillSyncState state = skillSyncStates.get(player.getUuid());
+        boolean full = state == null;
+        if (!full) {
+            // A skill registered since the last snapshot has no name on the client yet
+            for (int skill = state.namesSent; skill < skillCount; skill++) {
+                if (skills.getSkillLevel(skill) != PlayerSkills.LOCKED || skills.getSkillXp(skill) != 0) {
+                    full = true;
+                    break;
+                }
+            }
+        }
+        if (full) {
+            state = new SkillSyncState();
+            skillSyncStates.put(player.getUuid(), state);
+        }
+
+        int[] sentLevels = Arrays.copyOf(state.levels, skillCount);
+        int[] sentXp = Arrays.copyOf(state.xp, skillCount);
+        if (state.levels.length < skillCount) {
+            Arrays.fill(sentLevels, state.levels.length, skillCount, PlayerSkills.LOCKED);
+        }
+
+        int[] ordinals = new int[skillCount];
+        int[] levels = new int[skillCount];
+        int[] xp = new int[skillCount];
+        int count = 0;
+        for (int skill = 0; skill < skillCount; skill++) {
+            int level = skills.getSkillLevel(skill);
+            int skillXp = skills.getSkillXp(skill);
+            if (full ? level != PlayerSkills.LOCKED || skillXp != 0 : level != sentLevels[skill] || skillXp != sentXp[skill]) {
+                ordinals[count] = skill;
+                levels[count] = level;
+                xp[count] = skillXp;
+                count++;
+            }
+            sentLevels[skill] = level;
+            sentXp[skill] = skillXp;
+        }
+        state.levels = sentLevels;
+        state.xp = sentXp;
+
+        if (!full && count == 0) {
+            return null;
+        }
+
+        List<String> names = new ArrayList<>();
+        if (full) {
+            for (int skill = 0; skill < skillCount; skill++) {
+                names.add(SkillRegistry.name(skill));
+            }
+            state.namesSent = skillCount;
+        }
+        state.sequence++;
+        return new SkillsSection(state.sequence, full, names,
+            Arrays.copyOf(ordinals, count), Arrays.copyOf(levels, count), Arrays.copyOf(xp, count));
+    }
+
+    /**
+     * Make the next sync of the given sections a full snapshot, e.g. after the client reports a gap.
+     */
+    public static void requestFullSync(ServerPlayerEntity player, int sections) {
+        if ((sections & SECTION_SKILLS) != 0) {
+            skillSyncStates.remove(player.getUuid());
+        }
+        if ((sections & SECTION_TATTOOS) != 0) {
+            tattooSyncVersions.remove(player.getUuid());
+        }
+        markDirty(player, sections);
+    }
+
+    /**
+     * Send the XP-per-level table to a player's client.
+     */
+    public static void syncXpCurveToClient(ServerPlayerEntity player) {
+        ServerPlayNetworking.send(player, new SyncXpCurvePayload(XpConfig.get().getCurve().getXpPerLevel()));
+    }
+
+    /**
+     * Count a packet from a client and check it against that player's rate limit.
+     * Play receivers run on the server thread, so this is checked before the handler
+     * does any work; a dropped packet has cost only its decode.
+     */
+    private static boolean acceptFromClient(ServerPlayNetworking.Context context, CustomPayload payload) {
+        NetworkMetrics.recordSender(context.player());
+        return PayloadRateLimiter.tryAcquire(context.player(), payload);
     }
 
     public static void init() {
-        // Register payload types
-        PayloadTypeRegistry.playC2S().register(OpenSpellInventoryPayload.ID, OpenSpellInventoryPayload.CODEC);
-        PayloadTypeRegistry.playC2S().register(OpenVirtueInventoryPayload.ID, OpenVirtueInventoryPayload.CODEC);
-        PayloadTypeRegistry.playC2S().register(ApplyTattooPayload.ID, ApplyTattooPayload.CODEC);
-        PayloadTypeRegistry.playC2S().register(MoveTattooPayload.ID, MoveTattooPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(SyncSkillsPayload.ID, SyncSkillsPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(SetSelectedSlotPayload.ID, SetSelectedSlotPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(SyncTattoosPayload.ID, SyncTattoosPayload.CODEC);
+        // Register payload types, counting their traffic
+        PayloadTypeRegistry.playC2S().register(OpenSpellInventoryPayload.ID, NetworkMetrics.counted(OpenSpellInventoryPayload.ID, OpenSpellInventoryPayload.CODEC));
+        PayloadTypeRegistry.playC2S().register(OpenVirtueInventoryPayload.ID, NetworkMetrics.counted(OpenVirtueInventoryPayload.ID, OpenVirtueInventoryPayload.CODEC));
+        PayloadTypeRegistry.playC2S().register(ApplyTattooPayload.ID, NetworkMetrics.counted(ApplyTattooPayload.ID, ApplyTattooPayload.CODEC));
+        PayloadTypeRegistry.playC2S().register(MoveTattooPayload.ID, NetworkMetrics.counted(MoveTattooPayload.ID, MoveTattooPayload.CODEC));
+        PayloadTypeRegistry.playC2S().register(RequestResyncPayload.ID, NetworkMetrics.counted(RequestResyncPayload.ID, RequestResyncPayload.CODEC));
+        PayloadTypeRegistry.playC2S().register(RequestOtherTattoosPayload.ID, NetworkMetrics.counted(RequestOtherTattoosPayload.ID, RequestOtherTattoosPayload.CODEC));
+        PayloadTypeRegistry.playS2C().register(PlayerStatePayload.ID, NetworkMetrics.counted(PlayerStatePayload.ID, PlayerStatePayload.CODEC));
+        PayloadTypeRegistry.playS2C().register(SetSelectedSlotPayload.ID, NetworkMetrics.counted(SetSelectedSlotPayload.ID, SetSelectedSlotPayload.CODEC));
+        PayloadTypeRegistry.playS2C().register(SyncXpCurvePayload.ID, NetworkMetrics.counted(SyncXpCurvePayload.ID, SyncXpCurvePayload.CODEC));
+        PayloadTypeRegistry.playS2C().register(OtherTattoosPayload.ID, NetworkMetrics.counted(OtherTattoosPayload.ID, OtherTattoosPayload.CODEC));
+
+        // Send each player's dirty state once per tick
+        ServerTickEvents.END_SERVER_TICK.register(ModNetworking::flushDirtySections);
+
+        // A new connection starts with an empty client cache
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            skillSyncStates.remove(handler.getPlayer().getUuid());
+            tattooSyncVersions.remove(handler.getPlayer().getUuid());
+            dirtySections.remove(handler.getPlayer().getUuid());
+            UUID leaving = handler.getPlayer().getUuid();
+            tattooWatchers.remove(leaving);
+            fullTattooSnapshots.remove(leaving);
+            tattooWatchers.values().removeIf(watchers -> watchers.remove(leaving) != null && watchers.isEmpty());
+        });
+
+        // Other players' tattoos follow entity tracking: a snapshot when someone comes into view,
+        // deltas while they stay in view, nothing once they leave
+        EntityTrackingEvents.START_TRACKING.register((trackedEntity, player) -> {
+            if (trackedEntity instanceof ServerPlayerEntity target) {
+                startWatchingTattoos(target, player);
+            }
+        });
+        EntityTrackingEvents.STOP_TRACKING.register((trackedEntity, player) -> {
+            if (trackedEntity instanceof ServerPlayerEntity target) {
+                stopWatchingTattoos(target.getUuid(), player.getUuid());
+            }
+        });
+
+        // Client missed an update for a player it tracks; only answered while still tracking them
+        ServerPlayNetworking.registerGlobalReceiver(RequestOtherTattoosPayload.ID, (payload, context) -> {
+            if (!acceptFromClient(context, payload)) return;
+            Map<UUID, Integer> watchers = tattooWatchers.get(payload.playerId());
+            ServerPlayerEntity target = context.server().getPlayerManager().getPlayer(payload.playerId());
+            if (watchers != null && watchers.containsKey(context.player().getUuid()) && target != null) {
+                startWatchingTattoos(target, context.player());
+            }
+        });
+
+        // Client missed an update; send it everything for those sections
+        ServerPlayNetworking.registerGlobalReceiver(RequestResyncPayload.ID, (payload, context) -> {
+            if (!acceptFromClient(context, payload)) return;
+            requestFullSync(context.player(), payload.sections() & SECTION_ALL);
+        });
 
         // Register server-side handler for spell inventory
         ServerPlayNetworking.registerGlobalReceiver(OpenSpellInventoryPayload.ID, (payload, context) -> {
-            // Run on server thread
-            context.server().execute(() -> {
-                var player = context.player();
-                SpellInventory spellInventory = player.getAttachedOrCreate(SpellInventory.ATTACHMENT);
-
-                player.openHandledScreen(new SimpleNamedScreenHandlerFactory(
-                    (syncId, playerInventory, p) -> new SpellSlotsScreenHandler(syncId, playerInventory, spellInventory),
-                    Text.literal("Spell Inventory")
-                ));
-            });
+            if (!acceptFromClient(context, payload)) return;
+            var player = context.player();
+            SpellInventory spellInventory = player.getAttachedOrCreate(SpellInventory.ATTACHMENT);
+
+            player.openHandledScreen(new SimpleNamedScreenHandlerFactory(
+                (syncId, playerInventory, p) -> new SpellSlotsScreenHandler(syncId, playerInventory, spellInventory),
+                Text.literal("Spell Inventory")
+            ));
         });
 
         // Register server-side handler for virtue inventory
         ServerPlayNetworking.registerGlobalReceiver(OpenVirtueInventoryPayload.ID, (payload, context) -> {
-            // Run on server thread
-            context.server().execute(() -> {
-                var player = context.player();
-                VirtueInventory virtueInventory = player.getAttachedOrCreate(VirtueInventory.ATTACHMENT);
-
-                player.openHandledScreen(new SimpleNamedScreenHandlerFactory(
-                    (syncId, playerInventory, p) -> new VirtuesScreenHandler(syncId, playerInventory, virtueInventory),
-                    Text.literal("Virtue Inventory")
-                ));
-            });
+            if (!acceptFromClient(context, payload)) return;
+            var player = context.player();
+            VirtueInventory virtueInventory = player.getAttachedOrCreate(VirtueInventory.ATTACHMENT);
+
+            player.openHandledScreen(new SimpleNamedScreenHandlerFactory(
+                (syncId, playerInventory, p) -> new VirtuesScreenHandler(syncId, playerInventory, virtueInventory),
+                Text.literal("Virtue Inventory")
+            ));
         });
 
         // Register server-side handler for applying tattoos
         ServerPlayNetworking.registerGlobalReceiver(ApplyTattooPayload.ID, (payload, context) -> {
-            context.server().execute(() -> {
-                var player = context.player();
-                handleApplyTattoo(player, payload.tattooId(), payload.gridX(), payload.gridY());
-            });
+            if (!acceptFromClient(context, payload)) return;
+            handleApplyTattoo(context.player(), payload.tattooId(), payload.gridX(), payload.gridY());
         });
 
         // Register server-side handler for moving tattoos
         ServerPlayNetworking.registerGlobalReceiver(MoveTattooPayload.ID, (payload, context) -> {
-            context.server().execute(() -> {
-                var player = context.player();
-                handleMoveTattoo(player, payload.tattooId(), payload.oldGridX(), payload.oldGridY(), payload.newGridX(), payload.newGridY());
-            });
+            if (!acceptFromClient(context, payload)) return;
+            handleMoveTattoo(context.player(), payload.tattooId(), payload.oldGridX(), payload.oldGridY(), payload.newGridX(), payload.newGridY());
         });
 
+        PayloadRateLimiter.init();
+        NetworkMetrics.init();
+
         Aerb.LOGGER.info("Registered networking for " + Aerb.MOD_ID);
     }
 
@@ -322,6 +896,13 @@ public class ModNetworking {
             return;
         }
 
+        // Tattoos can't overlap
+        PlayerTattoos tattoos = player.getAttachedOrCreate(PlayerTattoos.ATTACHMENT);
+        if (!tattoos.canPlace(tattooId, gridX, gridY)) {
+            player.sendMessage(Text.literal("That spot is already tattooed!"), true);
+            return;
+        }
+
         // Find ink in inventory
         int inkSlot = -1;
         for (int i = 0; i < player.getInventory().size(); i++) {
@@ -337,7 +918,7 @@ public class ModNetworking {
 
         // Check Skin Magic skill
         PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
-        int skinMagicLevel = skills.getSkillLevel(PlayerSkills.SKIN_MAGIC);
+        int skinMagicLevel = skills.getSkillLevel(SkillRegistry.SKIN_MAGIC);
         if (skinMagicLevel < 0) {
             player.sendMessage(Text.literal("You haven't learned Skin Magic!"), true);
             return;
@@ -356,19 +937,20 @@ public class ModNetworking {
         TattooNeedleItem.damageNeedle(mainHand, player);
 
         // Add tattoo
-        PlayerTattoos tattoos = player.getAttachedOrCreate(PlayerTattoos.ATTACHMENT);
         tattoos.addTattoo(tattooId, gridX, gridY);
+        FallRuneHandler.updateBearer(player);
 
         // Award Skin Magic XP
-        XpHelper.awardXp(player, PlayerSkills.SKIN_MAGIC, 10);
+        XpHelper.queueXp(player, SkillRegistry.SKIN_MAGIC, 10);
 
         // Sync to client
-        syncTattoosToClient(player);
+        markDirty(player, SECTION_TATTOOS);
+        SharedSkillStore.markDirty(player);
 
         // Success message
         player.sendMessage(Text.literal("Applied " + tattooId.replace("_", " ") + " at (" + gridX + ", " + gridY + ")!"), true);
 
-        Aerb.LOGGER.info("{} applied tattoo {} at ({}, {})", player.getName().getString(), tattooId, gridX, gridY);
+        Aerb.LOGGER.debug("{} applied tattoo {} at ({}, {})", player.getName().getString(), tattooId, gridX, gridY);
     }
 
     /**
@@ -384,7 +966,7 @@ public class ModNetworking {
 
         // Check Skin Magic skill (need level 0+ to move tattoos)
         PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
-        int skinMagicLevel = skills.getSkillLevel(PlayerSkills.SKIN_MAGIC);
+        int skinMagicLevel = skills.getSkillLevel(SkillRegistry.SKIN_MAGIC);
         if (skinMagicLevel < 0) {
             player.sendMessage(Text.literal("You need Skin Magic to reposition tattoos!"), true);
             return;
@@ -393,8 +975,8 @@ public class ModNetworking {
         // Find the tattoo at the old position
         PlayerTattoos tattoos = player.getAttachedOrCreate(PlayerTattoos.ATTACHMENT);
         TattooInstance toMove = null;
-        for (TattooInstance instance : tattoos.getAllTattoos()) {
-            if (instance.tattooId().equals(tattooId) && instance.gridX() == oldGridX && instance.gridY() == oldGridY) {
+        for (TattooInstance instance : tattoos.getTattooInstances(tattooId)) {
+            if (instance.gridX() == oldGridX && instance.gridY() == oldGridY) {
                 toMove = instance;
                 break;
             }
@@ -405,18 +987,24 @@ public class ModNetworking {
             return;
         }
 
+        if (!tattoos.canMove(toMove, newGridX, newGridY)) {
+            player.sendMessage(Text.literal("That spot is already tattooed!"), true);
+            return;
+        }
+
         // Move the tattoo
         tattoos.moveTattoo(toMove, newGridX, newGridY);
 
         // Award a small amount of Skin Magic XP for repositioning
-        XpHelper.awardXp(player, PlayerSkills.SKIN_MAGIC, 2);
+        XpHelper.queueXp(player, SkillRegistry.SKIN_MAGIC, 2);
 
         // Sync to client
-        syncTattoosToClient(player);
+        markDirty(player, SECTION_TATTOOS);
+        SharedSkillStore.markDirty(player);
 
         // Success message
         player.sendMessage(Text.literal("Moved " + tattooId.replace("_", " ") + " to (" + newGridX + ", " + newGridY + ")!"), true);
 
-        Aerb.LOGGER.info("{} moved tattoo {} from ({}, {}) to ({}, {})", player.getName().getString(), tattooId, oldGridX, oldGridY, newGridX, newGridY);
+        Aerb.LOGGER.debug("{} moved tattoo {} from ({}, {}) to ({}, {})", player.getName().getString(), tattooId, oldGridX, oldGridY, newGridX, newGridY);
     }
 }
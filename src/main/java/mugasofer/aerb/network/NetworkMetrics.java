@@ -0,0 +1,190 @@
+package mugasofer.aerb.network;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Traffic counters for AERB payloads: messages and encoded bytes per payload type in
+ * each direction, and which players send the most packets over rolling windows.
+ * Codecs run on netty threads, so everything here is lock-free.
+ * Byte counts are payload bodies only, without the channel id and packet framing.
+ */
+public class NetworkMetrics {
+    private static final int HISTORY_SECONDS = 600;
+    // How often senders quiet for the whole history are dropped
+    private static final int PRUNE_INTERVAL_TICKS = 20 * 60;
+
+    private static final Map<String, PayloadCounters> payloads = new ConcurrentHashMap<>();
+    private static final Map<UUID, SenderHistory> senders = new ConcurrentHashMap<>();
+
+    private static int ticksUntilPrune = PRUNE_INTERVAL_TICKS;
+
+    public enum Window {
+        SECOND(1), MINUTE(60), TEN_MINUTES(600);
+
+        public final int seconds;
+
+        Window(int seconds) {
+            this.seconds = seconds;
+        }
+    }
+
+    public record PayloadTotals(String payload, long sentMessages, long sentBytes,
+                                long receivedMessages, long receivedBytes) {
+    }
+
+    public record TopSender(UUID playerId, String name, long messages) {
+    }
+
+    public record Snapshot(List<PayloadTotals> payloads, Map<Window, List<TopSender>> topSenders) {
+    }
+
+    public static void init() {
+        // Departed players keep ranking until their last packet leaves the longest window,
+        // so their history is dropped by age rather than on disconnect
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (--ticksUntilPrune <= 0) {
+                ticksUntilPrune = PRUNE_INTERVAL_TICKS;
+                pruneSenders(System.currentTimeMillis() / 1000);
+            }
+        });
+    }
+
+    /**
+     * Wrap a payload codec so every encode counts as sent and every decode as received.
+     */
+    public static <T extends CustomPayload> PacketCodec<RegistryByteBuf, T> counted(
+            CustomPayload.Id<T> id, PacketCodec<RegistryByteBuf, T> codec) {
+        PayloadCounters counters = payloads.computeIfAbsent(id.id().getPath(), path -> new PayloadCounters());
+        return PacketCodec.of(
+            (value, buf) -> {
+                int start = buf.writerIndex();
+                codec.encode(buf, value);
+                counters.sentMessages.increment();
+                counters.sentBytes.add(buf.writerIndex() - start);
+            },
+            buf -> {
+                int start = buf.readerIndex();
+                T value = codec.decode(buf);
+                counters.receivedMessages.increment();
+                counters.receivedBytes.add(buf.readerIndex() - start);
+                return value;
+            }
+        );
+    }
+
+    /**
+     * Count a packet a player sent us.
+     */
+    public static void recordSender(ServerPlayerEntity player) {
+        senders.computeIfAbsent(player.getUuid(), id -> new SenderHistory(player.getName().getString()))
+            .record(System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Current totals per payload type, and the top senders in each window.
+     * The one-second window is the last complete second.
+     */
+    public static Snapshot snapshot(int topCount) {
+        List<PayloadTotals> totals = new ArrayList<>();
+        payloads.forEach((path, counters) -> totals.add(new PayloadTotals(path,
+            counters.sentMessages.sum(), counters.sentBytes.sum(),
+            counters.receivedMessages.sum(), counters.receivedBytes.sum())));
+        totals.sort(Comparator.comparingLong((PayloadTotals t) -> t.sentBytes() + t.receivedBytes()).reversed());
+
+        long now = System.currentTimeMillis() / 1000;
+        pruneSenders(now);
+
+        Map<Window, List<TopSender>> top = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            List<TopSender> ranked = new ArrayList<>();
+            senders.forEach((id, history) -> {
+                long messages = history.sum(now, window.seconds);
+                if (messages > 0) {
+                    ranked.add(new TopSender(id, history.name, messages));
+                }
+            });
+            ranked.sort(Comparator.comparingLong(TopSender::messages).reversed());
+            top.put(window, ranked.size() > topCount ? List.copyOf(ranked.subList(0, topCount)) : ranked);
+        }
+        return new Snapshot(totals, top);
+    }
+
+    // Nobody who has been quiet for the whole history can rank in any window
+    private static void pruneSenders(long now) {
+        senders.values().removeIf(history -> history.lastSecond < now - HISTORY_SECONDS);
+    }
+
+    public static void reset() {
+        payloads.values().forEach(PayloadCounters::reset);
+        senders.clear();
+    }
+
+    private static class PayloadCounters {
+        final LongAdder sentMessages = new LongAdder();
+        final LongAdder sentBytes = new LongAdder();
+        final LongAdder receivedMessages = new LongAdder();
+        final LongAdder receivedBytes = new LongAdder();
+
+        void reset() {
+            sentMessages.reset();
+            sentBytes.reset();
+            receivedMessages.reset();
+            receivedBytes.reset();
+        }
+    }
+
+    /**
+     * Packets per second over the last ten minutes, in a ring of one-second slots.
+     * Each slot is stamped with its second so stale slots read as empty. Packets are
+     * recorded by the receivers on the server thread, so there is one writer.
+     */
+    private static class SenderHistory {
+        final String name;
+        final AtomicLongArray counts = new AtomicLongArray(HISTORY_SECONDS);
+        final AtomicLongArray stamps = new AtomicLongArray(HISTORY_SECONDS);
+        volatile long lastSecond;
+
+        SenderHistory(String name) {
+            this.name = name;
+            for (int i = 0; i < HISTORY_SECONDS; i++) {
+                stamps.set(i, -1);
+            }
+        }
+
+        void record(long second) {
+            int slot = (int) (second % HISTORY_SECONDS);
+            if (stamps.get(slot) != second) {
+                counts.set(slot, 0);
+                stamps.set(slot, second);
+            }
+            counts.incrementAndGet(slot);
+            lastSecond = second;
+        }
+
+        // Complete seconds only, so the current partial second doesn't drag the rate down
+        long sum(long now, int seconds) {
+            long total = 0;
+            for (long second = now - seconds; second < now; second++) {
+                int slot = (int) (second % HISTORY_SECONDS);
+                if (stamps.get(slot) == second) {
+                    total += counts.get(slot);
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package mugasofer.aerb.network;
+
+import mugasofer.aerb.Aerb;
+import mugasofer.aerb.config.NetworkConfig;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-player, per-payload token buckets for client-to-server packets.
+ * Checked at the top of each receiver, which Fabric runs on the server thread, so a
+ * flooding client gets at most its bucket's worth of handler work done. Server thread only.
+ */
+public class PayloadRateLimiter {
+    private static final long MINUTE_NANOS = 60_000_000_000L;
+
+    private static final Map<UUID, PlayerLimits> players = new HashMap<>();
+
+    public static void init() {
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> players.remove(handler.getPlayer().getUuid()));
+    }
+
+    /**
+     * Take a token for a packet. Returns false if the packet should be dropped.
+     * Kicks the player if they keep sending over the limit.
+     */
+    public static boolean tryAcquire(ServerPlayerEntity player, CustomPayload payload) {
+        PlayerLimits limits = players.computeIfAbsent(player.getUuid(), id -> new PlayerLimits());
+        String path = payload.getId().id().getPath();
+        NetworkConfig config = NetworkConfig.get();
+
+        long now = System.nanoTime();
+        Bucket bucket = limits.buckets.computeIfAbsent(path, p -> new Bucket(config.getLimit(p).burst, now));
+        if (bucket.tryTake(config.getLimit(path), now)) {
+            return true;
+        }
+
+        if (now - limits.dropWindowStart > MINUTE_NANOS) {
+            limits.dropWindowStart = now;
+            limits.dropped = 0;
+        }
+        limits.dropped++;
+        if (config.kickAfterDroppedPerMinute > 0 && limits.dropped == config.kickAfterDroppedPerMinute) {
+            Aerb.LOGGER.warn("Disconnecting {} for flooding {} packets", player.getName().getString(), path);
+            player.networkHandler.disconnect(Text.literal("Too many packets"));
+        }
+        return false;
+    }
+
+    private static class PlayerLimits {
+        final Map<String, Bucket> buckets = new HashMap<>();
+        long dropWindowStart = System.nanoTime();
+        int dropped;
+    }
+
+    private static class Bucket {
+        double tokens;
+        long lastRefill;
+
+        Bucket(int burst, long now) {
+            this.tokens = burst;
+            this.lastRefill = now;
+        }
+
+        boolean tryTake(NetworkConfig.RateLimit limit, long now) {
+            tokens = Math.min(limit.burst, tokens + (now - lastRefill) * limit.perSecond / 1.0e9);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens--;
+                return true;
+            }
+            return false;
+        }
+    }
+}
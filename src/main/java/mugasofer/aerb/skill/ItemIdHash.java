@@ -0,0 +1,26 @@
+package mugasofer.aerb.skill;
+
+/**
+ * 64-bit hash used for compact discovered-item storage (FNV-1a, then a murmur3 finalizer).
+ * Collisions are vanishingly unlikely at the thousands of entries a player collects,
+ * and the worst case is one missed first-equip XP award.
+ * Kept free of game classes so the offline player-data tool can use it too.
+ */
+public final class ItemIdHash {
+    private ItemIdHash() {
+    }
+
+    public static long of(String itemId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < itemId.length(); i++) {
+            hash ^= itemId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
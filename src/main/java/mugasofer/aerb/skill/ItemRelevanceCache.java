@@ -0,0 +1,164 @@
+package mugasofer.aerb.skill;
+
+import mugasofer.aerb.config.XpConfig;
+import mugasofer.aerb.item.AardesTouchItem;
+import mugasofer.aerb.item.BloodMagicItem;
+import mugasofer.aerb.item.BoneMagicItem;
+import mugasofer.aerb.item.PhysicalTappingItem;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.WrittenBookContentComponent;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.registry.tag.ItemTags;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Caches which skill (if any) an item is relevant to, for first-equip XP.
+ * Ordinary items are cached per Item. Written books are cached per content
+ * component instance: copies of a book share the same component, so a book is
+ * only measured and keyword-matched once. Everything is dropped when datapacks
+ * reload (item tags may change) or the XP config is reloaded.
+ */
+public class ItemRelevanceCache {
+    // Stand-in for "not relevant", since the maps can't hold null
+    private static final String NONE = "";
+
+    // Upper bound on cached books (each written book has its own content component)
+    private static final int MAX_CACHED_BOOKS = 256;
+
+    private static final Map<Item, String> itemSkills = new HashMap<>();
+
+    private static final Map<BookKey, String> bookSkills = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<BookKey, String> eldest) {
+            return size() > MAX_CACHED_BOOKS;
+        }
+    };
+
+    // Book title keywords compiled into one pattern, and the config they came from
+    private static XpConfig compiledFrom;
+    private static Pattern keywordPattern;
+    private static Map<String, String> keywordSkills;
+
+    public static void init() {
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> clear());
+    }
+
+    public static void clear() {
+        itemSkills.clear();
+        bookSkills.clear();
+        compiledFrom = null;
+    }
+
+    /**
+     * Get the skill associated with a weapon or item.
+     * Returns null if not a relevant item.
+     */
+    public static String getRelevantSkill(ItemStack stack) {
+        if (stack.isEmpty()) return null;
+
+        XpConfig config = XpConfig.get();
+        if (config != compiledFrom) {
+            compileKeywords(config);
+        }
+
+        String skill;
+        if (stack.isOf(Items.WRITTEN_BOOK)) {
+            WrittenBookContentComponent content = stack.get(DataComponentTypes.WRITTEN_BOOK_CONTENT);
+            if (content == null) return null;
+            skill = bookSkills.computeIfAbsent(new BookKey(content), key -> checkBookForSkill(key.content(), config));
+        } else {
+            skill = itemSkills.computeIfAbsent(stack.getItem(), ItemRelevanceCache::checkItemForSkill);
+        }
+        return skill == NONE ? null : skill;
+    }
+
+    private static String checkItemForSkill(Item item) {
+        // One-handed weapons: swords and axes
+        var entry = item.getRegistryEntry();
+        if (entry.isIn(ItemTags.SWORDS) || entry.isIn(ItemTags.AXES)) {
+            return PlayerSkills.ONE_HANDED;
+        }
+
+        // Blood Magic items
+        if (item instanceof BloodMagicItem || item instanceof AardesTouchItem) {
+            return PlayerSkills.BLOOD_MAGIC;
+        }
+
+        // Bone Magic items
+        if (item instanceof BoneMagicItem || item instanceof PhysicalTappingItem) {
+            return PlayerSkills.BONE_MAGIC;
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Check if a written book grants XP for a skill.
+     * Requirements: title contains skill keyword, content has 250+ characters.
+     */
+    private static String checkBookForSkill(WrittenBookContentComponent content, XpConfig config) {
+        if (keywordPattern == null) return NONE;
+
+        // Cheap title check first, so most books never have their pages measured
+        Matcher matcher = keywordPattern.matcher(content.title().raw());
+        if (!matcher.find()) return NONE;
+
+        // Calculate total character count from all pages, stopping once we have enough
+        int totalChars = 0;
+        for (var page : content.pages()) {
+            if (totalChars >= config.bookMinCharacters) break;
+            totalChars += page.raw().getString().length();
+        }
+        if (totalChars < config.bookMinCharacters) return NONE;
+
+        return keywordSkills.get(matcher.group().toLowerCase());
+    }
+
+    /**
+     * Compile the config's book keywords into a single case-insensitive pattern.
+     * Longer keywords come first, so "parrying" wins over "parry".
+     */
+    private static void compileKeywords(XpConfig config) {
+        itemSkills.clear();
+        bookSkills.clear();
+        compiledFrom = config;
+
+        keywordSkills = new HashMap<>();
+        config.bookSkillKeywords.forEach((keyword, skill) -> keywordSkills.put(keyword.toLowerCase(), skill));
+        if (keywordSkills.isEmpty()) {
+            keywordPattern = null;
+            return;
+        }
+
+        String alternation = keywordSkills.keySet().stream()
+            .sorted((a, b) -> b.length() - a.length())
+            .map(Pattern::quote)
+            .collect(Collectors.joining("|"));
+        keywordPattern = Pattern.compile(alternation, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * Cache key that compares the book content component by identity rather than by value,
+     * so lookups never walk the pages.
+     */
+    private record BookKey(WrittenBookContentComponent content) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof BookKey other && content == other.content;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(content);
+        }
+    }
+}
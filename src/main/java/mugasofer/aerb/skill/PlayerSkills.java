@@ -6,16 +6,20 @@ import net.minecraft.util.Identifier;
 import mugasofer.aerb.Aerb;
 
 import com.mojang.serialization.Codec;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import mugasofer.aerb.config.PlayerDataConfig;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.stream.LongStream;
 
 /**
- * Stores player skill levels, XP, and discovered spells/items.
+ * Stores player skill levels, XP, discovered spells/items, and granted skill unlocks.
  * Skills start at -1 (locked) and can be unlocked/leveled up.
  * A skill at -1 is locked (greyed out in UI). At 0+ the skill is unlocked.
  */
@@ -33,10 +37,12 @@ public class PlayerSkills {
 
     public static final Codec<PlayerSkills> CODEC = RecordCodecBuilder.create(instance ->
         instance.group(
-            Codec.unboundedMap(Codec.STRING, Codec.INT).fieldOf("skills").forGetter(ps -> ps.skills),
+            Codec.unboundedMap(Codec.STRING, Codec.INT).fieldOf("skills").forGetter(PlayerSkills::getAllSkills),
             Codec.STRING.listOf().fieldOf("discovered_spells").orElse(new ArrayList<>()).forGetter(ps -> new ArrayList<>(ps.discoveredSpells)),
-            Codec.unboundedMap(Codec.STRING, Codec.INT).fieldOf("skill_xp").orElse(new HashMap<>()).forGetter(ps -> ps.skillXp),
-            Codec.STRING.listOf().fieldOf("discovered_items").orElse(new ArrayList<>()).forGetter(ps -> new ArrayList<>(ps.discoveredItems))
+            Codec.unboundedMap(Codec.STRING, Codec.INT).fieldOf("skill_xp").orElse(new HashMap<>()).forGetter(PlayerSkills::getAllSkillXp),
+            Codec.STRING.listOf().fieldOf("discovered_items").orElse(new ArrayList<>()).forGetter(ps -> new ArrayList<>(ps.discoveredItems)),
+            Codec.STRING.listOf().fieldOf("granted_unlocks").orElse(new ArrayList<>()).forGetter(ps -> new ArrayList<>(ps.grantedUnlocks)),
+            Codec.LONG_STREAM.fieldOf("discovered_item_hashes").orElse(LongStream.empty()).forGetter(ps -> LongStream.of(ps.discoveredItemHashes.toLongArray()))
         ).apply(instance, PlayerSkills::new)
     );
 
@@ -45,32 +51,76 @@ public class PlayerSkills {
         .initializer(PlayerSkills::new)
         .buildAndRegister(Identifier.of(Aerb.MOD_ID, "player_skills"));
 
-    private final Map<String, Integer> skills;
+    // PlayerDataConfig.hashDiscoveredItems, read once in init() so decoding on worker threads never touches the config
+    private static volatile boolean hashItems;
+
+    // Indexed by SkillRegistry ordinal
+    private int[] levels;
+    private int[] xp;
     private final Set<String> discoveredSpells;
-    private final Map<String, Integer> skillXp;
     private final Set<String> discoveredItems;
+    // Discovered items as hashItemId() values, when PlayerDataConfig.hashDiscoveredItems is on
+    private final LongOpenHashSet discoveredItemHashes;
+    // Item IDs of skill unlocks already granted (see UnlockRules)
+    private final Set<String> grantedUnlocks;
 
     public PlayerSkills() {
-        this.skills = new HashMap<>();
+        this.levels = newLevels(SkillRegistry.size());
+        this.xp = new int[SkillRegistry.size()];
         this.discoveredSpells = new HashSet<>();
-        this.skillXp = new HashMap<>();
         this.discoveredItems = new HashSet<>();
+        this.grantedUnlocks = new HashSet<>();
+        this.discoveredItemHashes = new LongOpenHashSet();
     }
 
     // Constructor for deserialization
     private PlayerSkills(Map<String, Integer> skills, List<String> discoveredSpells,
-                         Map<String, Integer> skillXp, List<String> discoveredItems) {
-        this.skills = new HashMap<>(skills);
-        this.discoveredSpells = new HashSet<>(discoveredSpells);
-        this.skillXp = new HashMap<>(skillXp);
-        this.discoveredItems = new HashSet<>(discoveredItems);
+                         Map<String, Integer> skillXp, List<String> discoveredItems,
+                         List<String> grantedUnlocks, LongStream discoveredItemHashes) {
+        this();
+        // Skills that no longer exist (or came from old /setskill typos) are dropped
+        skills.forEach((name, level) -> {
+            int skill = SkillRegistry.ordinal(name);
+            if (skill >= 0) {
+                levels[skill] = Math.max(LOCKED, level);
+            }
+        });
+        skillXp.forEach((name, amount) -> {
+            int skill = SkillRegistry.ordinal(name);
+            if (skill >= 0) {
+                xp[skill] = Math.max(0, amount);
+            }
+        });
+        this.discoveredSpells.addAll(discoveredSpells);
+        this.discoveredItems.addAll(discoveredItems);
+        this.grantedUnlocks.addAll(grantedUnlocks);
+        discoveredItemHashes.forEach(this.discoveredItemHashes::add);
+        if (hashItems) {
+            hashDiscoveredItems();
+        }
+    }
+
+    private static int[] newLevels(int size) {
+        int[] result = new int[size];
+        Arrays.fill(result, LOCKED);
+        return result;
     }
 
     /**
      * Get the level of a skill. Returns LOCKED (-1) if not set.
      */
     public int getSkillLevel(String skillName) {
-        return skills.getOrDefault(skillName, LOCKED);
+        return getSkillLevel(SkillRegistry.ordinal(skillName));
+    }
+
+    /**
+     * Get the level of a skill by SkillRegistry ordinal. Returns LOCKED (-1) if not set.
+     */
+    public int getSkillLevel(int skill) {
+        if (skill < 0 || skill >= levels.length) {
+            return LOCKED;
+        }
+        return levels[skill];
     }
 
     /**
@@ -80,11 +130,20 @@ public class PlayerSkills {
         return getSkillLevel(skillName) >= 0;
     }
 
+    public boolean isUnlocked(int skill) {
+        return getSkillLevel(skill) >= 0;
+    }
+
     /**
      * Set the level of a skill. Minimum is LOCKED (-1).
+     * Throws IllegalArgumentException for unknown skill names.
      */
     public void setSkillLevel(String skillName, int level) {
-        skills.put(skillName, Math.max(LOCKED, level));
+        setSkillLevel(SkillRegistry.lookup(skillName), level);
+    }
+
+    public void setSkillLevel(int skill, int level) {
+        levels[skill] = Math.max(LOCKED, level);
     }
 
     /**
@@ -96,10 +155,16 @@ public class PlayerSkills {
     }
 
     /**
-     * Get all skills as a map.
+     * Get all unlocked skills as a map.
      */
     public Map<String, Integer> getAllSkills() {
-        return new HashMap<>(skills);
+        Map<String, Integer> result = new HashMap<>();
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] != LOCKED) {
+                result.put(SkillRegistry.name(i), levels[i]);
+            }
+        }
+        return result;
     }
 
     /**
@@ -118,9 +183,22 @@ public class PlayerSkills {
 
     /**
      * Remove a spell from discovered list (for /takespell command).
+     * Also forgets the unlock grant, so reaching the threshold again re-grants it.
      */
     public void forgetSpell(String spellId) {
         discoveredSpells.remove(spellId);
+        grantedUnlocks.remove(spellId);
+    }
+
+    /**
+     * Check if a skill unlock (spell/virtue item ID) has already been granted.
+     */
+    public boolean hasGrantedUnlock(String itemId) {
+        return grantedUnlocks.contains(itemId);
+    }
+
+    public void markUnlockGranted(String itemId) {
+        grantedUnlocks.add(itemId);
     }
 
     // ============ XP Methods ============
@@ -129,14 +207,26 @@ public class PlayerSkills {
      * Get the current XP for a skill. Returns 0 if not set.
      */
     public int getSkillXp(String skillName) {
-        return skillXp.getOrDefault(skillName, 0);
+        return getSkillXp(SkillRegistry.ordinal(skillName));
+    }
+
+    public int getSkillXp(int skill) {
+        if (skill < 0 || skill >= xp.length) {
+            return 0;
+        }
+        return xp[skill];
     }
 
     /**
      * Set the XP for a skill.
+     * Throws IllegalArgumentException for unknown skill names.
      */
     public void setSkillXp(String skillName, int xp) {
-        skillXp.put(skillName, Math.max(0, xp));
+        setSkillXp(SkillRegistry.lookup(skillName), xp);
+    }
+
+    public void setSkillXp(int skill, int amount) {
+        xp[skill] = Math.max(0, amount);
     }
 
     /**
@@ -150,10 +240,16 @@ public class PlayerSkills {
     }
 
     /**
-     * Get all skill XP as a map.
+     * Get all non-zero skill XP as a map.
      */
     public Map<String, Integer> getAllSkillXp() {
-        return new HashMap<>(skillXp);
+        Map<String, Integer> result = new HashMap<>();
+        for (int i = 0; i < xp.length; i++) {
+            if (xp[i] != 0) {
+                result.put(SkillRegistry.name(i), xp[i]);
+            }
+        }
+        return result;
     }
 
     // ============ Discovered Items Methods ============
@@ -162,32 +258,122 @@ public class PlayerSkills {
      * Check if an item has been discovered before (for first-equip XP).
      */
     public boolean hasDiscoveredItem(String itemId) {
-        return discoveredItems.contains(itemId);
+        if (!discoveredItems.isEmpty() && discoveredItems.contains(itemId)) {
+            return true;
+        }
+        return !discoveredItemHashes.isEmpty() && discoveredItemHashes.contains(hashItemId(itemId));
     }
 
     /**
      * Mark an item as discovered. Returns true if this is a new discovery.
      */
     public boolean discoverItem(String itemId) {
+        if (hashItems) {
+            if (!discoveredItems.isEmpty()) {
+                hashDiscoveredItems();
+            }
+            return discoveredItemHashes.add(hashItemId(itemId));
+        }
+        if (hasDiscoveredItem(itemId)) {
+            return false;
+        }
         return discoveredItems.add(itemId);
     }
 
+    /**
+     * Move all string discovered-item entries into the hash set.
+     */
+    private void hashDiscoveredItems() {
+        for (String itemId : discoveredItems) {
+            discoveredItemHashes.add(hashItemId(itemId));
+        }
+        discoveredItems.clear();
+    }
+
+    /**
+     * 64-bit hash of a discovered-item identifier (see ItemIdHash).
+     */
+    public static long hashItemId(String itemId) {
+        return ItemIdHash.of(itemId);
+    }
+
     /**
      * Copy all skills, XP, and discovered spells/items from another PlayerSkills instance.
      * Used for preserving data on death/respawn.
      */
     public void copyFrom(PlayerSkills other) {
-        this.skills.clear();
-        this.skills.putAll(other.skills);
+        this.levels = other.levels.clone();
+        this.xp = other.xp.clone();
         this.discoveredSpells.clear();
         this.discoveredSpells.addAll(other.discoveredSpells);
-        this.skillXp.clear();
-        this.skillXp.putAll(other.skillXp);
         this.discoveredItems.clear();
         this.discoveredItems.addAll(other.discoveredItems);
+        this.discoveredItemHashes.clear();
+        this.discoveredItemHashes.addAll(other.discoveredItemHashes);
+        this.grantedUnlocks.clear();
+        this.grantedUnlocks.addAll(other.grantedUnlocks);
+    }
+
+    /**
+     * Fold in the changes another copy of this player's data made since the copy it started from,
+     * for copies changed on different servers. This holds the newer stored copy; XP gained or lost
+     * between base and ours is added on top of it, and spells, items and unlock grants added or
+     * removed there are added or removed here.
+     */
+    public void mergeChanges(PlayerSkills base, PlayerSkills ours, XpCurve curve) {
+        for (int i = 0; i < levels.length; i++) {
+            int ourLevel = ours.getSkillLevel(i);
+            int ourXp = ours.getSkillXp(i);
+            int baseLevel = base.getSkillLevel(i);
+            if (ourLevel == baseLevel && ourXp == base.getSkillXp(i)) {
+                continue;
+            }
+            if (ourLevel == LOCKED) {
+                // Locked again (e.g. /setskill -1)
+                levels[i] = LOCKED;
+                xp[i] = 0;
+                continue;
+            }
+            long change = totalXp(curve, ourLevel, ourXp) - totalXp(curve, baseLevel, base.getSkillXp(i));
+            long merged = Math.max(0, totalXp(curve, levels[i], xp[i]) + change);
+            int level = curve.getLevelForTotalXp(merged);
+            levels[i] = level;
+            xp[i] = (int) Math.min(Integer.MAX_VALUE, merged - curve.getTotalXpForLevel(level));
+        }
+        mergeSet(discoveredSpells, base.discoveredSpells, ours.discoveredSpells);
+        mergeSet(discoveredItems, base.discoveredItems, ours.discoveredItems);
+        mergeSet(grantedUnlocks, base.grantedUnlocks, ours.grantedUnlocks);
+        for (long hash : ours.discoveredItemHashes) {
+            if (!base.discoveredItemHashes.contains(hash)) {
+                discoveredItemHashes.add(hash);
+            }
+        }
+        for (long hash : base.discoveredItemHashes) {
+            if (!ours.discoveredItemHashes.contains(hash)) {
+                discoveredItemHashes.remove(hash);
+            }
+        }
+    }
+
+    private static long totalXp(XpCurve curve, int level, int xp) {
+        return level == LOCKED ? 0 : curve.getTotalXpForLevel(level) + xp;
+    }
+
+    private static void mergeSet(Set<String> into, Set<String> base, Set<String> ours) {
+        for (String entry : ours) {
+            if (!base.contains(entry)) {
+                into.add(entry);
+            }
+        }
+        for (String entry : base) {
+            if (!ours.contains(entry)) {
+                into.remove(entry);
+            }
+        }
     }
 
     public static void init() {
-        // Force class loading to register the attachment
+        // Loading the class registers the attachment
+        hashItems = PlayerDataConfig.get().hashDiscoveredItems;
     }
 }
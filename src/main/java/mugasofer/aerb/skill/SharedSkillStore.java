@@ -0,0 +1,522 @@
+package mugasofer.aerb.skill;
+
+import com.mojang.authlib.GameProfile;
+import com.mojang.serialization.Codec;
+import mugasofer.aerb.Aerb;
+import mugasofer.aerb.config.SkillStoreConfig;
+import mugasofer.aerb.config.XpConfig;
+import mugasofer.aerb.leaderboard.SkillLeaderboards;
+import mugasofer.aerb.mixin.ServerLoginNetworkHandlerAccessor;
+import mugasofer.aerb.network.ModNetworking;
+import mugasofer.aerb.tattoo.FallRuneHandler;
+import mugasofer.aerb.tattoo.PlayerTattoos;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerLoginConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.NbtSizeTracker;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional store for skills, XP, discovered spells and tattoos, kept outside the world
+ * so several server instances can share progression through a common directory.
+ *
+ * One compressed NBT file per player. Loading starts on a background thread as soon
+ * as the player's profile is known during login, and is applied on the server thread
+ * once it finishes, without holding up the join. Every flush interval the players marked
+ * dirty since the last one are snapshotted on the server thread, and a background thread
+ * writes the latest snapshot per player to a unique temp file and moves it over the old
+ * one, atomically where the filesystem allows. Disconnects and shutdown flush immediately.
+ *
+ * Every write bumps a generation counter in the file. The server remembers the stored copy
+ * each player's data was last loaded from or written as, and a write that finds a newer
+ * generation on disk (another server wrote since) merges its changes since that copy into
+ * the newer one instead of replacing it; the merged result is then carried back to the player.
+ * Loads merge the same way, so XP earned between the join and the stored copy arriving is kept,
+ * and a stored copy older than the one this server last wrote is not applied. Each load is
+ * followed by a write, which catches a copy read just before another server's last write landed.
+ */
+public class SharedSkillStore {
+    private static final int FORMAT_VERSION = 1;
+    // Prefetches for logins that never reached the join are dropped after this long
+    private static final long PREFETCH_TIMEOUT_MS = 60_000;
+
+    private static Path directory;
+    private static ExecutorService io;
+
+    // Loads started during login, picked up on join
+    private static final Map<UUID, Prefetch> prefetches = new ConcurrentHashMap<>();
+    // Latest unwritten snapshot per player; newer snapshots replace older ones
+    private static final Map<UUID, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    // Finished writes, handed back to the server thread
+    private static final Queue<Written> written = new ConcurrentLinkedQueue<>();
+    // Players changed since their last snapshot (server thread only)
+    private static final Set<UUID> dirty = new HashSet<>();
+    // Players with a write in flight; they aren't snapshotted again until it finishes (server thread only)
+    private static final Set<UUID> writing = new HashSet<>();
+    // Stored copy each player's current data started from (server thread only)
+    private static final Map<UUID, NbtCompound> bases = new HashMap<>();
+    // Data of players who left with unwritten changes (server thread only)
+    private static final Map<UUID, NbtCompound> departed = new HashMap<>();
+    // Reads for joined players whose stored copy hasn't been applied yet (server thread only).
+    // They aren't snapshotted, so their world data can't overwrite the stored copy.
+    private static final Map<UUID, Load> loading = new HashMap<>();
+
+    private static int ticksUntilSnapshot;
+
+    public static void init() {
+        if (!SkillStoreConfig.get().enabled) {
+            return;
+        }
+
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> start());
+        ServerLifecycleEvents.SERVER_STOPPING.register(SharedSkillStore::stop);
+
+        ServerLoginConnectionEvents.QUERY_START.register((handler, server, sender, synchronizer) -> {
+            GameProfile profile = ((ServerLoginNetworkHandlerAccessor) handler).aerb$getProfile();
+            if (profile != null) {
+                prefetch(profile.id());
+            }
+        });
+        ServerLoginConnectionEvents.DISCONNECT.register((handler, server) -> {
+            GameProfile profile = ((ServerLoginNetworkHandlerAccessor) handler).aerb$getProfile();
+            if (profile != null) {
+                prefetches.remove(profile.id());
+            }
+        });
+
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> load(handler.getPlayer(), server));
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            ServerPlayerEntity player = handler.getPlayer();
+            UUID playerId = player.getUuid();
+            if (dirty.contains(playerId)) {
+                // Written once any write in flight or stored copy still loading is merged in
+                departed.put(playerId, encode(player));
+                snapshotDirty(server);
+                flushAsync();
+            } else {
+                // Nothing changed that the store doesn't have
+                loading.remove(playerId);
+                forgetIfIdle(playerId);
+            }
+        });
+
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            drainWritten(server);
+            if (--ticksUntilSnapshot > 0) {
+                return;
+            }
+            ticksUntilSnapshot = Math.max(1, SkillStoreConfig.get().flushIntervalMs / 50);
+            snapshotDirty(server);
+            flushAsync();
+
+            long now = System.currentTimeMillis();
+            prefetches.values().removeIf(prefetch -> now - prefetch.startedAt() > PREFETCH_TIMEOUT_MS);
+        });
+    }
+
+    private static void start() {
+        directory = FabricLoader.getInstance().getGameDir().resolve(SkillStoreConfig.get().directory);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            Aerb.LOGGER.error("Failed to create skill store directory " + directory, e);
+        }
+        io = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Aerb Skill Store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Aerb.LOGGER.info("Using shared skill store at " + directory);
+    }
+
+    private static void stop(MinecraftServer server) {
+        if (io == null) {
+            return;
+        }
+        // XP queued in the last tick is only folded in at the end of it, which won't come
+        XpHelper.flushPendingXp(server);
+        // Players with a write in flight are only snapshotted once it finishes
+        while (true) {
+            drainWritten(server);
+            snapshotDirty(server);
+            if (writing.isEmpty()) {
+                break;
+            }
+            flushAsync();
+            try {
+                CompletableFuture.runAsync(() -> {
+                }, io).get(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                Aerb.LOGGER.warn("Skill store writes did not finish before shutdown");
+                break;
+            }
+        }
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(30, TimeUnit.SECONDS)) {
+                Aerb.LOGGER.warn("Skill store writes did not finish before shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        io = null;
+        prefetches.clear();
+        pendingWrites.clear();
+        written.clear();
+        dirty.clear();
+        writing.clear();
+        bases.clear();
+        departed.clear();
+        loading.clear();
+    }
+
+    /**
+     * Note that a player's skills, discovered spells or tattoos changed, so the next flush writes them.
+     * Called where that state changes, not on network sync, which also runs for resyncs and joins.
+     */
+    public static void markDirty(ServerPlayerEntity player) {
+        if (io != null) {
+            dirty.add(player.getUuid());
+        }
+    }
+
+    /**
+     * Start loading a player's stored data in the background.
+     */
+    private static void prefetch(UUID playerId) {
+        if (io == null) {
+            return;
+        }
+        prefetches.put(playerId, new Prefetch(CompletableFuture.supplyAsync(() -> read(playerId), io),
+            System.currentTimeMillis()));
+    }
+
+    /**
+     * Apply the joining player's stored copy on the server thread once it has been read,
+     * using the login prefetch if there is one.
+     */
+    private static void load(ServerPlayerEntity player, MinecraftServer server) {
+        if (io == null) {
+            return;
+        }
+        UUID playerId = player.getUuid();
+        Prefetch prefetch = prefetches.remove(playerId);
+        CompletableFuture<NbtCompound> read = prefetch != null
+            ? prefetch.read()
+            : CompletableFuture.supplyAsync(() -> read(playerId), io);
+
+        // The world saved whatever the last session left unwritten, so it comes back with the player
+        departed.remove(playerId);
+        // Rejoined before the last load finished: changes since the first join count, not just this one
+        Load previous = loading.get(playerId);
+        Load load = new Load(read, previous != null ? previous.joined() : encode(player));
+        loading.put(playerId, load);
+        read.thenAcceptAsync(stored -> {
+            // Skip loads for players who rejoined in the meantime
+            if (!loading.remove(playerId, load)) {
+                return;
+            }
+            apply(server, playerId, stored, load.joined());
+        }, server);
+    }
+
+    /**
+     * Merge a player's changes since they joined into the stored copy, for the player
+     * if they are still online, or for the data they left with.
+     */
+    private static void apply(MinecraftServer server, UUID playerId, NbtCompound stored, NbtCompound joined) {
+        // A write from an earlier session may have finished just before this read
+        drainWritten(server);
+        NbtCompound base = bases.get(playerId);
+        if (stored == null || (base != null && generation(stored) < generation(base))) {
+            if (stored != null) {
+                Aerb.LOGGER.warn("Ignoring stored skills for " + playerId + " older than the copy last written here");
+            }
+            // Without a stored copy, changes since the join are written on top of the world data
+            bases.putIfAbsent(playerId, joined);
+            return;
+        }
+        NbtCompound from = base != null ? base : joined;
+        NbtCompound left = departed.get(playerId);
+        if (left != null) {
+            departed.put(playerId, merge(stored, from, left));
+        } else {
+            // Looked up again in case they respawned while loading
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(playerId);
+            if (player == null) {
+                return;
+            }
+            replace(player, merge(stored, from, encode(player)));
+        }
+        bases.put(playerId, stored);
+        // Writing back catches a copy read just before another server's write landed
+        dirty.add(playerId);
+    }
+
+    /**
+     * Replace a player's skills and tattoos with the given copy.
+     */
+    private static void replace(ServerPlayerEntity player, NbtCompound data) {
+        PlayerSkills skills = decode(PlayerSkills.CODEC, data.get("skills"));
+        if (skills != null) {
+            player.getAttachedOrCreate(PlayerSkills.ATTACHMENT).copyFrom(skills);
+            SkillLeaderboards.updateAll(player);
+            // The stored levels may reach unlocks the world data didn't
+            UnlockRules.grantAllReached(player);
+        }
+        PlayerTattoos tattoos = decode(PlayerTattoos.CODEC, data.get("tattoos"));
+        if (tattoos != null) {
+            player.getAttachedOrCreate(PlayerTattoos.ATTACHMENT).copyFrom(tattoos);
+            // The stored copy may add or drop a Fall Rune after FallRuneHandler saw the player join
+            FallRuneHandler.updateBearer(player);
+        }
+        ModNetworking.markDirty(player, ModNetworking.SECTION_ALL);
+    }
+
+    /**
+     * Three-way merge of player data: the changes {@code ours} made since {@code base},
+     * applied on top of {@code newer}. Safe to call off the server thread.
+     */
+    private static NbtCompound merge(NbtCompound newer, NbtCompound base, NbtCompound ours) {
+        NbtCompound result = newer.copy();
+        result.putInt("version", FORMAT_VERSION);
+
+        PlayerSkills newerSkills = decode(PlayerSkills.CODEC, newer.get("skills"));
+        PlayerSkills baseSkills = decode(PlayerSkills.CODEC, base.get("skills"));
+        PlayerSkills ourSkills = decode(PlayerSkills.CODEC, ours.get("skills"));
+        if (ourSkills != null) {
+            if (newerSkills != null && baseSkills != null) {
+                newerSkills.mergeChanges(baseSkills, ourSkills, XpConfig.get().getCurve());
+                PlayerSkills.CODEC.encodeStart(NbtOps.INSTANCE, newerSkills)
+                    .resultOrPartial(Aerb.LOGGER::error).ifPresent(nbt -> result.put("skills", nbt));
+            } else {
+                result.put("skills", ours.get("skills").copy());
+            }
+        }
+
+        // Tattoo layouts don't merge; whichever side changed them wins, ours if both did
+        PlayerTattoos baseTattoos = decode(PlayerTattoos.CODEC, base.get("tattoos"));
+        PlayerTattoos ourTattoos = decode(PlayerTattoos.CODEC, ours.get("tattoos"));
+        if (ourTattoos != null
+            && (baseTattoos == null || !ourTattoos.getAllTattoos().equals(baseTattoos.getAllTattoos()))) {
+            result.put("tattoos", ours.get("tattoos").copy());
+        }
+        return result;
+    }
+
+    private static <T> T decode(Codec<T> codec, NbtElement nbt) {
+        if (nbt == null) {
+            return null;
+        }
+        return codec.parse(NbtOps.INSTANCE, nbt).resultOrPartial(Aerb.LOGGER::error).orElse(null);
+    }
+
+    private static long generation(NbtCompound stored) {
+        return stored.getLong("generation", 0L);
+    }
+
+    /**
+     * Snapshot every player marked dirty since the last flush, online or just departed,
+     * unless their stored copy is still loading or their last write hasn't finished.
+     */
+    private static void snapshotDirty(MinecraftServer server) {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Iterator<UUID> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            UUID playerId = iterator.next();
+            if (loading.containsKey(playerId) || writing.contains(playerId)) {
+                continue;
+            }
+            NbtCompound snapshot = departed.remove(playerId);
+            if (snapshot == null) {
+                ServerPlayerEntity player = server.getPlayerManager().getPlayer(playerId);
+                if (player == null) {
+                    iterator.remove();
+                    forgetIfIdle(playerId);
+                    continue;
+                }
+                snapshot = encode(player);
+            }
+            pendingWrites.put(playerId, new PendingWrite(bases.get(playerId), snapshot));
+            writing.add(playerId);
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Encode a player's data in the stored format.
+     */
+    private static NbtCompound encode(ServerPlayerEntity player) {
+        NbtCompound snapshot = new NbtCompound();
+        snapshot.putInt("version", FORMAT_VERSION);
+        PlayerSkills.CODEC.encodeStart(NbtOps.INSTANCE, player.getAttachedOrCreate(PlayerSkills.ATTACHMENT))
+            .resultOrPartial(Aerb.LOGGER::error).ifPresent(nbt -> snapshot.put("skills", nbt));
+        PlayerTattoos.CODEC.encodeStart(NbtOps.INSTANCE, player.getAttachedOrCreate(PlayerTattoos.ATTACHMENT))
+            .resultOrPartial(Aerb.LOGGER::error).ifPresent(nbt -> snapshot.put("tattoos", nbt));
+        return snapshot;
+    }
+
+    /**
+     * Write all pending snapshots on the store thread.
+     */
+    private static void flushAsync() {
+        if (io == null || pendingWrites.isEmpty()) {
+            return;
+        }
+        io.execute(() -> {
+            for (UUID playerId : pendingWrites.keySet()) {
+                PendingWrite pending = pendingWrites.remove(playerId);
+                if (pending != null) {
+                    write(playerId, pending);
+                }
+            }
+        });
+    }
+
+    /**
+     * Take in finished writes: the written copy becomes the player's base, and where it
+     * had to be merged with another server's, the merged changes are carried back to the
+     * player. Failed writes are retried at the next flush.
+     */
+    private static void drainWritten(MinecraftServer server) {
+        Written result;
+        while ((result = written.poll()) != null) {
+            UUID playerId = result.playerId();
+            writing.remove(playerId);
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(playerId);
+            if (result.stored() == null) {
+                if (player == null) {
+                    departed.putIfAbsent(playerId, result.snapshot());
+                }
+                dirty.add(playerId);
+                continue;
+            }
+
+            NbtCompound base = bases.get(playerId);
+            // Not when a load since has already picked up this write or a later one
+            if (base == null || generation(result.stored()) > generation(base)) {
+                bases.put(playerId, result.stored());
+                if (result.merged()) {
+                    NbtCompound left = departed.get(playerId);
+                    if (left != null) {
+                        departed.put(playerId, merge(result.stored(), result.snapshot(), left));
+                    } else if (player != null) {
+                        replace(player, merge(result.stored(), result.snapshot(), encode(player)));
+                    }
+                }
+            }
+            if (player == null) {
+                forgetIfIdle(playerId);
+            }
+        }
+    }
+
+    /**
+     * Drop the base of a player who left, once nothing of theirs is left to write.
+     */
+    private static void forgetIfIdle(UUID playerId) {
+        if (!dirty.contains(playerId) && !writing.contains(playerId) && !loading.containsKey(playerId)) {
+            bases.remove(playerId);
+        }
+    }
+
+    private record Load(CompletableFuture<NbtCompound> read, NbtCompound joined) {
+    }
+
+    private record PendingWrite(NbtCompound base, NbtCompound snapshot) {
+    }
+
+    private record Written(UUID playerId, NbtCompound stored, NbtCompound snapshot, boolean merged) {
+    }
+
+    private record Prefetch(CompletableFuture<NbtCompound> read, long startedAt) {
+    }
+
+    private static NbtCompound read(UUID playerId) {
+        Path file = directory.resolve(playerId + ".dat");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return NbtIo.readCompressed(file, NbtSizeTracker.ofUnlimitedBytes());
+        } catch (IOException e) {
+            Aerb.LOGGER.error("Failed to read stored skills for " + playerId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Write a snapshot, first merging it into the stored copy if another server wrote
+     * since the snapshot's base, and report the result back to the server thread.
+     */
+    private static void write(UUID playerId, PendingWrite pending) {
+        NbtCompound current = read(playerId);
+        long baseGeneration = pending.base() != null ? generation(pending.base()) : 0;
+        boolean merged = current != null && pending.base() != null && generation(current) > baseGeneration;
+        NbtCompound data = merged ? merge(current, pending.base(), pending.snapshot()) : pending.snapshot().copy();
+        // Never behind the copy on disk, so a newer write is never taken for an older one
+        data.putLong("generation", Math.max(baseGeneration, current != null ? generation(current) : 0) + 1);
+
+        boolean saved = writeFile(playerId, data);
+        written.add(new Written(playerId, saved ? data : null, pending.snapshot(), merged));
+    }
+
+    private static boolean writeFile(UUID playerId, NbtCompound data) {
+        Path file = directory.resolve(playerId + ".dat");
+        Path temp = null;
+        try {
+            // Unique name, so servers sharing the directory never write the same temp file
+            temp = Files.createTempFile(directory, playerId + "-", ".dat.tmp");
+            NbtIo.writeCompressed(data, temp);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // Some network filesystems can't rename atomically
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            Aerb.LOGGER.error("Failed to write stored skills for " + playerId, e);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+            return false;
+        }
+    }
+}
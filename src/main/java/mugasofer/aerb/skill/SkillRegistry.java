@@ -0,0 +1,67 @@
+package mugasofer.aerb.skill;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns each skill a small ordinal so PlayerSkills can store levels and XP
+ * in plain int arrays. Only the built-in skills exist; hot paths use their ordinal
+ * constants, and names from commands or saved data go through lookup() or ordinal(),
+ * which reject anything else instead of creating a new skill.
+ */
+public class SkillRegistry {
+    private static final String[] NAMES = {
+        PlayerSkills.BLOOD_MAGIC,
+        PlayerSkills.BONE_MAGIC,
+        PlayerSkills.ONE_HANDED,
+        PlayerSkills.PARRY,
+        PlayerSkills.HORTICULTURE,
+        PlayerSkills.ART,
+        PlayerSkills.SKIN_MAGIC
+    };
+    private static final Map<String, Integer> ORDINALS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < NAMES.length; i++) {
+            ORDINALS.put(NAMES[i], i);
+        }
+    }
+
+    public static final int BLOOD_MAGIC = lookup(PlayerSkills.BLOOD_MAGIC);
+    public static final int BONE_MAGIC = lookup(PlayerSkills.BONE_MAGIC);
+    public static final int ONE_HANDED = lookup(PlayerSkills.ONE_HANDED);
+    public static final int PARRY = lookup(PlayerSkills.PARRY);
+    public static final int HORTICULTURE = lookup(PlayerSkills.HORTICULTURE);
+    public static final int ART = lookup(PlayerSkills.ART);
+    public static final int SKIN_MAGIC = lookup(PlayerSkills.SKIN_MAGIC);
+
+    /**
+     * Get the ordinal for a skill name, throwing if there is no such skill.
+     */
+    public static int lookup(String skillName) {
+        int ordinal = ordinal(skillName);
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Unknown skill: " + skillName);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Get the ordinal for a skill name, or -1 if there is no such skill.
+     */
+    public static int ordinal(String skillName) {
+        Integer ordinal = ORDINALS.get(skillName);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public static String name(int ordinal) {
+        return NAMES[ordinal];
+    }
+
+    /**
+     * Number of skills. Ordinals are always below this.
+     */
+    public static int size() {
+        return NAMES.length;
+    }
+}
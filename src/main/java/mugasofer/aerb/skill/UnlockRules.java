@@ -0,0 +1,137 @@
+package mugasofer.aerb.skill;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import mugasofer.aerb.Aerb;
+import mugasofer.aerb.command.ModCommands;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spell and virtue unlocks granted when a skill reaches a level.
+ * Loaded from data/<namespace>/skill_unlocks/*.json, so datapacks can add or change them.
+ * Rules are kept sorted by level per skill. Each player's granted unlocks are remembered
+ * in PlayerSkills, so an unlock is only checked against the inventory until it is handed
+ * over; one that found no room is tried again on the next level-up and on join.
+ */
+public class UnlockRules {
+    private static final Gson GSON = new Gson();
+    private static final String DIRECTORY = "skill_unlocks";
+
+    public enum Type { SPELL, VIRTUE }
+
+    public record Rule(int level, Type type, Item item, String itemId, String name) {}
+
+    // Skill name -> rules sorted by level
+    private static Map<String, Rule[]> rulesBySkill = Map.of();
+
+    public static void init() {
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public Identifier getFabricId() {
+                return Identifier.of(Aerb.MOD_ID, DIRECTORY);
+            }
+
+            @Override
+            public void reload(ResourceManager manager) {
+                load(manager);
+            }
+        });
+
+        // Backfill unlocks that found no room before, or that a datapack added since
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> grantAllReached(handler.getPlayer()));
+    }
+
+    private static void load(ResourceManager manager) {
+        Map<String, List<Rule>> loaded = new HashMap<>();
+        int count = 0;
+
+        for (Map.Entry<Identifier, Resource> entry : manager.findResources(DIRECTORY, id -> id.getPath().endsWith(".json")).entrySet()) {
+            try (Reader reader = entry.getValue().getReader()) {
+                JsonObject json = GSON.fromJson(reader, JsonObject.class);
+                String skill = json.get("skill").getAsString();
+                for (var element : json.getAsJsonArray("unlocks")) {
+                    JsonObject unlock = element.getAsJsonObject();
+                    Identifier itemId = Identifier.of(unlock.get("item").getAsString());
+                    if (!Registries.ITEM.containsId(itemId)) {
+                        Aerb.LOGGER.warn("Unknown item " + itemId + " in " + entry.getKey());
+                        continue;
+                    }
+                    Rule rule = new Rule(
+                        unlock.get("level").getAsInt(),
+                        Type.valueOf(unlock.get("type").getAsString().toUpperCase()),
+                        Registries.ITEM.get(itemId),
+                        itemId.toString(),
+                        unlock.get("name").getAsString()
+                    );
+                    loaded.computeIfAbsent(skill, s -> new ArrayList<>()).add(rule);
+                    count++;
+                }
+            } catch (Exception e) {
+                Aerb.LOGGER.error("Failed to load skill unlocks from " + entry.getKey(), e);
+            }
+        }
+
+        Map<String, Rule[]> sorted = new HashMap<>();
+        loaded.forEach((skill, rules) -> {
+            rules.sort(Comparator.comparingInt(Rule::level));
+            sorted.put(skill, rules.toArray(new Rule[0]));
+        });
+        rulesBySkill = sorted;
+        Aerb.LOGGER.info("Loaded " + count + " skill unlocks for " + sorted.size() + " skills");
+    }
+
+    /**
+     * Grant every unlock for a skill with a threshold at or below the given level
+     * that hasn't been granted yet.
+     */
+    public static void grantReached(ServerPlayerEntity player, String skill, int level) {
+        Rule[] rules = rulesBySkill.get(skill);
+        if (rules == null) {
+            return;
+        }
+
+        PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
+        for (int i = 0; i < rules.length && rules[i].level() <= level; i++) {
+            Rule rule = rules[i];
+            if (skills.hasGrantedUnlock(rule.itemId())) {
+                continue;
+            }
+            boolean granted = rule.type() == Type.SPELL
+                ? ModCommands.grantSpellIfMissing(player, rule.item(), rule.name())
+                : ModCommands.grantVirtueIfMissing(player, rule.item(), rule.name());
+            if (granted) {
+                skills.markUnlockGranted(rule.itemId());
+                SharedSkillStore.markDirty(player);
+            }
+        }
+    }
+
+    /**
+     * Grant every unlock reached by any of the player's skills that hasn't been granted yet.
+     */
+    public static void grantAllReached(ServerPlayerEntity player) {
+        PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
+        for (String skill : rulesBySkill.keySet()) {
+            int level = skills.getSkillLevel(skill);
+            if (level >= 0) {
+                grantReached(player, skill, level);
+            }
+        }
+    }
+}
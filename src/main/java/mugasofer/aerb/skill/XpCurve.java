@@ -0,0 +1,79 @@
+package mugasofer.aerb.skill;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed XP requirements for every skill level.
+ * Built once from the XP config, so awarding XP never calls Math.pow, and a grant
+ * that crosses many levels is resolved with one binary search over cumulative XP.
+ * The server sends the per-level table to clients so the character sheet shows
+ * exactly the same numbers.
+ */
+public class XpCurve {
+    public static final int MAX_LEVEL = 300;
+
+    // XP needed to go from level i to i + 1 (index MAX_LEVEL is shown in the UI but never reached)
+    private final int[] xpPerLevel;
+    // Total XP needed to reach level i from level 0
+    private final long[] cumulative;
+
+    public XpCurve(int[] xpPerLevel) {
+        if (xpPerLevel.length != MAX_LEVEL + 1) {
+            throw new IllegalArgumentException("XP table must have " + (MAX_LEVEL + 1) + " entries, got " + xpPerLevel.length);
+        }
+        this.xpPerLevel = xpPerLevel.clone();
+        this.cumulative = new long[MAX_LEVEL + 1];
+        for (int level = 1; level <= MAX_LEVEL; level++) {
+            cumulative[level] = cumulative[level - 1] + this.xpPerLevel[level - 1];
+        }
+    }
+
+    /**
+     * Build the table from the config formula: XP for the next level = (level + 2)^exponent.
+     * This means: 0->1 needs 4 XP, 1->2 needs 9 XP, 2->3 needs 16 XP, etc. (at exponent 2)
+     */
+    public static XpCurve fromExponent(double exponent) {
+        int[] table = new int[MAX_LEVEL + 1];
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            table[level] = (int) Math.pow(level + 2, exponent);
+        }
+        return new XpCurve(table);
+    }
+
+    /**
+     * Get XP required to reach the next level from the given level.
+     */
+    public int getXpForNextLevel(int level) {
+        return xpPerLevel[Math.max(0, Math.min(MAX_LEVEL, level))];
+    }
+
+    /**
+     * Get the total XP needed to reach a level from level 0.
+     */
+    public long getTotalXpForLevel(int level) {
+        return cumulative[Math.max(0, Math.min(MAX_LEVEL, level))];
+    }
+
+    /**
+     * Get the level reached with the given total XP, counted from level 0.
+     */
+    public int getLevelForTotalXp(long totalXp) {
+        // Last index whose cumulative XP is <= totalXp
+        int index = Arrays.binarySearch(cumulative, totalXp);
+        if (index >= 0) {
+            // Zero-XP levels make runs of equal entries; take the highest one
+            while (index < MAX_LEVEL && cumulative[index + 1] == totalXp) {
+                index++;
+            }
+            return index;
+        }
+        return Math.max(0, -index - 2);
+    }
+
+    /**
+     * Copy of the per-level table, for sending to clients.
+     */
+    public int[] getXpPerLevel() {
+        return xpPerLevel.clone();
+    }
+}
@@ -1,78 +1,220 @@
 package mugasofer.aerb.skill;
 
 import mugasofer.aerb.Aerb;
-import mugasofer.aerb.command.ModCommands;
 import mugasofer.aerb.config.XpConfig;
-import mugasofer.aerb.item.AardesTouchItem;
-import mugasofer.aerb.item.BloodMagicItem;
-import mugasofer.aerb.item.BoneMagicItem;
-import mugasofer.aerb.item.PhysicalTappingItem;
+import mugasofer.aerb.event.HeldItemChangedCallback;
+import mugasofer.aerb.leaderboard.SkillLeaderboards;
 import mugasofer.aerb.network.ModNetworking;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.component.type.WrittenBookContentComponent;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.tag.ItemTags;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Centralized XP granting logic for the skill system.
  */
 public class XpHelper {
 
+    // XP queued this tick, per player, indexed by SkillRegistry ordinal
+    private static final Map<UUID, int[]> pendingXp = new HashMap<>();
+
+    public static void init() {
+        ItemRelevanceCache.init();
+        HeldItemChangedCallback.EVENT.register((player, previous, current) -> onItemEquipped(player, current));
+        ServerTickEvents.END_SERVER_TICK.register(XpHelper::flushPendingXp);
+
+        // Don't lose XP earned in the tick a player leaves
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            int[] pending = pendingXp.remove(handler.getPlayer().getUuid());
+            if (pending != null) {
+                foldXp(handler.getPlayer(), pending);
+            }
+        });
+    }
+
+    /**
+     * Award XP for equipping a relevant item that hasn't been equipped before.
+     */
+    private static void onItemEquipped(ServerPlayerEntity player, ItemStack stack) {
+        // Skip empty hands
+        if (stack.isEmpty()) {
+            return;
+        }
+
+        // Get the relevant skill for this item (cached, so hotbar scrolling is cheap)
+        String relevantSkill = getRelevantSkill(stack);
+        if (relevantSkill == null) {
+            return;
+        }
+
+        PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
+
+        // Unlock one-handed skill when equipping any sword or axe
+        if (relevantSkill.equals(PlayerSkills.ONE_HANDED) && !skills.isUnlocked(SkillRegistry.ONE_HANDED)
+                && isOneHandedWeapon(stack)) {
+            awardXp(player, SkillRegistry.ONE_HANDED, 0); // Unlock with 0 XP
+        }
+
+        // Get the item identifier for tracking
+        String itemId = getItemIdentifier(stack);
+        if (itemId == null) {
+            return;
+        }
+
+        // Check if this is a new item (not discovered before)
+        if (!skills.hasDiscoveredItem(itemId)) {
+            // Mark as discovered
+            skills.discoverItem(itemId);
+
+            // Award XP
+            queueXp(player, relevantSkill, XpConfig.get().xpPerNewItemEquip);
+        }
+    }
+
     /**
      * Award XP to a skill, handling level-ups and sync.
      * If the skill is locked, it will be unlocked first.
      * Returns true if a level-up occurred.
+     * Use this when the caller needs the result right away (e.g. unlocking a skill);
+     * routine XP should go through queueXp.
      */
     public static boolean awardXp(ServerPlayerEntity player, String skillName, int amount) {
+        return awardXp(player, SkillRegistry.lookup(skillName), amount);
+    }
+
+    /**
+     * Award XP to a skill by SkillRegistry ordinal. See {@link #awardXp(ServerPlayerEntity, String, int)}.
+     */
+    public static boolean awardXp(ServerPlayerEntity player, int skill, int amount) {
         PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
+        String skillName = SkillRegistry.name(skill);
+
+        int newLevel = applyXp(player, skills, skill, amount);
+        SkillLeaderboards.update(player, skillName);
+        if (newLevel >= 0) {
+            player.sendMessage(Text.literal("Skill increased: " + formatSkillName(skillName) + " lvl " + newLevel + "!"), false);
+        }
+
+        ModNetworking.markDirty(player, ModNetworking.SECTION_SKILLS);
+        SharedSkillStore.markDirty(player);
+        return newLevel >= 0;
+    }
+
+    /**
+     * Queue XP to be awarded at the end of the tick.
+     * All XP a player earns in one tick is folded into a single level-up pass,
+     * one unlock check per skill, one "Skill increased" message and one sync.
+     */
+    public static void queueXp(ServerPlayerEntity player, String skillName, int amount) {
+        queueXp(player, SkillRegistry.lookup(skillName), amount);
+    }
+
+    /**
+     * Queue XP by SkillRegistry ordinal, for callers using the built-in skill constants.
+     */
+    public static void queueXp(ServerPlayerEntity player, int skill, int amount) {
+        if (amount <= 0) {
+            // Zero-XP awards exist to unlock a skill, which should happen now
+            awardXp(player, skill, amount);
+            return;
+        }
 
-        int currentLevel = skills.getSkillLevel(skillName);
+        int[] pending = pendingXp.computeIfAbsent(player.getUuid(), id -> new int[SkillRegistry.size()]);
+        pending[skill] += amount;
+    }
+
+    /**
+     * Apply all XP queued so far. Runs at the end of every tick; anything that needs
+     * up-to-date skills mid-tick (like saving them) can call it early.
+     */
+    public static void flushPendingXp(MinecraftServer server) {
+        if (pendingXp.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<UUID, int[]> entry : pendingXp.entrySet()) {
+            // Look the player up by UUID in case they respawned since the XP was queued
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(entry.getKey());
+            if (player != null) {
+                foldXp(player, entry.getValue());
+            }
+        }
+        pendingXp.clear();
+    }
+
+    /**
+     * Apply a player's queued XP for every skill, then message and sync once.
+     */
+    private static void foldXp(ServerPlayerEntity player, int[] pending) {
+        PlayerSkills skills = player.getAttachedOrCreate(PlayerSkills.ATTACHMENT);
+
+        StringBuilder increased = new StringBuilder();
+        for (int skill = 0; skill < pending.length; skill++) {
+            if (pending[skill] == 0) {
+                continue;
+            }
+            int newLevel = applyXp(player, skills, skill, pending[skill]);
+            SkillLeaderboards.update(player, SkillRegistry.name(skill));
+            if (newLevel >= 0) {
+                if (!increased.isEmpty()) increased.append(", ");
+                increased.append(formatSkillName(SkillRegistry.name(skill))).append(" lvl ").append(newLevel);
+            }
+        }
+
+        if (!increased.isEmpty()) {
+            player.sendMessage(Text.literal("Skill increased: " + increased + "!"), false);
+        }
+        ModNetworking.markDirty(player, ModNetworking.SECTION_SKILLS);
+        SharedSkillStore.markDirty(player);
+    }
+
+    /**
+     * Add XP to a skill and resolve level-ups and unlocks, without messaging or syncing
+     * the level-up. Returns the new level if the skill leveled up, or -1 if it didn't.
+     */
+    private static int applyXp(ServerPlayerEntity player, PlayerSkills skills, int skill, int amount) {
+        String skillName = SkillRegistry.name(skill);
+        int currentLevel = skills.getSkillLevel(skill);
 
         // Auto-unlock skill on first XP gain
-        if (!skills.isUnlocked(skillName)) {
-            skills.setSkillLevel(skillName, 0);
+        if (currentLevel < 0) {
+            skills.setSkillLevel(skill, 0);
             currentLevel = 0;
             player.sendMessage(Text.literal("Skill unlocked: " + formatSkillName(skillName) + "!"), false);
 
             // Check for level-0 unlocks (e.g., Aarde's Touch at Blood Magic 0)
-            ModCommands.checkSpellUnlocks(player, skillName, 0);
-            ModCommands.checkVirtueUnlocks(player, skillName, 0);
+            UnlockRules.grantReached(player, skillName, 0);
         }
 
-        int currentXp = skills.getSkillXp(skillName);
-        int newXp = currentXp + amount;
+        // Resolve any number of level-ups with one lookup on the precomputed curve
+        XpCurve curve = XpConfig.get().getCurve();
+        long totalXp = curve.getTotalXpForLevel(currentLevel) + skills.getSkillXp(skill) + amount;
+        int newLevel = Math.max(currentLevel, curve.getLevelForTotalXp(totalXp));
+        int newXp = (int) Math.min(Integer.MAX_VALUE, totalXp - curve.getTotalXpForLevel(newLevel));
+        boolean leveledUp = newLevel > currentLevel;
+        currentLevel = newLevel;
 
-        boolean leveledUp = false;
-        int xpNeeded = XpConfig.get().getXpForNextLevel(currentLevel);
+        skills.setSkillXp(skill, newXp);
 
-        // Check for level-ups (can level up multiple times from one XP gain)
-        while (newXp >= xpNeeded && currentLevel < 300) {
-            newXp -= xpNeeded;
-            currentLevel++;
-            leveledUp = true;
-            xpNeeded = XpConfig.get().getXpForNextLevel(currentLevel);
+        if (!leveledUp) {
+            return -1;
         }
 
-        skills.setSkillXp(skillName, newXp);
-
-        if (leveledUp) {
-            skills.setSkillLevel(skillName, currentLevel);
-            player.sendMessage(Text.literal("Skill increased: " + formatSkillName(skillName) + " lvl " + currentLevel + "!"), false);
-
-            // Check for unlock thresholds (spells/virtues)
-            ModCommands.checkSpellUnlocks(player, skillName, currentLevel);
-            ModCommands.checkVirtueUnlocks(player, skillName, currentLevel);
-        }
+        skills.setSkillLevel(skill, currentLevel);
 
-        ModNetworking.syncSkillsToClient(player);
-        return leveledUp;
+        // Grant unlocks up to the new level (spells/virtues), including any that found no room before
+        UnlockRules.grantReached(player, skillName, currentLevel);
+        return currentLevel;
     }
 
     /**
@@ -93,55 +235,7 @@ public class XpHelper {
      * Returns null if not a relevant item.
      */
     public static String getRelevantSkill(ItemStack stack) {
-        if (stack.isEmpty()) return null;
-
-        // One-handed weapons: swords and axes
-        if (stack.isIn(ItemTags.SWORDS) || stack.isIn(ItemTags.AXES)) {
-            return PlayerSkills.ONE_HANDED;
-        }
-
-        // Blood Magic items
-        Item item = stack.getItem();
-        if (item instanceof BloodMagicItem || item instanceof AardesTouchItem) {
-            return PlayerSkills.BLOOD_MAGIC;
-        }
-
-        // Bone Magic items
-        if (item instanceof BoneMagicItem || item instanceof PhysicalTappingItem) {
-            return PlayerSkills.BONE_MAGIC;
-        }
-
-        // Written books - check title and content
-        return checkBookForSkill(stack);
-    }
-
-    /**
-     * Check if a written book grants XP for a skill.
-     * Requirements: title contains skill keyword, content has 250+ characters.
-     */
-    private static String checkBookForSkill(ItemStack stack) {
-        if (!stack.isOf(Items.WRITTEN_BOOK)) return null;
-
-        WrittenBookContentComponent content = stack.get(DataComponentTypes.WRITTEN_BOOK_CONTENT);
-        if (content == null) return null;
-
-        String title = content.title().raw().toLowerCase();
-
-        // Calculate total character count from all pages
-        int totalChars = 0;
-        for (var page : content.pages()) {
-            totalChars += page.raw().getString().length();
-        }
-
-        if (totalChars < XpConfig.get().bookMinCharacters) return null;
-
-        // Check for skill keywords in title
-        for (Map.Entry<String, String> entry : XpConfig.get().bookSkillKeywords.entrySet()) {
-            if (title.contains(entry.getKey().toLowerCase())) {
-                return entry.getValue();
-            }
-        }
-        return null;
+        return ItemRelevanceCache.getRelevantSkill(stack);
     }
 
     /**
@@ -0,0 +1,81 @@
+package mugasofer.aerb.stat;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.entity.effect.StatusEffects;
+import net.minecraft.registry.entry.RegistryEntry;
+
+/**
+ * Cached derived stats (POW, SPD, END, PHY) for a single entity.
+ * Stats only depend on status effects, so the block is marked dirty by
+ * StatBlockMixin whenever an effect is added, upgraded or removed, and
+ * recomputed on the next read. All other reads are plain field loads.
+ */
+public class StatBlock {
+    private final LivingEntity entity;
+    private boolean dirty = true;
+
+    private int pow;
+    private int spd;
+    private int end;
+    private int phy;
+
+    public StatBlock(LivingEntity entity) {
+        this.entity = entity;
+    }
+
+    /**
+     * Mark the stats as stale (called when status effects change).
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    public int getPow() {
+        refreshIfDirty();
+        return pow;
+    }
+
+    public int getSpd() {
+        refreshIfDirty();
+        return spd;
+    }
+
+    public int getEnd() {
+        refreshIfDirty();
+        return end;
+    }
+
+    public int getPhy() {
+        refreshIfDirty();
+        return phy;
+    }
+
+    private void refreshIfDirty() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        // POW = BASE + Strength effect levels + Jump Boost effect levels
+        pow = StatCalculator.BASE_POW
+            + effectLevels(StatusEffects.STRENGTH)
+            + effectLevels(StatusEffects.JUMP_BOOST);
+        // SPD = BASE + Speed effect levels + Haste effect levels
+        spd = StatCalculator.BASE_SPD
+            + effectLevels(StatusEffects.SPEED)
+            + effectLevels(StatusEffects.HASTE);
+        // END = BASE + Regeneration effect levels + Resistance effect levels
+        end = StatCalculator.BASE_END
+            + effectLevels(StatusEffects.REGENERATION)
+            + effectLevels(StatusEffects.RESISTANCE);
+        // PHY = min(POW, SPD, END) + 1
+        phy = StatCalculator.calculatePHY(pow, spd, end);
+    }
+
+    private int effectLevels(RegistryEntry<StatusEffect> effect) {
+        StatusEffectInstance instance = entity.getStatusEffect(effect);
+        return instance != null ? instance.getAmplifier() + 1 : 0;
+    }
+}
@@ -0,0 +1,8 @@
+package mugasofer.aerb.stat;
+
+/**
+ * Implemented on LivingEntity by StatBlockMixin to give each entity a cached stat block.
+ */
+public interface StatBlockHolder {
+    StatBlock aerb$getStatBlock();
+}
@@ -1,70 +1,61 @@
 package mugasofer.aerb.stat;
 
-import net.minecraft.entity.effect.StatusEffects;
-import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.LivingEntity;
 
 /**
- * Server-side stat calculations for AERB.
- * Mirrors the client-side calculations in CharacterSheetScreen.
+ * Stat calculations for AERB, shared by server mechanics and the client character sheet.
+ * Stats are cached per entity in a {@link StatBlock} and only recomputed when
+ * the entity's status effects change.
  */
 public class StatCalculator {
-    private static final int BASE_POW = 2;
-    private static final int BASE_SPD = 2;
-    private static final int BASE_END = 2;
+    public static final int BASE_POW = 2;
+    public static final int BASE_SPD = 2;
+    public static final int BASE_END = 2;
+    public static final int BASE_PHY = calculatePHY(BASE_POW, BASE_SPD, BASE_END);
 
     /**
-     * Calculate SPD stat for a player.
+     * Get the cached stat block for an entity.
+     */
+    public static StatBlock getStats(LivingEntity entity) {
+        return ((StatBlockHolder) entity).aerb$getStatBlock();
+    }
+
+    /**
+     * Calculate SPD stat for an entity.
      * SPD = BASE + Speed effect levels + Haste effect levels
      */
-    public static int calculateSPD(PlayerEntity player) {
-        int spd = BASE_SPD;
-        if (player.hasStatusEffect(StatusEffects.SPEED)) {
-            spd += player.getStatusEffect(StatusEffects.SPEED).getAmplifier() + 1;
-        }
-        if (player.hasStatusEffect(StatusEffects.HASTE)) {
-            spd += player.getStatusEffect(StatusEffects.HASTE).getAmplifier() + 1;
-        }
-        return spd;
+    public static int calculateSPD(LivingEntity entity) {
+        return getStats(entity).getSpd();
     }
 
     /**
-     * Calculate POW stat for a player.
+     * Calculate POW stat for an entity.
      * POW = BASE + Strength effect levels + Jump Boost effect levels
      */
-    public static int calculatePOW(PlayerEntity player) {
-        int pow = BASE_POW;
-        if (player.hasStatusEffect(StatusEffects.STRENGTH)) {
-            pow += player.getStatusEffect(StatusEffects.STRENGTH).getAmplifier() + 1;
-        }
-        if (player.hasStatusEffect(StatusEffects.JUMP_BOOST)) {
-            pow += player.getStatusEffect(StatusEffects.JUMP_BOOST).getAmplifier() + 1;
-        }
-        return pow;
+    public static int calculatePOW(LivingEntity entity) {
+        return getStats(entity).getPow();
     }
 
     /**
-     * Calculate END stat for a player.
+     * Calculate END stat for an entity.
      * END = BASE + Regeneration effect levels + Resistance effect levels
      */
-    public static int calculateEND(PlayerEntity player) {
-        int end = BASE_END;
-        if (player.hasStatusEffect(StatusEffects.REGENERATION)) {
-            end += player.getStatusEffect(StatusEffects.REGENERATION).getAmplifier() + 1;
-        }
-        if (player.hasStatusEffect(StatusEffects.RESISTANCE)) {
-            end += player.getStatusEffect(StatusEffects.RESISTANCE).getAmplifier() + 1;
-        }
-        return end;
+    public static int calculateEND(LivingEntity entity) {
+        return getStats(entity).getEnd();
     }
 
     /**
-     * Calculate PHY stat for a player.
+     * Calculate PHY stat for an entity.
      * PHY = min(POW, SPD, END) + 1
      */
-    public static int calculatePHY(PlayerEntity player) {
-        int pow = calculatePOW(player);
-        int spd = calculateSPD(player);
-        int end = calculateEND(player);
+    public static int calculatePHY(LivingEntity entity) {
+        return getStats(entity).getPhy();
+    }
+
+    /**
+     * PHY formula from the individual physical stats.
+     */
+    public static int calculatePHY(int pow, int spd, int end) {
         return Math.min(Math.min(pow, spd), end) + 1;
     }
 }
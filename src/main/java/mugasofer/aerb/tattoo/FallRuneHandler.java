@@ -1,14 +1,28 @@
 package mugasofer.aerb.tattoo;
 
 import mugasofer.aerb.Aerb;
+import mugasofer.aerb.combat.CombatJournal;
 import mugasofer.aerb.network.ModNetworking;
+import mugasofer.aerb.skill.SharedSkillStore;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
+import net.minecraft.registry.RegistryKey;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Handles the Fall Rune tattoo effect.
@@ -37,14 +51,48 @@ public class FallRuneHandler {
     // Maximum distance to scan for ground (don't waste time checking into the void)
     private static final int MAX_SCAN_DISTANCE = 64;
 
+    // Players carrying a Fall Rune, by the world they're in; only they are checked each tick
+    private static final Map<RegistryKey<World>, Set<UUID>> bearers = new HashMap<>();
+
     public static void init() {
         ServerTickEvents.END_WORLD_TICK.register(FallRuneHandler::onWorldTick);
+
+        // Keep the bearer sets in step with where players are
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> updateBearer(handler.getPlayer()));
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> removeBearer(handler.getPlayer().getUuid()));
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> updateBearer(newPlayer));
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> updateBearer(player));
+
         Aerb.LOGGER.info("Fall Rune handler initialized");
     }
 
+    /**
+     * Re-check whether a player carries a Fall Rune.
+     * Call after changing a player's tattoos.
+     */
+    public static void updateBearer(ServerPlayerEntity player) {
+        removeBearer(player.getUuid());
+        if (player.getAttachedOrCreate(PlayerTattoos.ATTACHMENT).hasTattoo(TattooTypes.FALL_RUNE)) {
+            bearers.computeIfAbsent(player.getEntityWorld().getRegistryKey(), key -> new HashSet<>()).add(player.getUuid());
+        }
+    }
+
+    private static void removeBearer(UUID playerId) {
+        for (Set<UUID> worldBearers : bearers.values()) {
+            worldBearers.remove(playerId);
+        }
+    }
+
     private static void onWorldTick(ServerWorld world) {
-        for (ServerPlayerEntity player : world.getPlayers()) {
-            checkFallRune(player);
+        Set<UUID> worldBearers = bearers.get(world.getRegistryKey());
+        if (worldBearers == null || worldBearers.isEmpty()) {
+            return;
+        }
+        // Copied, since using up a rune removes its bearer
+        for (UUID playerId : List.copyOf(worldBearers)) {
+            if (world.getPlayerByUuid(playerId) instanceof ServerPlayerEntity player) {
+                checkFallRune(player);
+            }
         }
     }
 
@@ -64,7 +112,7 @@ public class FallRuneHandler {
 
         // Check if player has the Fall Rune
         PlayerTattoos tattoos = player.getAttachedOrCreate(PlayerTattoos.ATTACHMENT);
-        if (!tattoos.hasTattoo(PlayerTattoos.FALL_RUNE)) {
+        if (!tattoos.hasTattoo(TattooTypes.FALL_RUNE)) {
             return;
         }
 
@@ -113,6 +161,8 @@ public class FallRuneHandler {
             return; // Shouldn't happen if hasTattoo returned true
         }
 
+        CombatJournal.fallRune(player, player.getVelocity().y);
+
         // Apply slow falling effect
         player.addStatusEffect(new StatusEffectInstance(
             StatusEffects.SLOW_FALLING,
@@ -136,8 +186,8 @@ public class FallRuneHandler {
         player.sendMessage(Text.literal("Your Fall Rune glows and your descent slows!"), true);
 
         // Sync tattoo state to client (tattoo was consumed)
-        ModNetworking.syncTattoosToClient(player);
-
-        Aerb.LOGGER.info("Fall Rune activated for {}", player.getName().getString());
+        ModNetworking.markDirty(player, ModNetworking.SECTION_TATTOOS);
+        SharedSkillStore.markDirty(player);
+        updateBearer(player);
     }
 }
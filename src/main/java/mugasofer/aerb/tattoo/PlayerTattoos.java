@@ -87,8 +87,21 @@ public class PlayerTattoos {
             .initializer(PlayerTattoos::new)
             .buildAndRegister(Identifier.of(Aerb.MOD_ID, "player_tattoos"));
 
+    // Most recent changes kept for delta sync; clients further behind get a full snapshot
+    private static final int MAX_CHANGE_LOG = 32;
+
     private final List<TattooInstance> tattoos;
 
+    // Indexes over the list, kept up to date by every mutator: instances of each type,
+    // instance counts by TattooTypes id, and which of the 16x16 grid cells are covered (bit y * 16 + x)
+    private final Map<String, List<TattooInstance>> byType = new HashMap<>();
+    private final int[] typeCounts = new int[TattooTypes.count()];
+    private final long[] occupied = new long[4];
+
+    // Bumped by every change; not persisted, since clients always get a full snapshot on join
+    private int version;
+    private final ArrayDeque<TattooChange> changeLog = new ArrayDeque<>();
+
     public PlayerTattoos() {
         this.tattoos = new ArrayList<>();
     }
@@ -96,22 +109,30 @@ public class PlayerTattoos {
     // Constructor for deserialization
     private PlayerTattoos(List<TattooInstance> tattoos) {
         this.tattoos = new ArrayList<>(tattoos);
+        rebuildIndexes();
     }
 
     /**
      * Check if the player has at least one instance of a specific tattoo.
      */
     public boolean hasTattoo(String tattooId) {
-        return tattoos.stream().anyMatch(t -> t.tattooId().equals(tattooId));
+        int type = TattooTypes.id(tattooId);
+        return type >= 0 ? typeCounts[type] > 0 : byType.containsKey(tattooId);
+    }
+
+    /**
+     * Check if the player has at least one instance of a registered tattoo type.
+     */
+    public boolean hasTattoo(int type) {
+        return typeCounts[type] > 0;
     }
 
     /**
      * Get all instances of a specific tattoo type.
      */
     public List<TattooInstance> getTattooInstances(String tattooId) {
-        return tattoos.stream()
-                .filter(t -> t.tattooId().equals(tattooId))
-                .toList();
+        List<TattooInstance> instances = byType.get(tattooId);
+        return instances != null ? List.copyOf(instances) : List.of();
     }
 
     /**
@@ -119,10 +140,44 @@ public class PlayerTattoos {
      * Returns null if none available.
      */
     public TattooInstance getUsableTattoo(String tattooId, long currentTime) {
-        return tattoos.stream()
-                .filter(t -> t.tattooId().equals(tattooId) && t.canUse(currentTime))
-                .findFirst()
-                .orElse(null);
+        List<TattooInstance> instances = byType.get(tattooId);
+        if (instances != null) {
+            for (TattooInstance instance : instances) {
+                if (instance.canUse(currentTime)) {
+                    return instance;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if a tattoo could be placed at a grid position without overlapping another one.
+     */
+    public boolean canPlace(String tattooId, int gridX, int gridY) {
+        long[] footprint = new long[4];
+        addFootprint(footprint, tattooId, gridX, gridY);
+        return !intersects(footprint, occupied);
+    }
+
+    /**
+     * Check if a tattoo could be moved to a grid position without overlapping any other tattoo.
+     */
+    public boolean canMove(TattooInstance instance, int newGridX, int newGridY) {
+        long[] footprint = new long[4];
+        addFootprint(footprint, instance.tattooId(), newGridX, newGridY);
+        if (!intersects(footprint, occupied)) {
+            return true;
+        }
+        // Only cells covered by other tattoos count; old saves can have overlapping tattoos,
+        // so the others' cells are collected rather than masking out this one
+        long[] others = new long[4];
+        for (TattooInstance other : tattoos) {
+            if (other != instance) {
+                addFootprint(others, other.tattooId(), other.gridX(), other.gridY());
+            }
+        }
+        return !intersects(footprint, others);
     }
 
     /**
@@ -130,13 +185,16 @@ public class PlayerTattoos {
      */
     public void addTattoo(TattooInstance instance) {
         tattoos.add(instance);
+        index(instance);
+        addFootprint(occupied, instance.tattooId(), instance.gridX(), instance.gridY());
+        logChange(TattooChange.add(instance));
     }
 
     /**
      * Add a tattoo at a specific grid position.
      */
     public void addTattoo(String tattooId, int gridX, int gridY) {
-        tattoos.add(TattooInstance.create(tattooId, gridX, gridY));
+        addTattoo(TattooInstance.create(tattooId, gridX, gridY));
     }
 
     /**
@@ -144,7 +202,14 @@ public class PlayerTattoos {
      * Returns true if it was found and removed.
      */
     public boolean removeTattoo(TattooInstance instance) {
-        return tattoos.remove(instance);
+        int index = indexOf(instance);
+        if (index < 0) {
+            return false;
+        }
+        unindex(tattoos.remove(index));
+        rebuildOccupancy();
+        logChange(TattooChange.remove(index));
+        return true;
     }
 
     /**
@@ -152,9 +217,16 @@ public class PlayerTattoos {
      * Returns the removed instance, or null if none found.
      */
     public TattooInstance removeFirstTattoo(String tattooId) {
+        if (!hasTattoo(tattooId)) {
+            return null;
+        }
         for (int i = 0; i < tattoos.size(); i++) {
             if (tattoos.get(i).tattooId().equals(tattooId)) {
-                return tattoos.remove(i);
+                TattooInstance removed = tattoos.remove(i);
+                unindex(removed);
+                rebuildOccupancy();
+                logChange(TattooChange.remove(i));
+                return removed;
             }
         }
         return null;
@@ -165,14 +237,20 @@ public class PlayerTattoos {
      * Returns the number removed.
      */
     public int removeAllTattoos(String tattooId) {
+        if (!hasTattoo(tattooId)) {
+            return 0;
+        }
         int removed = 0;
-        Iterator<TattooInstance> iter = tattoos.iterator();
-        while (iter.hasNext()) {
-            if (iter.next().tattooId().equals(tattooId)) {
-                iter.remove();
+        for (int i = 0; i < tattoos.size(); ) {
+            if (tattoos.get(i).tattooId().equals(tattooId)) {
+                unindex(tattoos.remove(i));
+                logChange(TattooChange.remove(i));
                 removed++;
+            } else {
+                i++;
             }
         }
+        rebuildOccupancy();
         return removed;
     }
 
@@ -180,9 +258,11 @@ public class PlayerTattoos {
      * Set cooldown on a specific tattoo instance.
      */
     public void setCooldown(TattooInstance instance, long until) {
-        int index = tattoos.indexOf(instance);
+        int index = indexOf(instance);
         if (index >= 0) {
-            tattoos.set(index, instance.withCooldown(until));
+            TattooInstance updated = instance.withCooldown(until);
+            replaceIndexed(tattoos.set(index, updated), updated);
+            logChange(TattooChange.cooldown(index, until));
         }
     }
 
@@ -190,9 +270,12 @@ public class PlayerTattoos {
      * Move a tattoo to a new grid position.
      */
     public void moveTattoo(TattooInstance instance, int newGridX, int newGridY) {
-        int index = tattoos.indexOf(instance);
+        int index = indexOf(instance);
         if (index >= 0) {
-            tattoos.set(index, instance.movedTo(newGridX, newGridY));
+            TattooInstance moved = instance.movedTo(newGridX, newGridY);
+            replaceIndexed(tattoos.set(index, moved), moved);
+            rebuildOccupancy();
+            logChange(TattooChange.move(index, newGridX, newGridY));
         }
     }
 
@@ -207,18 +290,19 @@ public class PlayerTattoos {
      * Get the count of a specific tattoo type.
      */
     public int countTattoos(String tattooId) {
-        return (int) tattoos.stream().filter(t -> t.tattooId().equals(tattooId)).count();
+        int type = TattooTypes.id(tattooId);
+        if (type >= 0) {
+            return typeCounts[type];
+        }
+        List<TattooInstance> instances = byType.get(tattooId);
+        return instances != null ? instances.size() : 0;
     }
 
     /**
      * Get all unique tattoo IDs the player has.
      */
     public Set<String> getTattooIds() {
-        Set<String> ids = new HashSet<>();
-        for (TattooInstance t : tattoos) {
-            ids.add(t.tattooId());
-        }
-        return ids;
+        return new HashSet<>(byType.keySet());
     }
 
     /**
@@ -228,6 +312,129 @@ public class PlayerTattoos {
     public void copyFrom(PlayerTattoos other) {
         this.tattoos.clear();
         this.tattoos.addAll(other.tattoos);
+        rebuildIndexes();
+        // Wholesale replacement can't be expressed as changes; jump past any version a client has seen
+        this.version = Math.max(this.version, other.version) + 1;
+        this.changeLog.clear();
+    }
+
+    // Callers pass instances they got from this list, so compare by identity before falling back to equality
+    private int indexOf(TattooInstance instance) {
+        for (int i = 0; i < tattoos.size(); i++) {
+            if (tattoos.get(i) == instance) {
+                return i;
+            }
+        }
+        return tattoos.indexOf(instance);
+    }
+
+    private void index(TattooInstance instance) {
+        byType.computeIfAbsent(instance.tattooId(), id -> new ArrayList<>()).add(instance);
+        int type = TattooTypes.id(instance.tattooId());
+        if (type >= 0) {
+            typeCounts[type]++;
+        }
+    }
+
+    // By identity: equal instances (old saves can stack them) are separate entries in the index
+    private void unindex(TattooInstance instance) {
+        List<TattooInstance> instances = byType.get(instance.tattooId());
+        if (instances == null) {
+            return;
+        }
+        for (int i = 0; i < instances.size(); i++) {
+            if (instances.get(i) == instance) {
+                instances.remove(i);
+                if (instances.isEmpty()) {
+                    byType.remove(instance.tattooId());
+                }
+                int type = TattooTypes.id(instance.tattooId());
+                if (type >= 0) {
+                    typeCounts[type]--;
+                }
+                return;
+            }
+        }
+    }
+
+    private void replaceIndexed(TattooInstance old, TattooInstance updated) {
+        List<TattooInstance> instances = byType.get(old.tattooId());
+        for (int i = 0; i < instances.size(); i++) {
+            if (instances.get(i) == old) {
+                instances.set(i, updated);
+                return;
+            }
+        }
+    }
+
+    private void rebuildIndexes() {
+        byType.clear();
+        Arrays.fill(typeCounts, 0);
+        for (TattooInstance instance : tattoos) {
+            index(instance);
+        }
+        rebuildOccupancy();
+    }
+
+    // Removing one footprint can't just clear its bits, since old saves can have overlapping tattoos
+    private void rebuildOccupancy() {
+        Arrays.fill(occupied, 0);
+        for (TattooInstance instance : tattoos) {
+            addFootprint(occupied, instance.tattooId(), instance.gridX(), instance.gridY());
+        }
+    }
+
+    /**
+     * Set the bits of the grid cells a tattoo covers, clipped to the grid.
+     * Each long holds four rows of 16 cells.
+     */
+    private static void addFootprint(long[] grid, String tattooId, int gridX, int gridY) {
+        if (gridX < 0 || gridX > 15 || gridY < 0 || gridY > 15) {
+            return;
+        }
+        int width = Math.min(TattooTypes.gridWidth(tattooId), 16 - gridX);
+        int bottom = Math.min(gridY + TattooTypes.gridHeight(tattooId), 16);
+        long row = ((1L << width) - 1) << gridX;
+        for (int y = gridY; y < bottom; y++) {
+            grid[y >> 2] |= row << ((y & 3) * 16);
+        }
+    }
+
+    private static boolean intersects(long[] a, long[] b) {
+        return ((a[0] & b[0]) | (a[1] & b[1]) | (a[2] & b[2]) | (a[3] & b[3])) != 0;
+    }
+
+    private void logChange(TattooChange change) {
+        version++;
+        changeLog.addLast(change);
+        if (changeLog.size() > MAX_CHANGE_LOG) {
+            changeLog.removeFirst();
+        }
+    }
+
+    /**
+     * Version of the tattoo list; every change increments it.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the changes that turn the list at fromVersion into the current list,
+     * or null if they are no longer all in the change log.
+     */
+    public List<TattooChange> getChangesSince(int fromVersion) {
+        int behind = version - fromVersion;
+        if (behind < 0 || behind > changeLog.size()) {
+            return null;
+        }
+        List<TattooChange> changes = new ArrayList<>(behind);
+        Iterator<TattooChange> iter = changeLog.descendingIterator();
+        for (int i = 0; i < behind; i++) {
+            changes.add(iter.next());
+        }
+        Collections.reverse(changes);
+        return changes;
     }
 
     /**
@@ -0,0 +1,66 @@
+package mugasofer.aerb.tattoo;
+
+import java.util.List;
+
+/**
+ * One change to a player's tattoo list, for delta sync.
+ * Changes refer to tattoos by list index, so applying the same changes in the same order
+ * to a copy of the list keeps it identical to the original.
+ *
+ * @param type What changed
+ * @param index List index of the affected tattoo (unused for ADD, which appends)
+ * @param tattooId Tattoo type (ADD only)
+ * @param gridX New grid X (ADD and MOVE)
+ * @param gridY New grid Y (ADD and MOVE)
+ * @param cooldownUntil New cooldown (ADD and COOLDOWN)
+ */
+public record TattooChange(Type type, int index, String tattooId, int gridX, int gridY, long cooldownUntil) {
+    public enum Type {ADD, REMOVE, MOVE, COOLDOWN}
+
+    public static TattooChange add(TattooInstance instance) {
+        return new TattooChange(Type.ADD, -1, instance.tattooId(), instance.gridX(), instance.gridY(), instance.cooldownUntil());
+    }
+
+    public static TattooChange remove(int index) {
+        return new TattooChange(Type.REMOVE, index, null, 0, 0, 0);
+    }
+
+    public static TattooChange move(int index, int gridX, int gridY) {
+        return new TattooChange(Type.MOVE, index, null, gridX, gridY, 0);
+    }
+
+    public static TattooChange cooldown(int index, long cooldownUntil) {
+        return new TattooChange(Type.COOLDOWN, index, null, 0, 0, cooldownUntil);
+    }
+
+    /**
+     * Same change with a different cooldown, for converting between absolute and relative time.
+     */
+    public TattooChange withCooldown(long cooldownUntil) {
+        return new TattooChange(type, index, tattooId, gridX, gridY, cooldownUntil);
+    }
+
+    /**
+     * Whether this change affects how the tattoos look (cooldowns don't).
+     */
+    public boolean isVisual() {
+        return type != Type.COOLDOWN;
+    }
+
+    /**
+     * Apply this change to a tattoo list.
+     * Returns false if the list doesn't match the one the change was made to.
+     */
+    public boolean applyTo(List<TattooInstance> tattoos) {
+        if (type != Type.ADD && (index < 0 || index >= tattoos.size())) {
+            return false;
+        }
+        switch (type) {
+            case ADD -> tattoos.add(new TattooInstance(tattooId, gridX, gridY, cooldownUntil));
+            case REMOVE -> tattoos.remove(index);
+            case MOVE -> tattoos.set(index, tattoos.get(index).movedTo(gridX, gridY));
+            case COOLDOWN -> tattoos.set(index, tattoos.get(index).withCooldown(cooldownUntil));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+package mugasofer.aerb.tattoo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns each tattoo type a small numeric id for the network protocol and indexing,
+ * and records how many grid cells it covers.
+ * Both sides register the same built-in types in the same order, so the ids agree
+ * without a handshake. Tattoo ids outside this list still sync, just as strings.
+ */
+public class TattooTypes {
+    // Footprint of tattoos that aren't registered
+    public static final int DEFAULT_SIZE = 2;
+
+    private static final Map<String, Integer> ids = new HashMap<>();
+    private static final List<String> names = new ArrayList<>();
+    private static final List<int[]> sizes = new ArrayList<>();
+
+    // Sizes in grid cells of 4x4 skin pixels; design items and placement checks both read them from here
+    public static final int FALL_RUNE = register(PlayerTattoos.FALL_RUNE, 2, 2);
+    public static final int ICY_DEVIL = register(PlayerTattoos.ICY_DEVIL, 3, 3);
+
+    private static int register(String tattooId, int gridWidth, int gridHeight) {
+        int next = names.size();
+        names.add(tattooId);
+        sizes.add(new int[]{gridWidth, gridHeight});
+        ids.put(tattooId, next);
+        return next;
+    }
+
+    /**
+     * Number of registered tattoo types; ids run from 0 to count() - 1.
+     */
+    public static int count() {
+        return names.size();
+    }
+
+    /**
+     * Width in grid cells of a tattoo type.
+     */
+    public static int gridWidth(String tattooId) {
+        int id = id(tattooId);
+        return id >= 0 ? sizes.get(id)[0] : DEFAULT_SIZE;
+    }
+
+    /**
+     * Height in grid cells of a tattoo type.
+     */
+    public static int gridHeight(String tattooId) {
+        int id = id(tattooId);
+        return id >= 0 ? sizes.get(id)[1] : DEFAULT_SIZE;
+    }
+
+    /**
+     * Get the numeric id of a tattoo type, or -1 if it isn't a registered type.
+     */
+    public static int id(String tattooId) {
+        Integer id = ids.get(tattooId);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Get the tattoo type with a numeric id, or null if there is none.
+     */
+    public static String name(int id) {
+        return id >= 0 && id < names.size() ? names.get(id) : null;
+    }
+}
@@ -0,0 +1,122 @@
+package mugasofer.aerb.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RankTreeTest {
+    private record Entry(int level, int xp, UUID id) {
+    }
+
+    // Same order as RankTree: higher level, then higher XP, then UUID
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::level).reversed()
+        .thenComparing(Comparator.comparingInt(Entry::xp).reversed())
+        .thenComparing(Entry::id);
+
+    @Test
+    void ranksByLevelThenXp() {
+        RankTree tree = new RankTree();
+        UUID low = new UUID(0, 1);
+        UUID high = new UUID(0, 2);
+        UUID mid = new UUID(0, 3);
+        tree.insert(1, 50, low);
+        tree.insert(5, 0, high);
+        tree.insert(1, 80, mid);
+
+        assertEquals(0, tree.rank(5, 0, high));
+        assertEquals(1, tree.rank(1, 80, mid));
+        assertEquals(2, tree.rank(1, 50, low));
+        assertEquals(high, tree.select(0));
+        assertEquals(mid, tree.select(1));
+        assertEquals(low, tree.select(2));
+    }
+
+    @Test
+    void tiesAreBrokenByUuid() {
+        RankTree tree = new RankTree();
+        UUID first = new UUID(0, 1);
+        UUID second = new UUID(0, 2);
+        tree.insert(3, 10, second);
+        tree.insert(3, 10, first);
+
+        assertEquals(0, tree.rank(3, 10, first));
+        assertEquals(1, tree.rank(3, 10, second));
+    }
+
+    @Test
+    void missingEntriesAndOutOfRangeRanks() {
+        RankTree tree = new RankTree();
+        UUID id = new UUID(0, 1);
+        assertEquals(-1, tree.rank(1, 1, id));
+        assertNull(tree.select(0));
+
+        tree.insert(1, 1, id);
+        // Same player with a different score isn't in the tree
+        assertEquals(-1, tree.rank(2, 1, id));
+        assertNull(tree.select(1));
+        assertNull(tree.select(-1));
+    }
+
+    @Test
+    void removeKeepsOrderStatistics() {
+        RankTree tree = new RankTree();
+        UUID a = new UUID(0, 1);
+        UUID b = new UUID(0, 2);
+        UUID c = new UUID(0, 3);
+        tree.insert(3, 0, a);
+        tree.insert(2, 0, b);
+        tree.insert(1, 0, c);
+
+        tree.remove(2, 0, b);
+        assertEquals(2, tree.size());
+        assertEquals(-1, tree.rank(2, 0, b));
+        assertEquals(1, tree.rank(1, 0, c));
+        assertEquals(c, tree.select(1));
+
+        // Removing something that isn't there changes nothing
+        tree.remove(2, 0, b);
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    void matchesSortedListUnderRandomUpdates() {
+        Random random = new Random(1234);
+        RankTree tree = new RankTree();
+        List<Entry> model = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            if (!model.isEmpty() && random.nextInt(3) == 0) {
+                Entry removed = model.remove(random.nextInt(model.size()));
+                tree.remove(removed.level(), removed.xp(), removed.id());
+            } else {
+                // Narrow ranges so ties on level and XP are common
+                Entry added = new Entry(random.nextInt(10), random.nextInt(5), new UUID(random.nextLong(), random.nextLong()));
+                model.add(added);
+                tree.insert(added.level(), added.xp(), added.id());
+            }
+
+            if (step % 250 == 0) {
+                assertMatches(model, tree);
+            }
+        }
+        assertMatches(model, tree);
+    }
+
+    private static void assertMatches(List<Entry> model, RankTree tree) {
+        List<Entry> sorted = new ArrayList<>(model);
+        sorted.sort(ORDER);
+        assertEquals(sorted.size(), tree.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            Entry entry = sorted.get(i);
+            assertEquals(i, tree.rank(entry.level(), entry.xp(), entry.id()));
+            assertEquals(entry.id(), tree.select(i));
+        }
+    }
+}
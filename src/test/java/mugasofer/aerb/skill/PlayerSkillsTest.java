@@ -0,0 +1,75 @@
+package mugasofer.aerb.skill;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerSkillsTest {
+    private static final XpCurve CURVE = XpCurve.fromExponent(2.0);
+
+    private static PlayerSkills copyOf(PlayerSkills skills) {
+        PlayerSkills copy = new PlayerSkills();
+        copy.copyFrom(skills);
+        return copy;
+    }
+
+    @Test
+    void mergeAddsXpEarnedOnBothServers() {
+        PlayerSkills base = new PlayerSkills();
+        base.setSkillLevel(SkillRegistry.PARRY, 1);
+        base.setSkillXp(SkillRegistry.PARRY, 2);
+
+        // Total XP 6 at the base; the other server earned 10, this one 5
+        PlayerSkills newer = copyOf(base);
+        newer.setSkillLevel(SkillRegistry.PARRY, 2);
+        newer.setSkillXp(SkillRegistry.PARRY, 3);
+        PlayerSkills ours = copyOf(base);
+        ours.setSkillXp(SkillRegistry.PARRY, 7);
+
+        newer.mergeChanges(base, ours, CURVE);
+
+        // 21 total: level 2 starts at 13
+        assertEquals(2, newer.getSkillLevel(SkillRegistry.PARRY));
+        assertEquals(8, newer.getSkillXp(SkillRegistry.PARRY));
+    }
+
+    @Test
+    void mergeKeepsSkillsOnlyTheNewerCopyChanged() {
+        PlayerSkills base = new PlayerSkills();
+        PlayerSkills newer = copyOf(base);
+        newer.setSkillLevel(SkillRegistry.ART, 3);
+        newer.setSkillXp(SkillRegistry.ART, 1);
+        PlayerSkills ours = copyOf(base);
+        ours.setSkillLevel(SkillRegistry.BLOOD_MAGIC, 0);
+        ours.setSkillXp(SkillRegistry.BLOOD_MAGIC, 2);
+
+        newer.mergeChanges(base, ours, CURVE);
+
+        assertEquals(3, newer.getSkillLevel(SkillRegistry.ART));
+        assertEquals(1, newer.getSkillXp(SkillRegistry.ART));
+        assertEquals(0, newer.getSkillLevel(SkillRegistry.BLOOD_MAGIC));
+        assertEquals(2, newer.getSkillXp(SkillRegistry.BLOOD_MAGIC));
+        assertEquals(PlayerSkills.LOCKED, newer.getSkillLevel(SkillRegistry.PARRY));
+    }
+
+    @Test
+    void mergeAppliesDiscoveriesAndForgottenSpells() {
+        PlayerSkills base = new PlayerSkills();
+        base.discoverSpell("aarde_touch");
+        base.markUnlockGranted("aarde_touch");
+        PlayerSkills newer = copyOf(base);
+        newer.discoverSpell("bone_ward");
+        PlayerSkills ours = copyOf(base);
+        ours.forgetSpell("aarde_touch");
+        ours.discoverSpell("blood_lash");
+
+        newer.mergeChanges(base, ours, CURVE);
+
+        assertFalse(newer.hasDiscoveredSpell("aarde_touch"));
+        assertFalse(newer.hasGrantedUnlock("aarde_touch"));
+        assertTrue(newer.hasDiscoveredSpell("bone_ward"));
+        assertTrue(newer.hasDiscoveredSpell("blood_lash"));
+    }
+}
@@ -0,0 +1,78 @@
+package mugasofer.aerb.skill;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XpCurveTest {
+    @Test
+    void fromExponentMatchesFormula() {
+        XpCurve curve = XpCurve.fromExponent(2.0);
+        assertEquals(4, curve.getXpForNextLevel(0));
+        assertEquals(9, curve.getXpForNextLevel(1));
+        assertEquals(16, curve.getXpForNextLevel(2));
+        assertEquals(0, curve.getTotalXpForLevel(0));
+        assertEquals(4, curve.getTotalXpForLevel(1));
+        assertEquals(13, curve.getTotalXpForLevel(2));
+    }
+
+    @Test
+    void levelForTotalXpFindsLastReachedLevel() {
+        XpCurve curve = XpCurve.fromExponent(2.0);
+        assertEquals(0, curve.getLevelForTotalXp(0));
+        assertEquals(0, curve.getLevelForTotalXp(3));
+        assertEquals(1, curve.getLevelForTotalXp(4));
+        assertEquals(1, curve.getLevelForTotalXp(12));
+        assertEquals(2, curve.getLevelForTotalXp(13));
+        assertEquals(XpCurve.MAX_LEVEL, curve.getLevelForTotalXp(Long.MAX_VALUE));
+    }
+
+    @Test
+    void levelForTotalXpAgreesWithCumulativeTable() {
+        XpCurve curve = XpCurve.fromExponent(1.5);
+        for (int level = 0; level <= XpCurve.MAX_LEVEL; level++) {
+            long total = curve.getTotalXpForLevel(level);
+            assertEquals(level, curve.getLevelForTotalXp(total));
+            if (level > 0) {
+                assertEquals(level - 1, curve.getLevelForTotalXp(total - 1));
+            }
+        }
+    }
+
+    @Test
+    void zeroXpLevelsResolveToTheHighest() {
+        int[] table = new int[XpCurve.MAX_LEVEL + 1];
+        table[0] = 10;
+        // Levels 1 -> 2 and 2 -> 3 are free
+        for (int level = 3; level <= XpCurve.MAX_LEVEL; level++) {
+            table[level] = 5;
+        }
+        XpCurve curve = new XpCurve(table);
+        assertEquals(0, curve.getLevelForTotalXp(9));
+        assertEquals(3, curve.getLevelForTotalXp(10));
+        assertEquals(4, curve.getLevelForTotalXp(15));
+    }
+
+    @Test
+    void levelsAreClamped() {
+        XpCurve curve = XpCurve.fromExponent(2.0);
+        assertEquals(curve.getXpForNextLevel(0), curve.getXpForNextLevel(-1));
+        assertEquals(curve.getTotalXpForLevel(XpCurve.MAX_LEVEL), curve.getTotalXpForLevel(XpCurve.MAX_LEVEL + 10));
+    }
+
+    @Test
+    void tableIsCopied() {
+        int[] table = XpCurve.fromExponent(2.0).getXpPerLevel();
+        XpCurve curve = new XpCurve(table);
+        table[0] = 1000;
+        assertEquals(4, curve.getXpForNextLevel(0));
+        assertArrayEquals(XpCurve.fromExponent(2.0).getXpPerLevel(), curve.getXpPerLevel());
+    }
+
+    @Test
+    void rejectsWrongTableSize() {
+        assertThrows(IllegalArgumentException.class, () -> new XpCurve(new int[10]));
+    }
+}
@@ -0,0 +1,187 @@
+package mugasofer.aerb.tattoo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerTattoosTest {
+    /**
+     * Replay the changes since a version onto a copy of the list as it was then,
+     * the way a client patches its cache, and check it ends up equal to the server list.
+     */
+    private static void assertReplays(PlayerTattoos tattoos, List<TattooInstance> atVersion, int version) {
+        List<TattooChange> changes = tattoos.getChangesSince(version);
+        assertNotNull(changes, "changes since version " + version);
+        assertEquals(tattoos.getVersion() - version, changes.size());
+
+        List<TattooInstance> replayed = new ArrayList<>(atVersion);
+        for (TattooChange change : changes) {
+            assertTrue(change.applyTo(replayed), "change " + change + " applies");
+        }
+        assertEquals(tattoos.getAllTattoos(), replayed);
+    }
+
+    @Test
+    void replaysAddRemoveMoveAndCooldown() {
+        PlayerTattoos tattoos = new PlayerTattoos();
+        Map<Integer, List<TattooInstance>> history = new HashMap<>();
+        history.put(tattoos.getVersion(), tattoos.getAllTattoos());
+
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 0, 0);
+        history.put(tattoos.getVersion(), tattoos.getAllTattoos());
+        tattoos.addTattoo(PlayerTattoos.ICY_DEVIL, 4, 4);
+        history.put(tattoos.getVersion(), tattoos.getAllTattoos());
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 10, 10);
+        history.put(tattoos.getVersion(), tattoos.getAllTattoos());
+
+        tattoos.moveTattoo(tattoos.getAllTattoos().get(1), 8, 0);
+        history.put(tattoos.getVersion(), tattoos.getAllTattoos());
+        tattoos.setCooldown(tattoos.getAllTattoos().get(2), 500);
+        history.put(tattoos.getVersion(), tattoos.getAllTattoos());
+        tattoos.removeTattoo(tattoos.getAllTattoos().get(0));
+        history.put(tattoos.getVersion(), tattoos.getAllTattoos());
+        tattoos.setCooldown(tattoos.getAllTattoos().get(0), 900);
+        history.put(tattoos.getVersion(), tattoos.getAllTattoos());
+
+        assertEquals(7, tattoos.getVersion());
+        // A client at any earlier version catches up
+        for (Map.Entry<Integer, List<TattooInstance>> entry : history.entrySet()) {
+            assertReplays(tattoos, entry.getValue(), entry.getKey());
+        }
+        assertEquals(List.of(
+            new TattooInstance(PlayerTattoos.ICY_DEVIL, 8, 0, 900),
+            new TattooInstance(PlayerTattoos.FALL_RUNE, 10, 10, 500)), tattoos.getAllTattoos());
+    }
+
+    @Test
+    void removeAllTattoosLogsIndexesAsTheListShrinks() {
+        PlayerTattoos tattoos = new PlayerTattoos();
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 0, 0);
+        tattoos.addTattoo(PlayerTattoos.ICY_DEVIL, 2, 0);
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 6, 0);
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 8, 0);
+        tattoos.addTattoo(PlayerTattoos.ICY_DEVIL, 10, 0);
+        List<TattooInstance> before = tattoos.getAllTattoos();
+        int version = tattoos.getVersion();
+
+        assertEquals(3, tattoos.removeAllTattoos(PlayerTattoos.FALL_RUNE));
+
+        assertEquals(version + 3, tattoos.getVersion());
+        assertReplays(tattoos, before, version);
+        assertEquals(0, tattoos.countTattoos(PlayerTattoos.FALL_RUNE));
+        assertEquals(2, tattoos.countTattoos(PlayerTattoos.ICY_DEVIL));
+    }
+
+    @Test
+    void changeLogIsTruncatedAfterThirtyTwoChanges() {
+        PlayerTattoos tattoos = new PlayerTattoos();
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 0, 0);
+        List<TattooInstance> before = tattoos.getAllTattoos();
+        int version = tattoos.getVersion();
+
+        for (int i = 1; i <= 32; i++) {
+            tattoos.setCooldown(tattoos.getAllTattoos().get(0), i);
+        }
+        // Exactly the log's length behind still replays
+        assertReplays(tattoos, before, version);
+        assertEquals(new TattooInstance(PlayerTattoos.FALL_RUNE, 0, 0, 32), tattoos.getAllTattoos().get(0));
+
+        tattoos.setCooldown(tattoos.getAllTattoos().get(0), 33);
+        assertNull(tattoos.getChangesSince(version));
+        assertNull(tattoos.getChangesSince(0));
+        assertEquals(32, tattoos.getChangesSince(version + 1).size());
+    }
+
+    @Test
+    void versionsAheadOfTheServerHaveNoChanges() {
+        PlayerTattoos tattoos = new PlayerTattoos();
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 0, 0);
+
+        assertNull(tattoos.getChangesSince(tattoos.getVersion() + 1));
+        assertEquals(List.of(), tattoos.getChangesSince(tattoos.getVersion()));
+    }
+
+    @Test
+    void copyFromJumpsPastEveryVersionSeen() {
+        PlayerTattoos tattoos = new PlayerTattoos();
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 0, 0);
+        PlayerTattoos other = new PlayerTattoos();
+        for (int i = 0; i < 4; i++) {
+            other.addTattoo(PlayerTattoos.ICY_DEVIL, i * 3, 0);
+        }
+        int oldVersion = tattoos.getVersion();
+
+        tattoos.copyFrom(other);
+
+        assertEquals(other.getAllTattoos(), tattoos.getAllTattoos());
+        assertEquals(Math.max(oldVersion, other.getVersion()) + 1, tattoos.getVersion());
+        // Neither a client of the old list nor one that saw the other list can patch its way here
+        assertNull(tattoos.getChangesSince(oldVersion));
+        assertNull(tattoos.getChangesSince(other.getVersion()));
+        assertEquals(List.of(), tattoos.getChangesSince(tattoos.getVersion()));
+
+        // Changes after the copy replay onto the copied list as usual
+        List<TattooInstance> copied = tattoos.getAllTattoos();
+        int copiedVersion = tattoos.getVersion();
+        tattoos.removeFirstTattoo(PlayerTattoos.ICY_DEVIL);
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 0, 8);
+        assertReplays(tattoos, copied, copiedVersion);
+    }
+
+    @Test
+    void randomChangesReplayFromEveryVersionInTheLog() {
+        Random random = new Random(44);
+        PlayerTattoos tattoos = new PlayerTattoos();
+        Map<Integer, List<TattooInstance>> history = new HashMap<>();
+        String[] types = {PlayerTattoos.FALL_RUNE, PlayerTattoos.ICY_DEVIL};
+
+        for (int step = 0; step < 200; step++) {
+            history.put(tattoos.getVersion(), tattoos.getAllTattoos());
+            List<TattooInstance> current = tattoos.getAllTattoos();
+            int op = current.isEmpty() ? 0 : random.nextInt(5);
+            switch (op) {
+                case 0 -> tattoos.addTattoo(types[random.nextInt(types.length)], random.nextInt(14), random.nextInt(14));
+                case 1 -> tattoos.removeTattoo(current.get(random.nextInt(current.size())));
+                case 2 -> tattoos.moveTattoo(current.get(random.nextInt(current.size())), random.nextInt(14), random.nextInt(14));
+                case 3 -> tattoos.setCooldown(current.get(random.nextInt(current.size())), random.nextInt(1000));
+                default -> tattoos.removeAllTattoos(types[random.nextInt(types.length)]);
+            }
+
+            // removeAllTattoos can skip versions, so only the ones a client could have seen
+            for (Map.Entry<Integer, List<TattooInstance>> entry : history.entrySet()) {
+                if (tattoos.getVersion() - entry.getKey() <= 32) {
+                    assertReplays(tattoos, entry.getValue(), entry.getKey());
+                }
+            }
+        }
+    }
+
+    @Test
+    void removingOneOfTwoEqualTattoosKeepsTheOtherIndexed() {
+        PlayerTattoos tattoos = new PlayerTattoos();
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 3, 3);
+        tattoos.addTattoo(PlayerTattoos.FALL_RUNE, 3, 3);
+        TattooInstance second = tattoos.getAllTattoos().get(1);
+
+        assertTrue(tattoos.removeTattoo(second));
+
+        List<TattooInstance> remaining = tattoos.getTattooInstances(PlayerTattoos.FALL_RUNE);
+        assertEquals(1, remaining.size());
+        assertSame(tattoos.getAllTattoos().get(0), remaining.get(0));
+        assertEquals(1, tattoos.countTattoos(PlayerTattoos.FALL_RUNE));
+
+        // The index still holds the surviving instance itself, so updating it goes through
+        tattoos.setCooldown(remaining.get(0), 100);
+        assertEquals(100, tattoos.getTattooInstances(PlayerTattoos.FALL_RUNE).get(0).cooldownUntil());
+    }
+}